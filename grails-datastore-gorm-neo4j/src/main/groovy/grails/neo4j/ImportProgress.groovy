@@ -0,0 +1,52 @@
+package grails.neo4j
+
+import groovy.transform.CompileStatic
+
+/**
+ * Reports the progress of a bulk import started with {@link Neo4jEntity#importAll(java.util.Map, java.util.Iterator)}
+ *
+ * @since 8.2.0
+ */
+@CompileStatic
+class ImportProgress {
+
+    /**
+     * The time the import started
+     */
+    final long startTime = System.currentTimeMillis()
+
+    /**
+     * The number of instances that have been imported
+     */
+    long imported
+
+    /**
+     * The number of instances that were skipped because they failed validation
+     */
+    long skipped
+
+    /**
+     * The number of chunks that have been written
+     */
+    int chunks
+
+    /**
+     * @return The time elapsed since the import started in milliseconds
+     */
+    long getElapsedMillis() {
+        return System.currentTimeMillis() - startTime
+    }
+
+    /**
+     * @return The number of instances imported per second
+     */
+    double getThroughput() {
+        long elapsed = getElapsedMillis()
+        return elapsed > 0 ? (imported * 1000d) / elapsed : imported
+    }
+
+    @Override
+    String toString() {
+        "Imported ${imported} (skipped ${skipped}) in ${chunks} chunks after ${elapsedMillis}ms (${String.format('%.1f', throughput)}/s)"
+    }
+}
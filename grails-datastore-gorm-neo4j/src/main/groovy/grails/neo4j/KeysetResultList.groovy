@@ -0,0 +1,44 @@
+package grails.neo4j
+
+import groovy.transform.CompileStatic
+
+/**
+ * A page of results obtained with keyset pagination, along with the cursor to pass as the after argument to obtain the
+ * next page
+ *
+ * @param <E> The type of the results
+ *
+ * @since 8.2.0
+ */
+@CompileStatic
+class KeysetResultList<E> extends AbstractList<E> implements Serializable {
+
+    private final List<E> results
+
+    /**
+     * The cursor positioned after the last result, or null if this is the last page
+     */
+    final String nextCursor
+
+    KeysetResultList(List<E> results, String nextCursor) {
+        this.results = results
+        this.nextCursor = nextCursor
+    }
+
+    /**
+     * @return Whether there may be another page of results
+     */
+    boolean hasNextPage() {
+        return nextCursor != null
+    }
+
+    @Override
+    E get(int index) {
+        return results.get(index)
+    }
+
+    @Override
+    int size() {
+        return results.size()
+    }
+}
@@ -15,6 +15,7 @@
  */
 package grails.neo4j
 
+import grails.gorm.DetachedCriteria
 import grails.gorm.MultiTenant
 import grails.gorm.api.GormAllOperations
 import grails.gorm.multitenancy.Tenants
@@ -26,6 +27,7 @@ import org.grails.datastore.gorm.neo4j.GraphPersistentEntity
 import org.grails.datastore.gorm.neo4j.Neo4jDatastore
 import org.grails.datastore.gorm.neo4j.Neo4jSession
 import org.grails.datastore.gorm.neo4j.api.Neo4jGormStaticApi
+import org.grails.datastore.gorm.neo4j.api.Neo4jReactiveApi
 import org.grails.datastore.gorm.neo4j.engine.DynamicAssociationSupport
 import org.grails.datastore.gorm.schemaless.DynamicAttributes
 import org.grails.datastore.mapping.model.config.GormProperties
@@ -34,6 +36,9 @@ import org.grails.datastore.mapping.multitenancy.exceptions.TenantNotFoundExcept
 import org.neo4j.driver.Result
 import org.neo4j.driver.QueryRunner
 
+import java.util.concurrent.CompletionStage
+import java.util.stream.Stream
+
 /**
  * Extends the default {@org.grails.datastore.gorm.GormEntity} trait, adding new methods specific to Neo4j
  *
@@ -244,6 +249,260 @@ trait Neo4jEntity<D> implements GormEntity<D>, DynamicAttributes {
     static D find(CharSequence query, Map params) {
         ((Neo4jGormStaticApi) GormEnhancer.findStaticApi(this)).find(query, params)
     }
+    /**
+     * Imports the given domain instances or maps of properties in chunks, clearing the session between each chunk
+     *
+     * @param args The arguments such as batchSize, commit, validate and progress
+     * @param source The domain instances or maps to import
+     * @return The progress of the import
+     */
+    static ImportProgress importAll(Map args, Iterator source) {
+        ((Neo4jGormStaticApi) GormEnhancer.findStaticApi(this)).importAll(args, source)
+    }
+
+    /**
+     * Imports the given domain instances or maps of properties in chunks, clearing the session between each chunk
+     *
+     * @param args The arguments such as batchSize, commit, validate and progress
+     * @param source The domain instances or maps to import
+     * @return The progress of the import
+     */
+    static ImportProgress importAll(Map args, Iterable source) {
+        ((Neo4jGormStaticApi) GormEnhancer.findStaticApi(this)).importAll(args, source)
+    }
+
+    /**
+     * Imports the given domain instances or maps of properties in chunks, clearing the session between each chunk
+     *
+     * @param args The arguments such as batchSize, commit, validate and progress
+     * @param source The domain instances or maps to import. The stream is closed once the import completes
+     * @return The progress of the import
+     */
+    static ImportProgress importAll(Map args, Stream source) {
+        ((Neo4jGormStaticApi) GormEnhancer.findStaticApi(this)).importAll(args, source)
+    }
+
+    /**
+     * Imports the given domain instances or maps of properties using the default arguments
+     *
+     * @param source The domain instances or maps to import
+     * @return The progress of the import
+     */
+    static ImportProgress importAll(Iterable source) {
+        importAll(Collections.emptyMap(), source)
+    }
+
+    /**
+     * Lists the instances matching the given criteria with the asynchronous driver
+     *
+     * @param args The arguments such as max, offset, sort, order and fetch
+     * @param criteria The criteria
+     * @return A stage that completes with the detached instances
+     */
+    static CompletionStage<List<D>> listAsync(Map args, DetachedCriteria<D> criteria) {
+        ((Neo4jGormStaticApi<D>) GormEnhancer.findStaticApi(this)).listAsync(args, criteria)
+    }
+
+    /**
+     * Lists the instances matching the given criteria with the asynchronous driver
+     *
+     * @param criteria The criteria
+     * @return A stage that completes with the detached instances
+     */
+    static CompletionStage<List<D>> listAsync(DetachedCriteria<D> criteria) {
+        listAsync(Collections.emptyMap(), criteria)
+    }
+
+    /**
+     * Lists all instances with the asynchronous driver
+     *
+     * @param args The arguments such as max, offset, sort, order and fetch
+     * @return A stage that completes with the detached instances
+     */
+    static CompletionStage<List<D>> listAsync(Map args) {
+        listAsync(args, (DetachedCriteria<D>) null)
+    }
+
+    /**
+     * Lists all instances with the asynchronous driver
+     *
+     * @return A stage that completes with the detached instances
+     */
+    static CompletionStage<List<D>> listAsync() {
+        listAsync(Collections.emptyMap(), (DetachedCriteria<D>) null)
+    }
+
+    /**
+     * Retrieves an instance by identifier with the asynchronous driver
+     *
+     * @param id The identifier
+     * @return A stage that completes with the detached instance or null if it does not exist
+     */
+    static CompletionStage<D> getAsync(Serializable id) {
+        ((Neo4jGormStaticApi<D>) GormEnhancer.findStaticApi(this)).getAsync(id)
+    }
+
+    /**
+     * Finds all instances for the given Cypher query with the asynchronous driver
+     *
+     * @param query The query
+     * @param params The parameters
+     * @return A stage that completes with the detached instances
+     */
+    static CompletionStage<List<D>> findAllAsync(CharSequence query, Map params) {
+        ((Neo4jGormStaticApi<D>) GormEnhancer.findStaticApi(this)).findAllAsync(query, params)
+    }
+
+    /**
+     * Finds all instances for the given Cypher query with the asynchronous driver
+     *
+     * @param query The query
+     * @return A stage that completes with the detached instances
+     */
+    static CompletionStage<List<D>> findAllAsync(CharSequence query) {
+        findAllAsync(query, Collections.emptyMap())
+    }
+
+    /**
+     * @return The reactive API for this entity, returning {@link org.reactivestreams.Publisher} instances
+     */
+    static Neo4jReactiveApi<D> getReactive() {
+        ((Neo4jGormStaticApi<D>) GormEnhancer.findStaticApi(this)).reactive
+    }
+
+    /**
+     * Streams the instances matching the given criteria, decoding each instance as the stream is consumed
+     *
+     * @param args The arguments such as fetchSize, detach, max, offset and sort
+     * @param criteria The criteria
+     * @return The stream of instances, which should be closed once consumed
+     */
+    static Stream<D> stream(Map args, DetachedCriteria<D> criteria) {
+        ((Neo4jGormStaticApi<D>) GormEnhancer.findStaticApi(this)).stream(args, criteria)
+    }
+
+    /**
+     * Streams the instances matching the given criteria, decoding each instance as the stream is consumed
+     *
+     * @param args The arguments such as fetchSize, detach, max, offset and sort
+     * @param criteria The criteria closure
+     * @return The stream of instances, which should be closed once consumed
+     */
+    static Stream<D> stream(Map args, Closure criteria) {
+        ((Neo4jGormStaticApi<D>) GormEnhancer.findStaticApi(this)).stream(args, criteria)
+    }
+
+    /**
+     * Streams all instances, decoding each instance as the stream is consumed
+     *
+     * @param args The arguments such as fetchSize, detach, max, offset and sort
+     * @return The stream of instances, which should be closed once consumed
+     */
+    static Stream<D> stream(Map args) {
+        stream(args, (DetachedCriteria<D>) null)
+    }
+
+    /**
+     * Lists a page of the instances matching the given criteria using keyset pagination
+     *
+     * @param args The arguments such as after, max, sort and order
+     * @param criteria The criteria
+     * @return The page of instances along with the cursor of the next page
+     */
+    static KeysetResultList<D> listAfter(Map args, DetachedCriteria<D> criteria) {
+        ((Neo4jGormStaticApi<D>) GormEnhancer.findStaticApi(this)).listAfter(args, criteria)
+    }
+
+    /**
+     * Lists a page of the instances matching the given criteria using keyset pagination
+     *
+     * @param args The arguments such as after, max, sort and order
+     * @param criteria The criteria closure
+     * @return The page of instances along with the cursor of the next page
+     */
+    static KeysetResultList<D> listAfter(Map args, Closure criteria) {
+        ((Neo4jGormStaticApi<D>) GormEnhancer.findStaticApi(this)).listAfter(args, criteria)
+    }
+
+    /**
+     * Lists the properties of all instances that the given class declares as instances of the class, such as a DTO or a
+     * record, without creating the entities
+     *
+     * @param type The class of the results
+     * @return The instances of the given class
+     */
+    static <T> List<T> listInto(Class<T> type) {
+        ((Neo4jGormStaticApi<D>) GormEnhancer.findStaticApi(this)).listInto(type, Collections.emptyMap(), (DetachedCriteria<D>) null)
+    }
+
+    /**
+     * Lists the projections of the instances matching the given criteria as instances of the given class
+     *
+     * @param type The class of the results
+     * @param args The arguments such as max, offset, sort and order
+     * @param criteria The criteria, whose projections are passed to the constructor of the class
+     * @return The instances of the given class
+     */
+    static <T> List<T> listInto(Class<T> type, Map args, DetachedCriteria<D> criteria) {
+        ((Neo4jGormStaticApi<D>) GormEnhancer.findStaticApi(this)).listInto(type, args, criteria)
+    }
+
+    /**
+     * Lists the projections of the instances matching the given criteria as instances of the given class
+     *
+     * @param type The class of the results
+     * @param args The arguments such as max, offset, sort and order
+     * @param criteria The criteria closure, whose projections are passed to the constructor of the class
+     * @return The instances of the given class
+     */
+    static <T> List<T> listInto(Class<T> type, Map args, Closure criteria) {
+        ((Neo4jGormStaticApi<D>) GormEnhancer.findStaticApi(this)).listInto(type, args, criteria)
+    }
+
+    /**
+     * Reads an integer property of all instances into an array, without creating the entities or boxing the values
+     *
+     * @param propertyName The name of the property
+     * @return The values, null values are skipped
+     */
+    static long[] pluckLongs(String propertyName) {
+        ((Neo4jGormStaticApi<D>) GormEnhancer.findStaticApi(this)).pluckLongs(propertyName, Collections.emptyMap(), (DetachedCriteria<D>) null)
+    }
+
+    /**
+     * Reads an integer property of the instances matching the given criteria into an array
+     *
+     * @param propertyName The name of the property
+     * @param args The arguments such as max, offset, sort and order
+     * @param criteria The criteria closure
+     * @return The values, null values are skipped
+     */
+    static long[] pluckLongs(String propertyName, Map args, Closure criteria) {
+        ((Neo4jGormStaticApi<D>) GormEnhancer.findStaticApi(this)).pluckLongs(propertyName, args, criteria)
+    }
+
+    /**
+     * Reads a numeric property of all instances into an array, without creating the entities or boxing the values
+     *
+     * @param propertyName The name of the property
+     * @return The values, null values are skipped
+     */
+    static double[] pluckDoubles(String propertyName) {
+        ((Neo4jGormStaticApi<D>) GormEnhancer.findStaticApi(this)).pluckDoubles(propertyName, Collections.emptyMap(), (DetachedCriteria<D>) null)
+    }
+
+    /**
+     * Reads a numeric property of the instances matching the given criteria into an array
+     *
+     * @param propertyName The name of the property
+     * @param args The arguments such as max, offset, sort and order
+     * @param criteria The criteria closure
+     * @return The values, null values are skipped
+     */
+    static double[] pluckDoubles(String propertyName, Map args, Closure criteria) {
+        ((Neo4jGormStaticApi<D>) GormEnhancer.findStaticApi(this)).pluckDoubles(propertyName, args, criteria)
+    }
+
     /**
      * Perform an operation with the given connection
      *
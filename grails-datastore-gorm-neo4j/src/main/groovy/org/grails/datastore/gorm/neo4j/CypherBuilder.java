@@ -17,6 +17,10 @@ public class CypherBuilder {
     public final static String START = "start";
     public static final String IDENTIFIER = "__id__";
     public static final String PROPS = "props";
+    public static final String ROW_INDEX = "idx";
+    public static final String PAIRS = "pairs";
+    public static final String PAIR = "pair";
+    public static final String CYPHER_UNWIND_PAIRS = "UNWIND $" + PAIRS + " AS " + PAIR + "\n";
     public static final String RELATED = "related";
     public static final String WHERE = " WHERE ";
     public static final String RETURN = " RETURN ";
@@ -47,6 +51,7 @@ public class CypherBuilder {
     private List<String> optionalMatches = new ArrayList<String>();
     private String conditions;
     private String orderAndLimits;
+    private String with;
     private List<String> returnColumns = new ArrayList<String>();
     private List<String> deleteColumns = new ArrayList<String>();
     private Map<String, Object> sets = null;
@@ -109,14 +114,35 @@ public class CypherBuilder {
         return matches.size();
     }
 
+    /**
+     * @return Whether the query matches nodes related to the start node, in which case there may be a row for each of them
+     */
+    public boolean hasMatches() {
+        return matches.stream().anyMatch(m -> !m.isEmpty());
+    }
+
     public void setConditions(String conditions) {
         this.conditions = conditions;
     }
 
+    public String getConditions() {
+        return conditions;
+    }
+
     public void setOrderAndLimits(String orderAndLimits) {
         this.orderAndLimits = orderAndLimits;
     }
 
+    /**
+     * Sets a WITH clause that is applied to the matched nodes before any optional matches, deletes or sets. Used to
+     * limit the number of nodes that are written by a single statement
+     *
+     * @param with The WITH clause, without the WITH keyword
+     */
+    public void setWith(String with) {
+        this.with = with;
+    }
+
     public int addParam(Object value) {
         params.put(String.valueOf(params.size() + 1), value);
         return params.size();
@@ -187,6 +213,10 @@ public class CypherBuilder {
             cypher.append(WHERE).append(conditions);
         }
 
+        if (with != null) {
+            cypher.append(NEW_LINE).append("WITH ").append(with);
+        }
+
         if(!optionalMatches.isEmpty()) {
             for (String m : optionalMatches) {
                 cypher.append(NEW_LINE)
@@ -205,6 +235,9 @@ public class CypherBuilder {
                     cypher.append(COMMAND_SEPARATOR).append(iter.next());
                 }
             }
+            if (!returnColumns.isEmpty()) {
+                cypher.append(RETURN).append(String.join(COMMAND_SEPARATOR, returnColumns));
+            }
             return cypher.toString();
         }
 
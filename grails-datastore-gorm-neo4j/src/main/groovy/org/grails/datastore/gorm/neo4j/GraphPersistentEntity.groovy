@@ -3,6 +3,8 @@ package org.grails.datastore.gorm.neo4j
 import grails.neo4j.Relationship
 import groovy.transform.CompileStatic
 import org.codehaus.groovy.runtime.HandleMetaClass
+import org.grails.datastore.gorm.neo4j.engine.EntityCodec
+import org.grails.datastore.gorm.neo4j.engine.RelationshipPendingInsert
 import org.grails.datastore.gorm.neo4j.mapping.config.NodeConfig
 import org.grails.datastore.mapping.config.Property
 import org.grails.datastore.mapping.model.AbstractPersistentEntity
@@ -47,11 +49,15 @@ class GraphPersistentEntity extends AbstractPersistentEntity<NodeConfig> {
     protected final String batchId
     protected final String variableId
     protected String batchCreateStatement
+    protected String batchUpdateStatement
+    protected String batchCreateReturningIdStatement
     protected IdGenerator idGenerator
     protected IdGenerator.Type idGeneratorType
     protected boolean assignedId = false
     protected boolean nativeId = false
     protected PersistentProperty nodeId
+    protected EntityCodec codec
+    protected Set<String> lazyProperties
 
     GraphPersistentEntity(Class javaClass, MappingContext context) {
         this(javaClass, context, false)
@@ -187,6 +193,26 @@ class GraphPersistentEntity extends AbstractPersistentEntity<NodeConfig> {
         }
         return batchCreateStatement
     }
+    /**
+     * @return The batch create statement that returns the generated id of each row
+     */
+    String getBatchCreateReturningIdStatement() {
+        if(this.batchCreateReturningIdStatement == null) {
+            this.batchCreateReturningIdStatement = formatBatchCreateReturningId("\$${batchId}", labelsAsStringWithInheritance)
+        }
+        return batchCreateReturningIdStatement
+    }
+
+    /**
+     * @return The batch update statement
+     */
+    String getBatchUpdateStatement() {
+        if(this.batchUpdateStatement == null) {
+            this.batchUpdateStatement = formatBatchUpdate("\$${batchId}")
+        }
+        return batchUpdateStatement
+    }
+
     /**
      * Format a reference to the ID for cypher queries
      * @param variable The name of the variable for the id
@@ -213,12 +239,14 @@ class GraphPersistentEntity extends AbstractPersistentEntity<NodeConfig> {
     }
 
     /**
-     * Formats a dynamic association query
+     * Formats a query that loads the dynamic associations of several nodes. Only outgoing relationships that carry the
+     * sourceType marker written for dynamic associations are matched
+     *
      * @param variable The variable to use
-     * @return The query which accepts an $id argument
+     * @return The query which accepts an $ids argument and returns the id of each node as parentId
      */
-    String formatDynamicAssociationQuery(String variable = CypherBuilder.NODE_VAR) {
-        """${formatMatch(variable)}-[r]-(o) WHERE ${formatId(variable)} = \$${GormProperties.IDENTITY} RETURN type(r) as relType, startNode(r) = $variable as out, r.sourceType as sourceType, r.targetType as targetType, {ids: collect(${formatId("o")}), labels: collect(labels(o))} as values"""
+    String formatDynamicAssociationsQuery(String variable = CypherBuilder.NODE_VAR) {
+        """${formatMatch(variable)}-[r]->(o) WHERE ${formatId(variable)} IN \$ids AND r.${RelationshipPendingInsert.SOURCE_TYPE} IS NOT NULL RETURN ${formatId(variable)} as parentId, type(r) as relType, true as out, r.sourceType as sourceType, r.targetType as targetType, {ids: collect(${formatId("o")}), labels: collect(labels(o))} as values"""
     }
 
     /**
@@ -335,12 +363,58 @@ class GraphPersistentEntity extends AbstractPersistentEntity<NodeConfig> {
      * @return The formatted id
      */
     String formatBatchCreate(String batchId) {
+        formatBatchCreateForLabels(batchId, labelsAsStringWithInheritance)
+    }
+
+    /**
+     * Formats a batch UNWIND statement for the given id and labels. Used for entities with dynamic labels, where the
+     * instances of a batch are grouped by their labels
+     *
+     * @param batchId The batch id
+     * @param labels The labels of the created nodes
+     * @return The formatted statement
+     */
+    String formatBatchCreateForLabels(String batchId, String labels) {
         """UNWIND ${batchId} as row
-CREATE ($variableId$labelsAsStringWithInheritance)
+CREATE ($variableId$labels)
 SET $variableId += row.${CypherBuilder.PROPS}
 """
     }
 
+    /**
+     * Formats a batch UNWIND statement for the given id and labels that returns the id created for each row together with
+     * the index of the row, so that the ids can be read back while the results are streamed
+     *
+     * @param batchId The batch id
+     * @param labels The labels of the created nodes
+     * @return The formatted statement
+     */
+    String formatBatchCreateReturningId(String batchId, String labels) {
+        "${formatBatchCreateForLabels(batchId, labels)}${formatReturnId(variableId)}, row.${CypherBuilder.ROW_INDEX} as ${CypherBuilder.ROW_INDEX}"
+    }
+
+    /**
+     * Formats a batch UNWIND statement that updates existing nodes. Each row provides the id, the properties to set and
+     * the current version if the entity is versioned. The ids of the updated nodes are returned so that rows that were not
+     * matched can be detected
+     *
+     * @param batchId The batch id
+     * @return The formatted UNWIND statement
+     */
+    String formatBatchUpdate(String batchId) {
+        String variable = CypherBuilder.NODE_VAR
+        StringBuilder builder = new StringBuilder("UNWIND ${batchId} as row\n")
+        builder.append(String.format(MATCH, formatNode(variable)))
+               .append(" WHERE ${formatId(variable)} = row.${GormProperties.IDENTITY}")
+        Class clazz = Long
+        if(isVersioned() && hasProperty(GormProperties.VERSION, clazz)) {
+            builder.append(" AND ${variable}.version = row.${GormProperties.VERSION}")
+        }
+        builder.append("\nSET ${variable} += row.${CypherBuilder.PROPS}")
+        builder.append(formatReturnId(variable))
+        return builder.toString()
+    }
+
     /**
      * Formats a batch FOREACH statement for populating association data
      *
@@ -418,6 +492,22 @@ ${formatAssociationMerge(association, parentVariable, variableId)})"""
         return "(${start})${associationMatch}${child.formatNode(end)}"
     }
 
+    /**
+     * Formats a pattern comprehension that collects an association of an existing node. Unlike an OPTIONAL MATCH followed
+     * by collect, the comprehension is evaluated independently for each node, so that collecting several associations
+     * does not multiply the rows
+     *
+     * @param association The association
+     * @param var The relationship variable
+     * @param start The variable of the existing node
+     * @param end The variable of the associated node
+     * @param projection The expression to collect for each associated node
+     * @return The pattern comprehension
+     */
+    String formatAssociationComprehension(Association association, String var, String start, String end, String projection) {
+        return "[${formatAssociationPatternFromExisting(association, var, start, end)} | ${projection}]"
+    }
+
     protected String calculateAssociationMatch(GraphPersistentEntity parent, GraphPersistentEntity child,Association association, String var) {
         String associationMatch
         if (parent.isRelationshipEntity()) {
@@ -478,6 +568,31 @@ WHERE ${parent.formatId(FROM)} = {${CypherBuilder.START}} AND ${parent.formatId(
 DELETE r"""
         }
     }
+    /**
+     * Formats a batch UNWIND statement that deletes the relationships of an association for multiple parents. Each pair
+     * provides the parent id as 'start' and the child ids as 'end', or only the parent id as 'id' for associations that
+     * use the reversed mapping
+     *
+     * @param association The association
+     * @return The DELETE statement
+     */
+    String formatBatchAssociationDelete(Association association) {
+        GraphPersistentEntity parent = (GraphPersistentEntity)association.owner
+        GraphPersistentEntity child = (GraphPersistentEntity)association.associatedEntity
+        String associationMatch = RelationshipUtils.matchForAssociation(association, CypherBuilder.REL_VAR)
+        String pair = CypherBuilder.PAIR
+        if(RelationshipUtils.useReversedMappingFor(association)) {
+            return """${CypherBuilder.CYPHER_UNWIND_PAIRS}MATCH ${parent.formatNode(FROM)}${associationMatch}${child.formatNode(TO)}
+WHERE ${parent.formatId(FROM)} = ${pair}.${GormProperties.IDENTITY}
+DELETE r"""
+        }
+        else {
+            return """${CypherBuilder.CYPHER_UNWIND_PAIRS}MATCH ${parent.formatNode(FROM)}${associationMatch}${child.formatNode(TO)}
+WHERE ${parent.formatId(FROM)} = ${pair}.${CypherBuilder.START} AND ${child.formatId(TO)} IN ${pair}.${CypherBuilder.END}
+DELETE r"""
+        }
+    }
+
     /**
      * @return Whether the ID is native
      */
@@ -485,6 +600,65 @@ DELETE r"""
         return nativeId
     }
 
+    /**
+     * @return The codec used to read and write the simple properties of the entity, created once the mapping is complete
+     */
+    EntityCodec getCodec() {
+        EntityCodec codec = this.codec
+        if(codec == null) {
+            codec = new EntityCodec(this, (Neo4jMappingContext) mappingContext)
+            this.codec = codec
+        }
+        return codec
+    }
+
+    /**
+     * @return The names of the simple properties mapped with lazy: true, which are not loaded by queries unless selected
+     */
+    Set<String> getLazyProperties() {
+        Set<String> lazyProperties = this.lazyProperties
+        if(lazyProperties == null) {
+            lazyProperties = new LinkedHashSet<String>()
+            for(String name in getCodec().propertyNames) {
+                Property mappedForm = getPropertyByName(name)?.mapping?.mappedForm
+                if(mappedForm?.getLazy()) {
+                    lazyProperties.add(name)
+                }
+            }
+            lazyProperties = Collections.unmodifiableSet(lazyProperties)
+            this.lazyProperties = lazyProperties
+        }
+        return lazyProperties
+    }
+
+    /**
+     * @return The number of instances loaded together when a proxy or lazy association of this entity is initialized, 0 if they are loaded one at a time
+     */
+    int getBatchSize() {
+        Integer batchSize = mappedForm?.batchSize
+        return batchSize != null ? batchSize : 0
+    }
+
+    /**
+     * Obtains a named fetch plan declared by the mapping of this entity or of one of its parents
+     *
+     * @param name The name of the plan
+     * @return The association paths of the plan
+     * @throws IllegalArgumentException If no plan with the name is declared
+     */
+    List<String> getFetchPlan(String name) {
+        PersistentEntity current = this
+        while (current instanceof GraphPersistentEntity) {
+            NodeConfig nodeConfig = ((GraphPersistentEntity) current).mappedForm
+            List<String> paths = nodeConfig?.fetchPlans?.get(name)
+            if (paths != null) {
+                return paths
+            }
+            current = current.parentEntity
+        }
+        throw new IllegalArgumentException("No fetch plan named [$name] is declared for entity [${javaClass.name}]")
+    }
+
     /**
      * recursively join all discriminators up the class hierarchy
      * @return
@@ -73,6 +73,11 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.grails.datastore.gorm.neo4j.config.Settings.DATABASE_TYPE_EMBEDDED;
 import static org.grails.datastore.gorm.neo4j.config.Settings.SETTING_NEO4J_EMBEDDED_EPHEMERAL;
@@ -93,6 +98,10 @@ public class Neo4jDatastore extends AbstractDatastore implements Closeable, Stat
     protected boolean skipIndexSetup = false;
     protected final Driver boltDriver;
     protected final FlushModeType defaultFlushMode;
+    protected final int batchSize;
+    protected final boolean autoFlush;
+    protected final int bulkChunkSize;
+    protected final boolean pipelined;
     protected final ConfigurableApplicationEventPublisher eventPublisher;
     protected final Neo4jDatastoreTransactionManager transactionManager;
     protected final GormEnhancer gormEnhancer;
@@ -101,6 +110,9 @@ public class Neo4jDatastore extends AbstractDatastore implements Closeable, Stat
     protected final TenantResolver tenantResolver;
     protected final MultiTenancySettings.MultiTenancyMode multiTenancyMode;
     protected final AutoTimestampEventListener autoTimestampEventListener;
+    protected final int persistenceThreads;
+    private volatile ExecutorService persistenceExecutor;
+    private boolean persistenceExecutorCreated;
 
     /**
      * Configures a new {@link Neo4jDatastore} for the given arguments
@@ -118,6 +130,11 @@ public class Neo4jDatastore extends AbstractDatastore implements Closeable, Stat
         this.boltDriver = defaultConnectionSource.getSource();
         this.eventPublisher = eventPublisher;
         this.defaultFlushMode = settings.getFlushMode();
+        this.batchSize = settings.getBatch().getSize();
+        this.autoFlush = settings.getBatch().isAutoFlush();
+        this.bulkChunkSize = settings.getBatch().getBulkChunkSize();
+        this.pipelined = settings.getBatch().isPipelined();
+        this.persistenceThreads = settings.getReactive().getPersistenceThreads();
         this.skipIndexSetup = !settings.isBuildIndex();
         this.multiTenancyMode = multiTenancySettings.getMode();
         this.tenantResolver = multiTenancySettings.getTenantResolver();
@@ -419,6 +436,8 @@ public class Neo4jDatastore extends AbstractDatastore implements Closeable, Stat
     }
 
     protected void registerEventListeners(ConfigurableApplicationEventPublisher eventPublisher) {
+        // registered first so that the validation listeners see the properties that were not loaded by a query
+        eventPublisher.addApplicationListener(new PartialLoadingEventListener(this));
         eventPublisher.addApplicationListener(new DomainEventListener(this));
         eventPublisher.addApplicationListener(autoTimestampEventListener);
         if(multiTenancyMode == MultiTenancySettings.MultiTenancyMode.DISCRIMINATOR) {
@@ -486,8 +505,24 @@ public class Neo4jDatastore extends AbstractDatastore implements Closeable, Stat
 
     @Override
     protected org.grails.datastore.mapping.core.Session createSession(PropertyResolver connectionDetails) {
-        final Neo4jSession neo4jSession = new Neo4jSession(this, mappingContext, eventPublisher, false, boltDriver);
+        return createNeo4jSession(false);
+    }
+
+    /**
+     * Creates a stateless session, which reads instances without caching them or tracking their changes and never flushes
+     */
+    @Override
+    protected org.grails.datastore.mapping.core.Session createStatelessSession(PropertyResolver connectionDetails) {
+        return createNeo4jSession(true);
+    }
+
+    protected Neo4jSession createNeo4jSession(boolean stateless) {
+        final Neo4jSession neo4jSession = new Neo4jSession(this, mappingContext, eventPublisher, stateless, boltDriver);
         neo4jSession.setFlushMode(defaultFlushMode);
+        neo4jSession.setBatchSize(batchSize);
+        neo4jSession.setAutoFlush(autoFlush);
+        neo4jSession.setBulkChunkSize(bulkChunkSize);
+        neo4jSession.setPipelined(pipelined);
         return neo4jSession;
     }
 
@@ -574,6 +609,49 @@ public class Neo4jDatastore extends AbstractDatastore implements Closeable, Stat
         return boltDriver;
     }
 
+    /**
+     * @return The executor that runs the blocking persistence operations of the reactive API, so that they block neither the
+     * thread of the subscriber nor the threads of the driver. Unless one has been set, an executor is created on first use
+     * with at most {@link org.grails.datastore.gorm.neo4j.config.Settings#SETTING_NEO4J_REACTIVE_PERSISTENCE_THREADS} threads, which queues further operations
+     * until a thread is available
+     */
+    public ExecutorService getPersistenceExecutor() {
+        ExecutorService executor = persistenceExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = persistenceExecutor;
+                if (executor == null) {
+                    final AtomicInteger threadCount = new AtomicInteger();
+                    final int threads = Math.max(1, persistenceThreads);
+                    final ThreadPoolExecutor threadPool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                        final Thread thread = new Thread(runnable, "gorm-neo4j-persistence-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    threadPool.allowCoreThreadTimeOut(true);
+                    executor = threadPool;
+                    persistenceExecutorCreated = true;
+                    persistenceExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Sets the executor that runs the blocking persistence operations of the reactive API. The executor is not shut down
+     * when the datastore is closed
+     *
+     * @param persistenceExecutor The executor
+     */
+    public synchronized void setPersistenceExecutor(ExecutorService persistenceExecutor) {
+        if (this.persistenceExecutor != null && persistenceExecutorCreated) {
+            this.persistenceExecutor.shutdown();
+        }
+        this.persistenceExecutorCreated = false;
+        this.persistenceExecutor = persistenceExecutor;
+    }
+
     @Override
     @PreDestroy
     public void close() throws IOException {
@@ -583,6 +661,11 @@ public class Neo4jDatastore extends AbstractDatastore implements Closeable, Stat
             } catch (Throwable e) {
                 // ignore
             }
+            synchronized (this) {
+                if (persistenceExecutor != null && persistenceExecutorCreated) {
+                    persistenceExecutor.shutdown();
+                }
+            }
             try {
                 connectionSources.close();
             } catch (Neo4jException e) {
@@ -17,7 +17,10 @@ package org.grails.datastore.gorm.neo4j;
 import grails.neo4j.Relationship;
 import groovy.lang.Closure;
 import org.grails.datastore.gorm.neo4j.connections.Neo4jConnectionSourceSettings;
+import org.grails.datastore.gorm.neo4j.engine.CypherTemplateCache;
+import org.grails.datastore.gorm.neo4j.engine.DtoMapper;
 import org.grails.datastore.gorm.neo4j.identity.SnowflakeIdGenerator;
+import org.grails.datastore.gorm.neo4j.mapping.reflect.Neo4jNameUtils;
 import org.grails.datastore.gorm.neo4j.proxy.HashcodeEqualsAwareProxyFactory;
 import org.grails.datastore.gorm.neo4j.proxy.Neo4jProxyFactory;
 import org.grails.datastore.mapping.model.AbstractMappingContext;
@@ -82,6 +85,12 @@ public class Neo4jMappingContext extends AbstractMappingContext  {
 
     protected SnowflakeIdGenerator snowflakeIdGenerator = null;
 
+    protected final CypherTemplateCache<List<Object>, Object> cypherTemplates = new CypherTemplateCache<>();
+
+    protected final CypherTemplateCache<List<Object>, DtoMapper<?>> dtoMappers = new CypherTemplateCache<>();
+
+    protected final CypherTemplateCache<String, Boolean> singularRelationshipTypes = new CypherTemplateCache<>();
+
     public Neo4jMappingContext() {
         super();
     }
@@ -120,6 +129,31 @@ public class Neo4jMappingContext extends AbstractMappingContext  {
         return snowflakeIdGenerator;
     }
 
+    /**
+     * @return The cache of the Cypher generated for queries and association loads, keyed by the shape of the query
+     */
+    public CypherTemplateCache<List<Object>, Object> getCypherTemplates() {
+        return cypherTemplates;
+    }
+
+    /**
+     * @return The cache of the mappers of projections into DTO classes, keyed by the class and the projected columns
+     */
+    public CypherTemplateCache<List<Object>, DtoMapper<?>> getDtoMappers() {
+        return dtoMappers;
+    }
+
+    /**
+     * Whether the type of a dynamic association is a singular noun, in which case a single associated instance is not
+     * wrapped in a list. The result is cached for each type, since the stemmer is comparatively expensive
+     *
+     * @param type The relationship type
+     * @return True if the type is singular
+     */
+    public boolean isSingularRelationshipType(String type) {
+        return singularRelationshipTypes.get(type, Neo4jNameUtils::isSingular);
+    }
+
     @Override
     public MappingConfigurationStrategy getMappingSyntaxStrategy() {
         return mappingSyntaxStrategy;
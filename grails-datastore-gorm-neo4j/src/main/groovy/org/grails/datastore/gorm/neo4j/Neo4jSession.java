@@ -1,9 +1,5 @@
 package org.grails.datastore.gorm.neo4j;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.RemovalCause;
-import com.github.benmanes.caffeine.cache.RemovalListener;
 import grails.neo4j.Relationship;
 import org.grails.datastore.gorm.neo4j.engine.*;
 import org.grails.datastore.gorm.neo4j.mapping.config.DynamicAssociation;
@@ -29,8 +25,12 @@ import org.grails.datastore.mapping.reflect.EntityReflector;
 import org.grails.datastore.mapping.transactions.SessionHolder;
 import org.grails.datastore.mapping.transactions.Transaction;
 import org.neo4j.driver.Driver;
+import org.neo4j.driver.QueryRunner;
 import org.neo4j.driver.Session;
+import org.neo4j.driver.Record;
 import org.neo4j.driver.Result;
+import org.neo4j.driver.summary.SummaryCounters;
+import org.neo4j.driver.types.Entity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
@@ -44,8 +44,6 @@ import javax.persistence.CascadeType;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.*;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.ConcurrentMap;
 
 /**
  * Represents a session for interacting with Neo4j
@@ -59,32 +57,44 @@ import java.util.concurrent.ConcurrentMap;
 public class Neo4jSession extends AbstractSession<Session> {
 
     private static Logger log = LoggerFactory.getLogger(Neo4jSession.class);
-    private static final RemovalListener<RelationshipUpdateKey, Collection<Serializable>> EXCEPTION_THROWING_INSERT_LISTENER =
-            (key, value, cause) -> {
-                if (RemovalCause.SIZE == cause) {
-                    throw new DataAccessResourceFailureException("Maximum number (5000) of relationship update operations to flush() exceeded. Flush the session periodically to avoid this error for batch operations.");
-                }
 
-            };
+    /**
+     * The default number of pending operations buffered before the session is flushed
+     */
+    public static final int DEFAULT_BATCH_SIZE = 5000;
 
-    protected ConcurrentMap<RelationshipUpdateKey, Collection<Serializable>> pendingRelationshipInserts =
-            Caffeine.newBuilder()
-                    .executor(Runnable::run)
-                    .removalListener(EXCEPTION_THROWING_INSERT_LISTENER)
-                    .maximumSize(5000).build().asMap();
+    // a session is bound to a single thread, so the pending relationship operations are kept in plain maps
+    protected Map<RelationshipUpdateKey, Collection<Serializable>> pendingRelationshipInserts = new LinkedHashMap<>();
 
-    protected ConcurrentMap<RelationshipUpdateKey, Collection<Serializable>> pendingRelationshipDeletes =
-            Caffeine.newBuilder()
-                    .executor(Runnable::run)
-                    .removalListener(EXCEPTION_THROWING_INSERT_LISTENER)
-                    .maximumSize(5000).build().asMap();
+    protected Map<RelationshipUpdateKey, Collection<Serializable>> pendingRelationshipDeletes = new LinkedHashMap<>();
+
+    /**
+     * relationship MERGE and DELETE statements collected across parents, executed with UNWIND when flushing
+     */
+    protected final RelationshipBatch relationshipBatch = new RelationshipBatch();
+
+    /**
+     * lazy associations that have not been initialized, used to load an association for several parents at once
+     */
+    protected final LazyAssociationBatch lazyAssociationBatch = new LazyAssociationBatch();
 
+    /**
+     * instances loaded without some of their simple properties, mapped to the names of the properties that were not loaded
+     */
+    protected final Map<Object, Set<String>> partiallyLoaded = new IdentityHashMap<>();
 
     /**
      * map node id to hashmap of relationship types showing startNode id and endNode id
      */
     protected final Session boltSession;
     protected final Driver boltDriver;
+    protected int batchSize = DEFAULT_BATCH_SIZE;
+    protected boolean autoFlush = true;
+    protected int bulkChunkSize;
+    protected boolean pipelined;
+    protected int pendingOperationCount;
+    private int persistDepth;
+    private boolean flushing;
 
 
     public Neo4jSession(Datastore datastore, MappingContext mappingContext, ApplicationEventPublisher publisher, boolean stateless, Driver boltDriver) {
@@ -100,6 +110,98 @@ public class Neo4jSession extends AbstractSession<Session> {
         return boltDriver;
     }
 
+    /**
+     * @return The number of pending node and relationship operations buffered before the session is flushed
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @param batchSize The number of pending node and relationship operations buffered before the session is flushed. If the
+     * session cannot be flushed automatically, it is instead the maximum number of parents with pending relationship updates
+     * for each association. A value of 0 or less disables the limit
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @return Whether the session is flushed automatically once the batch size is exceeded
+     */
+    public boolean isAutoFlush() {
+        return autoFlush;
+    }
+
+    /**
+     * @param autoFlush Whether the session is flushed automatically once the batch size is exceeded. If false, or if the
+     * session has no transaction to flush with, an exception is thrown once the pending relationship updates exceed the batch
+     * size instead, as it was before sessions were flushed automatically
+     */
+    public void setAutoFlush(boolean autoFlush) {
+        this.autoFlush = autoFlush;
+    }
+
+    /**
+     * @return The number of nodes deleted or updated per statement by deleteAll and updateAll
+     */
+    public int getBulkChunkSize() {
+        return bulkChunkSize;
+    }
+
+    /**
+     * @param bulkChunkSize The number of nodes deleted or updated per statement by deleteAll and updateAll. Each chunk is
+     * committed in a transaction of its own, so chunking only applies when there is no current transaction. Within a
+     * transaction, or with a value of 0 or less, they are executed as a single statement within the current transaction
+     */
+    public void setBulkChunkSize(int bulkChunkSize) {
+        this.bulkChunkSize = bulkChunkSize;
+    }
+
+    /**
+     * @return Whether write transactions pipeline the independent statements of a flush
+     */
+    public boolean isPipelined() {
+        return pipelined;
+    }
+
+    /**
+     * @param pipelined Whether write transactions started by this session pipeline the independent statements of a flush
+     */
+    public void setPipelined(boolean pipelined) {
+        this.pipelined = pipelined;
+    }
+
+    /**
+     * @return The number of pending node inserts, node updates and relationship operations
+     */
+    public int getPendingOperationCount() {
+        return pendingOperationCount;
+    }
+
+    /**
+     * @return The batch of pending relationship statements
+     */
+    public RelationshipBatch getRelationshipBatch() {
+        return relationshipBatch;
+    }
+
+    /**
+     * @return The lazy associations of the session that have not been initialized
+     */
+    public LazyAssociationBatch getLazyAssociationBatch() {
+        return lazyAssociationBatch;
+    }
+
+    /**
+     * Executes any relationship statements that have been collected in the relationship batch
+     */
+    protected void flushRelationshipBatch() {
+        if (!relationshipBatch.isEmpty()) {
+            relationshipBatch.execute(getTransaction().getNativeTransaction());
+        }
+    }
+
     /**
      * Adds a relationship that is pending insertion
      *
@@ -123,13 +225,253 @@ public class Neo4jSession extends AbstractSession<Session> {
     protected void addRelationshipUpdate(Serializable parentId, Association association, Serializable id, Map<RelationshipUpdateKey, Collection<Serializable>> targetMap) {
         if (id == null || parentId == null) return;
         final RelationshipUpdateKey key = new RelationshipUpdateKey(parentId, association);
-        Collection<Serializable> inserts = targetMap.get(key);
-        if (inserts == null) {
-            inserts = new ConcurrentLinkedQueue<>();
-            targetMap.put(key, inserts);
+        Collection<Serializable> inserts = targetMap.computeIfAbsent(key, k -> new LinkedHashSet<>());
+        if (inserts.add(id)) {
+            pendingOperationCount++;
+        }
+        if (batchSize > 0 && targetMap.size() > batchSize && !(autoFlush && hasTransaction())) {
+            throw new DataAccessResourceFailureException("Maximum number (" + batchSize + ") of relationship update operations to flush() exceeded. Flush the session periodically or enable " + org.grails.datastore.gorm.neo4j.config.Settings.SETTING_NEO4J_BATCH_AUTO_FLUSH + " to avoid this error for batch operations.");
+        }
+    }
+
+    /**
+     * Cancels a relationship that is pending insertion
+     *
+     * @param parentId    The id of the owner of the association
+     * @param association The association
+     * @param id          The id of the associated instance
+     * @return True if there was a pending insert for the relationship
+     */
+    public boolean cancelPendingRelationshipInsert(Serializable parentId, Association association, Serializable id) {
+        return removeRelationshipUpdate(parentId, association, id, this.pendingRelationshipInserts);
+    }
+
+    /**
+     * Cancels a relationship that is pending deletion
+     *
+     * @param parentId    The id of the owner of the association
+     * @param association The association
+     * @param id          The id of the associated instance
+     * @return True if there was a pending delete for the relationship
+     */
+    public boolean cancelPendingRelationshipDelete(Serializable parentId, Association association, Serializable id) {
+        return removeRelationshipUpdate(parentId, association, id, this.pendingRelationshipDeletes);
+    }
+
+    protected boolean removeRelationshipUpdate(Serializable parentId, Association association, Serializable id, Map<RelationshipUpdateKey, Collection<Serializable>> targetMap) {
+        if (id == null || parentId == null) return false;
+        final RelationshipUpdateKey key = new RelationshipUpdateKey(parentId, association);
+        Collection<Serializable> updates = targetMap.get(key);
+        if (updates != null && updates.remove(id)) {
+            pendingOperationCount--;
+            if (updates.isEmpty()) {
+                targetMap.remove(key);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void addPendingInsert(PendingInsert insert) {
+        super.addPendingInsert(insert);
+        pendingOperationCount++;
+    }
+
+    @Override
+    public void addPendingUpdate(PendingUpdate update) {
+        super.addPendingUpdate(update);
+        pendingOperationCount++;
+    }
+
+    @Override
+    public Serializable persist(Object o) {
+        assertNotStateless("persisted");
+        persistDepth++;
+        try {
+            return super.persist(o);
+        } finally {
+            persistDepth--;
+            flushIfBatchSizeExceeded();
+        }
+    }
+
+    @Override
+    public List<Serializable> persist(Iterable objects) {
+        assertNotStateless("persisted");
+        persistDepth++;
+        try {
+            return super.persist(objects);
+        } finally {
+            persistDepth--;
+            flushIfBatchSizeExceeded();
+        }
+    }
+
+    @Override
+    public void delete(Object obj) {
+        assertNotStateless("deleted");
+        super.delete(obj);
+    }
+
+    @Override
+    public void delete(Iterable objects) {
+        assertNotStateless("deleted");
+        super.delete(objects);
+    }
+
+    /**
+     * A stateless session neither caches nor tracks the instances it reads, so it cannot be used to write them
+     */
+    private void assertNotStateless(String operation) {
+        if (isStateless()) {
+            throw new UnsupportedOperationException("Instances cannot be " + operation + " with a stateless session");
+        }
+    }
+
+    /**
+     * Flushes the session if auto flush is enabled and the number of pending operations exceeds the batch size. This only
+     * happens once the outermost persist operation has completed, so that no entity is flushed with only part of its
+     * cascades registered. A session without a transaction cannot be flushed, so the number of pending relationship updates
+     * is limited instead, see {@link #addRelationshipUpdate}
+     */
+    protected void flushIfBatchSizeExceeded() {
+        if (!autoFlush || persistDepth > 0 || flushing || batchSize <= 0 || pendingOperationCount <= batchSize || !hasTransaction()) {
+            return;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Flushing session after exceeding the batch size of {} pending operations", batchSize);
+        }
+        flush();
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        lazyAssociationBatch.clear();
+        partiallyLoaded.clear();
+    }
+
+    @Override
+    public void clear(Object o) {
+        if (o != null) {
+            partiallyLoaded.remove(o);
+            final PersistentEntity entity = getMappingContext().getPersistentEntity(getMappingContext().getProxyFactory().getProxiedClass(o).getName());
+            if (entity != null) {
+                lazyAssociationBatch.remove(entity, createEntityAccess(entity, o).getIdentifier());
+            }
+        }
+        super.clear(o);
+    }
+
+    @Override
+    public Object retrieve(Class type, Serializable key) {
+        if (key != null && !isStateless() && getCachedInstance(type, key) == null) {
+            final PersistentEntity entity = getMappingContext().getPersistentEntity(type.getName());
+            final int entityBatchSize = entity instanceof GraphPersistentEntity ? ((GraphPersistentEntity) entity).getBatchSize() : 0;
+            if (entityBatchSize > 1) {
+                // initializing a proxy loads other uninitialized proxies of the same type into the session with one query
+                final List<Serializable> ids = lazyAssociationBatch.proxyIdsToLoad(type, key, entityBatchSize, id -> getCachedInstance(type, id) != null);
+                if (ids.size() > 1) {
+                    retrieveAll(type, ids);
+                }
+            }
+        }
+        final Object instance = super.retrieve(type, key);
+        if (instance != null && isPartiallyLoaded(instance)) {
+            initializeProperties(instance);
+        }
+        return instance;
+    }
+
+    /**
+     * Registers an instance that was loaded without some of its simple properties
+     *
+     * @param instance The instance
+     * @param unloadedProperties The names of the properties that were not loaded
+     */
+    public void addPartiallyLoaded(Object instance, Set<String> unloadedProperties) {
+        if (!unloadedProperties.isEmpty()) {
+            partiallyLoaded.put(instance, unloadedProperties);
+        }
+    }
+
+    /**
+     * @param instance The instance
+     * @return Whether the instance was loaded without some of its simple properties that have not been loaded since
+     */
+    public boolean isPartiallyLoaded(Object instance) {
+        return partiallyLoaded.containsKey(instance);
+    }
+
+    /**
+     * Loads the simple properties of a partially loaded instance that were not loaded by the query that read it
+     *
+     * @param instance The instance
+     */
+    public void initializeProperties(Object instance) {
+        if (!isPartiallyLoaded(instance)) {
+            return;
+        }
+        final GraphPersistentEntity entity = (GraphPersistentEntity) getMappingContext().getPersistentEntity(instance.getClass().getName());
+        final String cypher = entity.formatMatchId(CypherBuilder.NODE_VAR) + CypherBuilder.DEFAULT_RETURN_STATEMENT;
+        final Map<String, Object> params = Collections.singletonMap(GormProperties.IDENTITY, createEntityAccess(entity, instance).getIdentifier());
+        if (log.isDebugEnabled()) {
+            log.debug("Loading the remaining properties of [{}] with Cypher [{}] for parameters [{}]", entity.getName(), cypher, params);
+        }
+        final QueryRunner runner = hasTransaction() ? getTransaction().getNativeTransaction() : getNativeInterface();
+        final Result result = runner.run(cypher, params);
+        if (result.hasNext()) {
+            initializeProperties(instance, result.next().get(CypherBuilder.NODE_DATA).asNode());
+        }
+        else {
+            partiallyLoaded.remove(instance);
+        }
+    }
+
+    /**
+     * Sets the simple properties of a partially loaded instance that were not loaded from the given node, leaving the
+     * properties that were loaded, and may have been changed since, as they are
+     *
+     * @param instance The instance
+     * @param node The node with all of its properties
+     */
+    public void initializeProperties(Object instance, Entity node) {
+        final Set<String> unloadedProperties = partiallyLoaded.remove(instance);
+        if (unloadedProperties == null) {
+            return;
         }
-        if (!inserts.contains(id)) {
-            inserts.add(id);
+        final GraphPersistentEntity entity = (GraphPersistentEntity) getMappingContext().getPersistentEntity(instance.getClass().getName());
+        final EntityCodec codec = entity.getCodec();
+        if (instance instanceof DirtyCheckable) {
+            // the properties are set through their setters, which must not mark them as changed
+            final DirtyCheckable dirtyCheckable = (DirtyCheckable) instance;
+            final Map<String, Object> changes = new LinkedHashMap<>();
+            for (String name : dirtyCheckable.listDirtyPropertyNames()) {
+                changes.put(name, dirtyCheckable.getOriginalValue(name));
+            }
+            codec.decode(node, instance, unloadedProperties);
+            dirtyCheckable.trackChanges();
+            final EntityReflector reflector = entity.getReflector();
+            for (Map.Entry<String, Object> change : changes.entrySet()) {
+                dirtyCheckable.markDirty(change.getKey(), reflector.getProperty(instance, change.getKey()), change.getValue());
+            }
+        }
+        else {
+            codec.decode(node, instance, unloadedProperties);
+        }
+        if (instance instanceof DynamicAttributes) {
+            final DynamicAttributes dynamicAttributes = (DynamicAttributes) instance;
+            final Map<String, Object> attributes = dynamicAttributes.attributes();
+            final Map<String, Object> undeclared = new LinkedHashMap<>();
+            for (String key : node.keys()) {
+                if (!codec.isDeclared(key) && !key.equals(CypherBuilder.IDENTIFIER) && !attributes.containsKey(key)) {
+                    undeclared.put(key, node.get(key).asObject());
+                }
+            }
+            if (!undeclared.isEmpty()) {
+                dynamicAttributes.attributes(undeclared);
+            }
         }
     }
 
@@ -139,7 +481,9 @@ public class Neo4jSession extends AbstractSession<Session> {
             super.clearPendingOperations();
         } finally {
             pendingRelationshipInserts.clear();
-            pendingRelationshipDeletes.clear();;
+            pendingRelationshipDeletes.clear();
+            relationshipBatch.clear();
+            pendingOperationCount = 0;
         }
     }
 
@@ -184,7 +528,7 @@ public class Neo4jSession extends AbstractSession<Session> {
                 if (transactionDefinition.getName() == null) {
                     transactionDefinition = createDefaultTransactionDefinition(transactionDefinition);
                 }
-                tx = new Neo4jTransaction(boltDriver, transactionDefinition, sessionCreated);
+                tx = new Neo4jTransaction(boltDriver, transactionDefinition, sessionCreated, pipelined);
             }
             this.transaction = tx;
             return transaction;
@@ -220,15 +564,26 @@ public class Neo4jSession extends AbstractSession<Session> {
         return (Neo4jDatastore) super.getDatastore();
     }
 
+    /**
+     * @return The Bolt session of the current transaction, or of this session if there is no transaction or the
+     * current transaction is pipelined on an async session. Statements run with the session of a pipelined transaction
+     * are not part of the transaction, use the native transaction of {@link #getTransaction()} to run them within it
+     */
     @Override
     public Session getNativeInterface() {
-        return hasTransaction() ? getTransaction().getBoltSession() : boltSession;
+        if (hasTransaction()) {
+            final Neo4jTransaction neo4jTransaction = getTransaction();
+            if (!neo4jTransaction.isPipelined()) {
+                return neo4jTransaction.getBoltSession();
+            }
+        }
+        return boltSession;
     }
 
     @Override
     protected void flushPendingUpdates(Map<PersistentEntity, Collection<PendingUpdate>> updates) {
 
-        // UPDATE statements cannot be batched, but optimise statements for dirty checking
+        // UPDATE statements are batched per entity using UNWIND, only dirty properties are included in each row
         final Set<PersistentEntity> entities = updates.keySet();
         final Neo4jMappingContext mappingContext = getMappingContext();
 
@@ -237,6 +592,10 @@ public class Neo4jSession extends AbstractSession<Session> {
             final Collection<PendingUpdate> pendingUpdates = updates.get(entity);
             GraphPersistentEntity graphPersistentEntity = (GraphPersistentEntity) entity;
             final boolean isVersioned = entity.isVersioned() && entity.hasProperty(GormProperties.VERSION, Long.class);
+            // relationship entities are matched by their relationship pattern and are updated one at a time
+            final boolean isBatched = !graphPersistentEntity.isRelationshipEntity();
+            final List<Map<String, Object>> batchRows = new ArrayList<>();
+            final List<BatchedUpdate> batchedUpdates = new ArrayList<>();
 
             for (PendingUpdate pendingUpdate : pendingUpdates) {
                 final List<PendingOperation> preOperations = pendingUpdate.getPreOperations();
@@ -262,13 +621,7 @@ public class Neo4jSession extends AbstractSession<Session> {
                     final PersistentProperty property = entity.getPropertyByName(dirtyPropertyName);
                     if (property != null) {
                         if (property instanceof Simple || property instanceof Basic) {
-                            String name = property.getName();
-                            Object value = access.getProperty(name);
-                            if (value != null) {
-                                simpleProps.put(name, mappingContext.convertToNative(value));
-                            } else {
-                                simpleProps.put(name, null);
-                            }
+                            simpleProps.put(property.getName(), graphPersistentEntity.getCodec().encode(object, property.getName()));
                         } else if (property instanceof Custom) {
                             applyCustomType(access, property, simpleProps);
                         }
@@ -300,6 +653,19 @@ public class Neo4jSession extends AbstractSession<Session> {
                         access.setProperty(GormProperties.VERSION, newVersion);
                     }
 
+                    if (isBatched) {
+                        // SET += removes properties with a null value, which is also how empty collections are removed
+                        for (Map.Entry<String, Object> entry : simpleProps.entrySet()) {
+                            Object value = entry.getValue();
+                            if (value instanceof Collection && ((Collection) value).isEmpty()) {
+                                entry.setValue(null);
+                            }
+                        }
+                        batchRows.add(params);
+                        batchedUpdates.add(new BatchedUpdate(id, dirtyCheckable, cascadingOperations));
+                        continue;
+                    }
+
                     String cypher = graphPersistentEntity.formatMatchAndUpdate(CypherBuilder.NODE_VAR, simpleProps);
                     if (log.isDebugEnabled()) {
                         log.debug("UPDATE Cypher [{}] for parameters [{}]", cypher, params);
@@ -315,8 +681,55 @@ public class Neo4jSession extends AbstractSession<Session> {
                     }
                 }
             }
+
+            if (!batchRows.isEmpty()) {
+                executeBatchUpdate(graphPersistentEntity, isVersioned, batchRows, batchedUpdates);
+            }
+        }
+
+        flushRelationshipBatch();
+    }
+
+    /**
+     * Executes a single UNWIND statement for the given rows and then runs the cascading operations of each updated entity
+     *
+     * @param entity The entity
+     * @param isVersioned Whether the entity is versioned
+     * @param rows The rows containing the id, properties and version of each entity
+     * @param batchedUpdates The updates that correspond to each row
+     */
+    protected void executeBatchUpdate(GraphPersistentEntity entity, boolean isVersioned, List<Map<String, Object>> rows, List<BatchedUpdate> batchedUpdates) {
+        final String cypher = entity.getBatchUpdateStatement();
+        final Map<String, Object> params = Collections.singletonMap(entity.getBatchId(), rows);
+        if (log.isDebugEnabled()) {
+            log.debug("UPDATE Cypher [{}] for parameters [{}]", cypher, params);
+        }
+
+        if (!isVersioned) {
+            PipelinedTransaction.send(getTransaction().getNativeTransaction(), cypher, params);
+        } else {
+            final Result executionResult = getTransaction().getNativeTransaction().run(cypher, params);
+            final Set<Object> updatedIds = new HashSet<>(rows.size());
+            while (executionResult.hasNext()) {
+                updatedIds.add(normalizeId(executionResult.next().get(GormProperties.IDENTITY).asObject()));
+            }
+            for (BatchedUpdate batchedUpdate : batchedUpdates) {
+                if (!updatedIds.contains(normalizeId(batchedUpdate.id))) {
+                    throw new OptimisticLockingException(entity, batchedUpdate.id);
+                }
+            }
         }
 
+        for (BatchedUpdate batchedUpdate : batchedUpdates) {
+            // reset track changes
+            batchedUpdate.dirtyCheckable.trackChanges();
+            executePendings(batchedUpdate.cascadingOperations);
+        }
+    }
+
+    private static Object normalizeId(Object id) {
+        // ids are returned by the driver as longs, whilst assigned ids may be any numeric type
+        return id instanceof Number ? (Object) ((Number) id).longValue() : id;
     }
 
     private void processPendingRelationshipUpdates(GraphPersistentEntity entity, EntityAccess access, Serializable id, List<PendingOperation<Object, Serializable>> cascadingOperations, boolean isUpdate) {
@@ -338,7 +751,7 @@ public class Neo4jSession extends AbstractSession<Session> {
                     if (association instanceof DynamicAssociation) {
                         if (association.getOwner().equals(entity)) {
                             if (relationshipUpdateKey.id.equals(id)) {
-                                cascadingOperations.add(new RelationshipPendingDelete(access, association, pendingRelationshipDeletes.get(relationshipUpdateKey), getTransaction().getTransaction()));
+                                cascadingOperations.add(new RelationshipPendingDelete(access, association, pendingRelationshipDeletes.get(relationshipUpdateKey), this));
                             }
                         }
                     }
@@ -401,7 +814,7 @@ public class Neo4jSession extends AbstractSession<Session> {
         }
         final Collection<Serializable> pendingDeletes = pendingRelationshipDeletes.get(key);
         if (pendingDeletes != null && !pendingDeletes.isEmpty()) {
-            cascadingOperations.add(new RelationshipPendingDelete(parent, association, pendingDeletes, getTransaction().getNativeTransaction()));
+            cascadingOperations.add(new RelationshipPendingDelete(parent, association, pendingDeletes, this));
             pendingRelationshipDeletes.remove(key);
         }
     }
@@ -426,7 +839,7 @@ public class Neo4jSession extends AbstractSession<Session> {
         }
 
         executePendings(cascadingOperations);
-
+        flushRelationshipBatch();
     }
 
     private void processInsertsForEntity(org.neo4j.driver.Transaction neo4jTransaction, GraphPersistentEntity entity, Map<PersistentEntity, Collection<PendingInsert>> inserts, List<PendingOperation<Object, Serializable>> cascadingOperations) {
@@ -437,13 +850,14 @@ public class Neo4jSession extends AbstractSession<Session> {
         if (!entityInserts.isEmpty()) {
 
             if (hasDynamicLabels) {
-                buildAndExecuteCreateStatement(entityInserts, entity, cascadingOperations);
+                buildAndExecuteCreateStatements(entityInserts, entity, cascadingOperations);
             } else {
                 // use UNWIND and FOREACH to batch
                 StringBuilder batchCypher = new StringBuilder();
                 final Map<String, Object> params = new HashMap<>(inserts.size());
                 Map<String, String> associationMerges = new LinkedHashMap<>();
                 batchCypher.append(entity.getBatchCreateStatement());
+                final int chunkSize = batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE;
                 Collection<Map<String, Object>> rows = new ArrayList<>();
                 for (PendingInsert entityInsert : entityInserts) {
                     EntityAccess entityAccess = entityInsert.getEntityAccess();
@@ -504,7 +918,7 @@ public class Neo4jSession extends AbstractSession<Session> {
                         } else {
                             Object parentId = entityAccess.getIdentifier();
                             if (parentId != null) {
-                                Map<String, Object> nodeProperties = readNodePropertiesForInsert(entityInsert, entity, entity.getPersistentProperties(), entityAccess);
+                                Map<String, Object> nodeProperties = readNodePropertiesForInsert(entityInsert, entity, entityAccess);
                                 Object obj = entityInsert.getObject();
                                 Map<String, List<Object>> dynamicRelProps = amendMapWithUndeclaredProperties(entity, nodeProperties, obj, getMappingContext());
                                 Map<String, Object> data = new LinkedHashMap<>();
@@ -536,7 +950,7 @@ public class Neo4jSession extends AbstractSession<Session> {
 
                                                         childIds.remove(childId);
 
-                                                        Map<String, Object> childProperties = readNodePropertiesForInsert(pendingInsert, associatedEntity, associatedEntity.getPersistentProperties(), pendingInsert.getEntityAccess());
+                                                        Map<String, Object> childProperties = readNodePropertiesForInsert(pendingInsert, associatedEntity, pendingInsert.getEntityAccess());
                                                         childRows.add(Collections.<String, Object>singletonMap(CypherBuilder.PROPS, childProperties));
 
                                                         cascadingOperations.addAll(pendingInsert.getCascadeOperations());
@@ -563,27 +977,35 @@ public class Neo4jSession extends AbstractSession<Session> {
                         }
 
                     }
-                }
-                params.put(entity.getBatchId(), rows);
-                if (!associationMerges.isEmpty()) {
-                    for (String merge : associationMerges.keySet()) {
-                        batchCypher.append(associationMerges.get(merge));
+                    if (rows.size() >= chunkSize) {
+                        // large batches, such as those queued by saveAll(), are sent one chunk at a time
+                        sendBatchCreate(neo4jTransaction, batchCypher, associationMerges, entity, params, rows);
+                        rows = new ArrayList<>();
                     }
                 }
+                sendBatchCreate(neo4jTransaction, batchCypher, associationMerges, entity, params, rows);
+            }
 
-                if (batchCypher.length() > 0 && !rows.isEmpty()) {
-
-                    final String finalCypher = batchCypher.toString();
-                    if (log.isDebugEnabled()) {
-                        log.debug("CREATE Cypher [{}] for parameters [{}]", finalCypher, params);
-                    }
-                    neo4jTransaction.run(finalCypher, params);
 
-                }
-            }
+        }
+    }
 
+    private void sendBatchCreate(org.neo4j.driver.Transaction neo4jTransaction, StringBuilder batchCypher, Map<String, String> associationMerges, GraphPersistentEntity entity, Map<String, Object> params, Collection<Map<String, Object>> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        final Map<String, Object> chunkParams = new HashMap<>(params);
+        chunkParams.put(entity.getBatchId(), rows);
+        final StringBuilder cypher = new StringBuilder(batchCypher);
+        for (String merge : associationMerges.values()) {
+            cypher.append(merge);
+        }
 
+        final String finalCypher = cypher.toString();
+        if (log.isDebugEnabled()) {
+            log.debug("CREATE Cypher [{}] for parameters [{}]", finalCypher, chunkParams);
         }
+        PipelinedTransaction.send(neo4jTransaction, finalCypher, chunkParams);
     }
 
     private boolean isVetoedAfterPreOperations(PendingInsert entityInsert) {
@@ -597,55 +1019,38 @@ public class Neo4jSession extends AbstractSession<Session> {
         return entityInsert.isVetoed();
     }
 
-    private void buildAndExecuteCreateStatement(Collection<PendingInsert> entityInserts, GraphPersistentEntity graphEntity, List<PendingOperation<Object, Serializable>> cascadingOperations) {
-        // dynamic labels require individual create statements and are less efficient
-        final Map<String, Object> createParams = new HashMap<>(entityInserts.size());
-        final String finalCypher = buildCypherCreateStatement(entityInserts, graphEntity, cascadingOperations, createParams);
-        if(graphEntity.hasDynamicAssociations()) {
-            createParams.remove(Neo4jEntityPersister.DYNAMIC_ASSOCIATION_PARAM);
-        }
-        if (finalCypher.length() > 0) {
-            if (log.isDebugEnabled()) {
-                log.debug("CREATE Cypher [{}] for parameters [{}]", finalCypher, createParams);
-            }
-            getTransaction().getNativeTransaction().run(finalCypher, createParams);
-        }
-    }
-
-    private String buildCypherCreateStatement(Collection<PendingInsert> entityInserts, GraphPersistentEntity graphEntity, List<PendingOperation<Object, Serializable>> cascadingOperations, Map<String, Object> createParams) {
-        StringBuilder createCypher = new StringBuilder();
-
-        int i = 0;
-        boolean first = true;
+    private void buildAndExecuteCreateStatements(Collection<PendingInsert> entityInserts, GraphPersistentEntity graphEntity, List<PendingOperation<Object, Serializable>> cascadingOperations) {
+        // dynamic labels are resolved per instance, so inserts are grouped by their labels and each group is created with UNWIND
+        final Map<String, List<Map<String, Object>>> rowsByLabels = new LinkedHashMap<>();
+        final Map<String, Object> dynamicAssociationParams = new HashMap<>(1);
         for (final PendingInsert entityInsert : entityInserts) {
             if (entityInsert.wasExecuted() || graphEntity.isRelationshipEntity()) {
                 processPendingRelationshipUpdates(graphEntity, entityInsert.getEntityAccess(), (Serializable) entityInsert.getNativeKey(), cascadingOperations, false);
                 cascadingOperations.addAll(entityInsert.getCascadeOperations());
             } else {
-                List<PendingOperation> preOperations = entityInsert.getPreOperations();
-                for (PendingOperation preOperation : preOperations) {
-                    preOperation.run();
-                }
-
-                entityInsert.run();
-                ((PendingOperationAdapter) entityInsert).setExecuted(true);
-                if (entityInsert.isVetoed()) continue;
+                if (isVetoedAfterPreOperations(entityInsert)) continue;
 
                 cascadingOperations.addAll(entityInsert.getCascadeOperations());
 
-                i++;
-                if (!first) {
-                    createCypher.append(',');
-                    createCypher.append('\n');
-                } else {
-                    createCypher.append(CypherBuilder.CYPHER_CREATE);
-                    first = false;
-                }
+                final Object obj = entityInsert.getObject();
+                final EntityAccess access = entityInsert.getEntityAccess();
+                final Map<String, Object> simpleProps = readNodePropertiesForInsert(entityInsert, graphEntity, access);
+                final Map<String, List<Object>> dynamicRelProps = amendMapWithUndeclaredProperties(graphEntity, simpleProps, obj, getMappingContext());
+                rowsByLabels.computeIfAbsent(graphEntity.getLabelsWithInheritance(obj), labels -> new ArrayList<>())
+                            .add(Collections.singletonMap(CypherBuilder.PROPS, simpleProps));
 
-                buildEntityCreateOperation(createCypher, String.valueOf(i), graphEntity, entityInsert, createParams, cascadingOperations);
+                processDynamicAssociationsIfNecessary(graphEntity, access, obj, entityInsert, cascadingOperations, dynamicAssociationParams, dynamicRelProps);
             }
         }
-        return createCypher.toString();
+
+        for (Map.Entry<String, List<Map<String, Object>>> entry : rowsByLabels.entrySet()) {
+            final String cypher = graphEntity.formatBatchCreateForLabels("$" + graphEntity.getBatchId(), entry.getKey());
+            final Map<String, Object> createParams = Collections.singletonMap(graphEntity.getBatchId(), entry.getValue());
+            if (log.isDebugEnabled()) {
+                log.debug("CREATE Cypher [{}] for parameters [{}]", cypher, createParams);
+            }
+            PipelinedTransaction.send(getTransaction().getNativeTransaction(), cypher, createParams);
+        }
     }
 
     public String buildEntityCreateOperation(PersistentEntity entity, PendingInsert entityInsert, Map<String, Object> params, List<PendingOperation<Object, Serializable>> cascadingOperations) {
@@ -656,10 +1061,9 @@ public class Neo4jSession extends AbstractSession<Session> {
 
     public void buildEntityCreateOperation(StringBuilder createCypher, String index, PersistentEntity entity, PendingInsert entityInsert, Map<String, Object> params, List<PendingOperation<Object, Serializable>> cascadingOperations) {
         GraphPersistentEntity graphEntity = (GraphPersistentEntity) entity;
-        final List<PersistentProperty> persistentProperties = entity.getPersistentProperties();
         final Object obj = entityInsert.getObject();
         final EntityAccess access = entityInsert.getEntityAccess();
-        final Map<String, Object> simpleProps = readNodePropertiesForInsert(entityInsert, graphEntity, persistentProperties, access);
+        final Map<String, Object> simpleProps = readNodePropertiesForInsert(entityInsert, graphEntity, access);
 
 
         Map<String, List<Object>> dynamicRelProps = amendMapWithUndeclaredProperties(graphEntity, simpleProps, obj, getMappingContext());
@@ -672,6 +1076,22 @@ public class Neo4jSession extends AbstractSession<Session> {
         processDynamicAssociationsIfNecessary(graphEntity, access, obj, entityInsert, cascadingOperations, params, dynamicRelProps);
     }
 
+    /**
+     * Reads the properties of a pending insert into a row of a batch create statement
+     *
+     * @param entity The entity
+     * @param entityInsert The pending insert
+     * @param dynamicAssociations A map that the undeclared associations of the instance are added to
+     * @return The row
+     */
+    public Map<String, Object> buildEntityCreateRow(GraphPersistentEntity entity, PendingInsert entityInsert, Map<String, List<Object>> dynamicAssociations) {
+        final Map<String, Object> simpleProps = readNodePropertiesForInsert(entityInsert, entity, entityInsert.getEntityAccess());
+        dynamicAssociations.putAll(amendMapWithUndeclaredProperties(entity, simpleProps, entityInsert.getObject(), getMappingContext()));
+        final Map<String, Object> row = new LinkedHashMap<>(2);
+        row.put(CypherBuilder.PROPS, simpleProps);
+        return row;
+    }
+
     private void processDynamicAssociationsIfNecessary(GraphPersistentEntity graphEntity, EntityAccess access, Object obj, PendingInsert entityInsert, List<PendingOperation<Object, Serializable>> cascadingOperations, Map<String, Object> params, Map<String, List<Object>> dynamicRelProps) {
         boolean hasDynamicAssociations = graphEntity.hasDynamicAssociations();
         Serializable parentId = (Serializable) entityInsert.getNativeKey();
@@ -685,8 +1105,9 @@ public class Neo4jSession extends AbstractSession<Session> {
         }
     }
 
-    private Map<String, Object> readNodePropertiesForInsert(PendingInsert entityInsert, GraphPersistentEntity graphEntity, List<PersistentProperty> persistentProperties, EntityAccess access) {
-        final Map<String, Object> simpleProps = new HashMap<>(persistentProperties.size());
+    private Map<String, Object> readNodePropertiesForInsert(PendingInsert entityInsert, GraphPersistentEntity graphEntity, EntityAccess access) {
+        final EntityCodec codec = graphEntity.getCodec();
+        final Map<String, Object> simpleProps = new HashMap<>(graphEntity.getPersistentProperties().size());
         final Serializable id = (Serializable) entityInsert.getNativeKey();
 
         if (!graphEntity.isNativeId()) {
@@ -699,14 +1120,9 @@ public class Neo4jSession extends AbstractSession<Session> {
 
 
         // build a properties map for each CREATE statement
-        for (PersistentProperty pp : persistentProperties) {
-            if ((pp instanceof Simple) || (pp instanceof TenantId) || (pp instanceof Basic)) {
-                String name = pp.getName();
-                Object value = access.getProperty(name);
-                if (value != null) {
-                    simpleProps.put(name, getMappingContext().convertToNative(value));
-                }
-            } else if (pp instanceof Custom) {
+        codec.encode(access.getEntity(), simpleProps);
+        for (PersistentProperty pp : codec.getOtherProperties()) {
+            if (pp instanceof Custom) {
                 applyCustomType(access, pp, simpleProps);
             }
         }
@@ -727,6 +1143,8 @@ public class Neo4jSession extends AbstractSession<Session> {
 
     @Override
     protected void flushPendingDeletes(Map<PersistentEntity, Collection<PendingDelete>> pendingDeletes) {
+        // relationships must be written before any of the nodes are deleted
+        flushRelationshipBatch();
 
         final Set<PersistentEntity> persistentEntities = pendingDeletes.keySet();
         for (PersistentEntity entity : persistentEntities) {
@@ -762,7 +1180,7 @@ public class Neo4jSession extends AbstractSession<Session> {
             if (log.isDebugEnabled()) {
                 log.debug("DELETE Cypher [{}] for parameters {}", cypher, idMap);
             }
-            getTransaction().getNativeTransaction().run(cypher, idMap);
+            PipelinedTransaction.send(getTransaction().getNativeTransaction(), cypher, idMap);
 
             executePendings(cascadingOperations);
 
@@ -828,15 +1246,25 @@ public class Neo4jSession extends AbstractSession<Session> {
 
     @Override
     public void flush() {
-        if (wasTransactionTerminated()) return;
+        // a stateless session has no first-level cache and never writes, so there is never anything to flush
+        if (isStateless() || wasTransactionTerminated()) return;
 
         final Neo4jTransaction transaction = (Neo4jTransaction) this.transaction;
         if (transaction != null) {
             if (transaction.getTransactionDefinition().isReadOnly()) {
                 return;
             }
-            persistDirtyButUnsavedInstances();
-            super.flush();
+            flushing = true;
+            try {
+                persistDirtyButUnsavedInstances();
+                super.flush();
+                if (transaction.isPipelined()) {
+                    // report any failures of the pipelined statements as part of the flush
+                    ((PipelinedTransaction) transaction.getNativeTransaction()).await();
+                }
+            } finally {
+                flushing = false;
+            }
         } else {
             throw new NoTransactionException("Cannot flush write operations without an active transaction!");
         }
@@ -853,6 +1281,8 @@ public class Neo4jSession extends AbstractSession<Session> {
 
     @Override
     protected void postFlush(boolean hasUpdates) {
+        flushRelationshipBatch();
+        pendingOperationCount = 0;
         super.postFlush(hasUpdates);
         if (publisher != null) {
             publisher.publishEvent(new SessionFlushedEvent(this));
@@ -886,7 +1316,10 @@ public class Neo4jSession extends AbstractSession<Session> {
     private void startDefaultTransaction() {
         // start a new transaction upon termination
         final DefaultTransactionDefinition transactionDefinition = createDefaultTransactionDefinition(null);
-        transaction = new Neo4jTransaction(boltDriver, transactionDefinition, true);
+        if (isStateless()) {
+            transactionDefinition.setReadOnly(true);
+        }
+        transaction = new Neo4jTransaction(boltDriver, transactionDefinition, true, pipelined);
     }
 
     protected DefaultTransactionDefinition createDefaultTransactionDefinition(TransactionDefinition other) {
@@ -915,31 +1348,76 @@ public class Neo4jSession extends AbstractSession<Session> {
 
     @Override
     public long deleteAll(QueryableCriteria criteria) {
+        assertNotStateless("deleted");
 
         final PersistentEntity entity = criteria.getPersistentEntity();
-        final List<Query.Criterion> criteriaList = criteria.getCriteria();
-        final Neo4jQuery query = new Neo4jQuery(this, entity, getEntityPersister(entity.getJavaClass()));
-        for (Query.Criterion criterion : criteriaList) {
-            query.add(criterion);
+        final CypherBuilder baseQuery = buildBulkQuery(criteria);
+        final boolean chunked = isChunked(entity);
+        if (chunked) {
+            baseQuery.setWith(CypherBuilder.NODE_VAR + " LIMIT " + bulkChunkSize);
+        }
+        final boolean cascades = buildCascadingDeletes(entity, baseQuery);
+        if (cascades) {
+            // cascaded nodes are included in the counters, so count the distinct matches instead
+            baseQuery.addReturnColumn("count(DISTINCT " + CypherBuilder.NODE_VAR + ") as count");
         }
-        query.projections().count();
-
-        final CypherBuilder baseQuery = query.getBaseQuery();
-        buildCascadingDeletes(entity, baseQuery);
 
         final String cypher = baseQuery.build();
         final Map<String, Object> params = baseQuery.getParams();
         if (log.isDebugEnabled()) {
             log.debug("DELETE Cypher [{}] for parameters [{}]", cypher, params);
         }
-        Number count = (Number) query.singleResult();
-        getTransaction().getNativeTransaction().run(cypher, params);
-        return count.longValue();
+        if (!chunked) {
+            return countDeletes(entity, getTransaction().getNativeTransaction().run(cypher, params), cascades);
+        }
+
+        long total = 0;
+        long deleted;
+        try (Session chunkSession = boltDriver.session()) {
+            do {
+                deleted = chunkSession.writeTransaction(tx -> countDeletes(entity, tx.run(cypher, params), cascades));
+                total += deleted;
+            } while (deleted >= bulkChunkSize);
+        }
+        return total;
+    }
+
+    /**
+     * Whether a bulk operation on the given entity is executed in chunks, each committed in a transaction of its own.
+     * Within a current transaction the chunks could neither see its uncommitted changes nor be rolled back with it, so
+     * the operation is then executed as a single statement instead
+     */
+    private boolean isChunked(PersistentEntity entity) {
+        return bulkChunkSize > 0 && !(entity instanceof RelationshipPersistentEntity) && !hasTransaction();
     }
 
-    protected void buildCascadingDeletes(PersistentEntity entity, CypherBuilder baseQuery) {
+    private long countDeletes(PersistentEntity entity, Result result, boolean cascades) {
+        if (cascades) {
+            return result.single().get(0).asLong();
+        }
+        final SummaryCounters counters = result.consume().counters();
+        return entity instanceof RelationshipPersistentEntity ? counters.relationshipsDeleted() : counters.nodesDeleted();
+    }
+
+    private CypherBuilder buildBulkQuery(QueryableCriteria criteria) {
+        final PersistentEntity entity = criteria.getPersistentEntity();
+        final List<Query.Criterion> criteriaList = criteria.getCriteria();
+        final Neo4jQuery query = new Neo4jQuery(this, entity, getEntityPersister(entity.getJavaClass()));
+        for (Query.Criterion criterion : criteriaList) {
+            query.add(criterion);
+        }
+        return query.getBaseQuery();
+    }
+
+    /**
+     * Adds the variables to delete to the given query, including associations that cascade the delete
+     *
+     * @return Whether any associated nodes are deleted by the cascade
+     */
+    protected boolean buildCascadingDeletes(PersistentEntity entity, CypherBuilder baseQuery) {
         if (entity instanceof RelationshipPersistentEntity) {
             baseQuery.addDeleteColumn(CypherBuilder.REL_VAR);
+            return false;
         } else {
             int i = 1;
             for (Association association : entity.getAssociations()) {
@@ -953,21 +1431,22 @@ public class Neo4jSession extends AbstractSession<Session> {
                 }
             }
             baseQuery.addDeleteColumn(CypherBuilder.NODE_VAR);
+            return i > 1;
         }
     }
 
     @Override
     public long updateAll(QueryableCriteria criteria, Map<String, Object> properties) {
+        assertNotStateless("updated");
         final PersistentEntity entity = criteria.getPersistentEntity();
-        final List<Query.Criterion> criteriaList = criteria.getCriteria();
-        final Neo4jQuery query = new Neo4jQuery(this, entity, getEntityPersister(entity.getJavaClass()));
-        for (Query.Criterion criterion : criteriaList) {
-            query.add(criterion);
+        final CypherBuilder baseQuery = buildBulkQuery(criteria);
+        if (isChunked(entity)) {
+            return updateAllInChunks((GraphPersistentEntity) entity, baseQuery, properties);
         }
-        query.projections().count();
-
-        final CypherBuilder baseQuery = query.getBaseQuery();
         baseQuery.addPropertySet(properties);
+        // the counters include every property set, so count the matches instead
+        final String variable = entity instanceof RelationshipPersistentEntity ? CypherBuilder.REL_VAR : CypherBuilder.NODE_VAR;
+        baseQuery.addReturnColumn("count(" + variable + ") as count");
 
         final String cypher = baseQuery.build();
         final Map<String, Object> params = baseQuery.getParams();
@@ -975,8 +1454,55 @@ public class Neo4jSession extends AbstractSession<Session> {
             log.debug("UPDATE Cypher [{}] for parameters [{}]", cypher, params);
         }
 
-        final Result execute = getTransaction().getNativeTransaction().run(cypher, params);
-        return Neo4jEntityPersister.countUpdates(execute);
+        return getTransaction().getNativeTransaction().run(cypher, params).single().get("count").asLong();
+    }
+
+    /**
+     * Updates the matched nodes in chunks of at most {@link #getBulkChunkSize()} nodes. The nodes are visited in id order,
+     * each chunk committed in its own transaction and continuing after the last id updated by the previous one
+     */
+    private long updateAllInChunks(GraphPersistentEntity entity, CypherBuilder baseQuery, Map<String, Object> properties) {
+        final String id = entity.formatId(CypherBuilder.NODE_VAR);
+        final int lastIdParam = baseQuery.addParam(null);
+        final String after = "({" + lastIdParam + "} IS NULL OR " + id + " > {" + lastIdParam + "})";
+        final Map<String, Object> params = baseQuery.getParams();
+        final String conditions = baseQuery.getConditions();
+        baseQuery.setConditions(conditions == null || conditions.isEmpty() ? after : "(" + conditions + ") AND " + after);
+        baseQuery.setWith(CypherBuilder.NODE_VAR + " ORDER BY " + id + " LIMIT " + bulkChunkSize);
+        baseQuery.addPropertySet(properties);
+        baseQuery.addReturnColumn("count(" + CypherBuilder.NODE_VAR + ") as count");
+        baseQuery.addReturnColumn("max(" + id + ") as last");
+
+        final String cypher = baseQuery.build();
+        long total = 0;
+        long matched;
+        try (Session chunkSession = boltDriver.session()) {
+            do {
+                if (log.isDebugEnabled()) {
+                    log.debug("UPDATE Cypher [{}] for parameters [{}]", cypher, params);
+                }
+                final Record record = chunkSession.writeTransaction(tx -> tx.run(cypher, params).single());
+                matched = record.get("count").asLong();
+                baseQuery.replaceParamAt(lastIdParam, record.get("last").asObject());
+                total += matched;
+            } while (matched >= bulkChunkSize);
+        }
+        return total;
+    }
+
+    /**
+     * An update that has been added to a batch and is awaiting execution
+     */
+    protected static class BatchedUpdate {
+        private final Serializable id;
+        private final DirtyCheckable dirtyCheckable;
+        private final List<PendingOperation<Object, Serializable>> cascadingOperations;
+
+        protected BatchedUpdate(Serializable id, DirtyCheckable dirtyCheckable, List<PendingOperation<Object, Serializable>> cascadingOperations) {
+            this.id = id;
+            this.dirtyCheckable = dirtyCheckable;
+            this.cascadingOperations = cascadingOperations;
+        }
     }
 
     private static class RelationshipUpdateKey {
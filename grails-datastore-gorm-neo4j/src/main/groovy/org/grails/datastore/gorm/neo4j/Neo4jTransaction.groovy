@@ -22,6 +22,8 @@ import org.neo4j.driver.Session
 import org.neo4j.driver.TransactionConfig
 import org.grails.datastore.mapping.transactions.Transaction
 import org.neo4j.driver.SessionConfig
+import org.neo4j.driver.async.AsyncSession
+import org.grails.datastore.gorm.neo4j.engine.PipelinedTransaction
 import org.springframework.transaction.TransactionDefinition
 import org.springframework.transaction.support.DefaultTransactionDefinition
 
@@ -44,22 +46,40 @@ class Neo4jTransaction implements Transaction<org.neo4j.driver.Transaction>, Clo
     boolean rollbackOnly = false
 
     Session boltSession
+    AsyncSession asyncSession
     org.neo4j.driver.Transaction transaction
     TransactionDefinition transactionDefinition
 
-    Neo4jTransaction(Driver boltDriver, TransactionDefinition transactionDefinition = new DefaultTransactionDefinition(), boolean sessionCreated = false) {
+    /**
+     * @param pipelined Whether to run a write transaction on an async session, allowing statements to be pipelined with {@link PipelinedTransaction}
+     */
+    Neo4jTransaction(Driver boltDriver, TransactionDefinition transactionDefinition = new DefaultTransactionDefinition(), boolean sessionCreated = false, boolean pipelined = false) {
 
         log.debug("TX START: Neo4J beginTx()")
-        this.boltSession = boltDriver.session(SessionConfig.builder().withDefaultAccessMode(transactionDefinition.readOnly ? AccessMode.READ : AccessMode.WRITE).build())
+        final SessionConfig sessionConfig = SessionConfig.builder().withDefaultAccessMode(transactionDefinition.readOnly ? AccessMode.READ : AccessMode.WRITE).build()
         final TransactionConfig.Builder config = TransactionConfig.builder()
         if (transactionDefinition.timeout != TransactionDefinition.TIMEOUT_DEFAULT) {
             config.withTimeout(Duration.ofSeconds(transactionDefinition.timeout))
         }
-        transaction = boltSession.beginTransaction(config.build())
+        if (pipelined && !transactionDefinition.readOnly) {
+            this.asyncSession = boltDriver.asyncSession(sessionConfig)
+            transaction = new PipelinedTransaction(asyncSession.beginTransactionAsync(config.build()).toCompletableFuture().join())
+        }
+        else {
+            this.boltSession = boltDriver.session(sessionConfig)
+            transaction = boltSession.beginTransaction(config.build())
+        }
         this.transactionDefinition = transactionDefinition
         this.sessionCreated = sessionCreated
     }
 
+    /**
+     * @return Whether statements of this transaction can be pipelined
+     */
+    boolean isPipelined() {
+        transaction instanceof PipelinedTransaction
+    }
+
     void commit() {
         if(isActive() && !rollbackOnly) {
             log.debug("TX COMMIT: Neo4J commit()")
@@ -91,7 +111,12 @@ class Neo4jTransaction implements Transaction<org.neo4j.driver.Transaction>, Clo
         if(active) {
             log.debug("TX CLOSE: Neo4j tx.close()");
             transaction.close()
-            boltSession.close()
+            if (asyncSession != null) {
+                asyncSession.closeAsync().toCompletableFuture().join()
+            }
+            else {
+                boltSession.close()
+            }
             active = false
         }
     }
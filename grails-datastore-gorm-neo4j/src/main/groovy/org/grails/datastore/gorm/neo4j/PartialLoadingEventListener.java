@@ -0,0 +1,52 @@
+/*
+ * Copyright 2015 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.datastore.gorm.neo4j;
+
+import org.grails.datastore.mapping.core.Datastore;
+import org.grails.datastore.mapping.core.Session;
+import org.grails.datastore.mapping.engine.event.AbstractPersistenceEvent;
+import org.grails.datastore.mapping.engine.event.AbstractPersistenceEventListener;
+import org.grails.datastore.mapping.engine.event.ValidationEvent;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Loads the properties of a partially loaded instance that were not loaded before it is validated, so that the
+ * constraints of those properties are checked against their stored values rather than null
+ *
+ * @since 8.2.0
+ */
+public class PartialLoadingEventListener extends AbstractPersistenceEventListener {
+
+    public PartialLoadingEventListener(Datastore datastore) {
+        super(datastore);
+    }
+
+    @Override
+    protected void onPersistenceEvent(AbstractPersistenceEvent event) {
+        final Object instance = event.getEntityObject();
+        if (instance != null && datastore.hasCurrentSession()) {
+            final Session session = datastore.getCurrentSession();
+            if (session instanceof Neo4jSession) {
+                ((Neo4jSession) session).initializeProperties(instance);
+            }
+        }
+    }
+
+    @Override
+    public boolean supportsEventType(Class<? extends ApplicationEvent> eventType) {
+        return ValidationEvent.class.isAssignableFrom(eventType);
+    }
+}
@@ -1,23 +1,34 @@
 package org.grails.datastore.gorm.neo4j.api
 
+import grails.gorm.DetachedCriteria
+import grails.gorm.PagedResultList
 import grails.gorm.multitenancy.Tenants
+import grails.neo4j.ImportProgress
+import grails.neo4j.KeysetResultList
 import grails.neo4j.Path
 import grails.neo4j.Relationship
 import groovy.transform.CompileStatic
 import groovy.util.logging.Slf4j
 import org.grails.datastore.gorm.GormEntity
 import org.grails.datastore.gorm.GormStaticApi
+import org.grails.datastore.gorm.GormValidateable
+import org.grails.datastore.gorm.finders.DynamicFinder
 import org.grails.datastore.gorm.finders.FinderMethod
 import org.grails.datastore.gorm.neo4j.*
 import org.grails.datastore.gorm.neo4j.collection.Neo4jPath
 import org.grails.datastore.gorm.neo4j.collection.Neo4jRelationship
 import org.grails.datastore.gorm.neo4j.collection.Neo4jResultList
+import org.grails.datastore.gorm.neo4j.engine.AsyncQueryRunner
 import org.grails.datastore.gorm.neo4j.engine.Neo4jEntityPersister
+import org.grails.datastore.gorm.neo4j.engine.Neo4jQuery
 import org.grails.datastore.gorm.neo4j.extensions.Neo4jExtensions
 import org.grails.datastore.mapping.core.Datastore
 import org.grails.datastore.mapping.core.Session
 import org.grails.datastore.mapping.core.SessionCallback
+import org.grails.datastore.mapping.engine.EntityAccess
 import org.grails.datastore.mapping.engine.EntityPersister
+import org.grails.datastore.mapping.model.PersistentEntity
+import org.grails.datastore.mapping.model.types.Association
 import org.grails.datastore.mapping.model.config.GormProperties
 import org.grails.datastore.mapping.multitenancy.MultiTenancySettings
 import org.grails.datastore.mapping.multitenancy.exceptions.TenantNotFoundException
@@ -26,9 +37,13 @@ import org.neo4j.driver.QueryRunner
 import org.neo4j.driver.Record
 import org.neo4j.driver.Result
 import org.neo4j.driver.types.Node
+import org.codehaus.groovy.runtime.InvokerHelper
 import org.springframework.transaction.PlatformTransactionManager
 
+import javax.persistence.CascadeType
+import java.util.concurrent.CompletionStage
 import java.util.function.Function
+import java.util.stream.Stream
 
 /**
  * Static API implementation for Neo4j
@@ -40,6 +55,23 @@ import java.util.function.Function
 @Slf4j
 class Neo4jGormStaticApi<D> extends GormStaticApi<D> {
 
+    /**
+     * The argument holding the cursor of the previous page for keyset pagination
+     */
+    static final String ARGUMENT_AFTER = 'after'
+
+    /**
+     * The argument holding the name of a fetch plan declared in the mapping of the entity
+     */
+    static final String ARGUMENT_FETCH_PLAN = 'fetchPlan'
+
+    /**
+     * The argument holding the names of the properties to load
+     */
+    static final String ARGUMENT_SELECT = 'select'
+
+    private Neo4jReactiveApi<D> reactiveApi
+
     Neo4jGormStaticApi(Class<D> persistentClass, Datastore datastore, List<FinderMethod> finders) {
         super(persistentClass, datastore, finders)
     }
@@ -483,6 +515,477 @@ RETURN DISTINCT(r), from, to$skip$limit"""
         } as SessionCallback<Result>)
     }
 
+    /**
+     * @return The reactive API for the entity
+     */
+    Neo4jReactiveApi<D> getReactive() {
+        if(reactiveApi == null) {
+            reactiveApi = new Neo4jReactiveApi<D>(this)
+        }
+        return reactiveApi
+    }
+
+    /**
+     * Streams the instances matching the given criteria, decoding each instance as the stream is consumed. The stream
+     * should be closed once it has been consumed and must be consumed within the current session.
+     *
+     * The following arguments are supported in addition to max, offset, sort and order:
+     *
+     * <ul>
+     *     <li>fetchSize - The number of records to fetch from the server at a time. If specified the query is executed in a read transaction of its own, which does not see the changes of the current transaction</li>
+     *     <li>detach - Whether each instance is removed from the session once decoded, so that the memory used remains constant. Defaults to true</li>
+     *     <li>fetchPlan - The name of a fetch plan declared in the mapping of the entity, whose associations are loaded together with the instances</li>
+     *     <li>select - The names of the properties to load, the instances are partially loaded</li>
+     * </ul>
+     *
+     * @param args The arguments
+     * @param criteria The criteria or null to stream all instances
+     * @return The stream of instances
+     */
+    Stream<D> stream(Map args, DetachedCriteria<D> criteria) {
+        int fetchSize = args.fetchSize != null ? Integer.valueOf(args.fetchSize.toString()) : 0
+        if(fetchSize < 0) {
+            throw new IllegalArgumentException("Argument [fetchSize] must not be negative")
+        }
+        boolean detach = args.detach != null ? Boolean.valueOf(args.detach.toString()) : true
+        (Stream<D>) execute({ Session session ->
+            Neo4jQuery query = (Neo4jQuery) session.createQuery(persistentClass)
+            if(criteria != null) {
+                DynamicFinder.applyDetachedCriteria(query, criteria)
+            }
+            populateArguments(query, args)
+            query.stream(fetchSize, detach)
+        } as SessionCallback<Object>)
+    }
+
+    /**
+     * Streams the instances matching the given criteria
+     *
+     * @see #stream(java.util.Map, grails.gorm.DetachedCriteria)
+     */
+    Stream<D> stream(Map args, Closure criteria) {
+        stream(args, new DetachedCriteria<D>(persistentClass).build(criteria))
+    }
+
+    /**
+     * Lists the instances, using keyset pagination if the after argument is specified, loading the associations of the
+     * fetch plan named by the fetchPlan argument and only the properties listed by the select argument
+     *
+     * @see #listAfter(java.util.Map, grails.gorm.DetachedCriteria)
+     */
+    @Override
+    List<D> list(Map params) {
+        if(params != null && params.containsKey(ARGUMENT_AFTER)) {
+            return listAfter(params, (DetachedCriteria<D>) null)
+        }
+        (List<D>) execute({ Session session ->
+            Neo4jQuery query = (Neo4jQuery) session.createQuery(persistentClass)
+            populateArguments(query, params)
+            params?.max ? new PagedResultList(query) : query.list()
+        } as SessionCallback<Object>)
+    }
+
+    /**
+     * Populates a query from the arguments supported by {@link DynamicFinder} along with the fetchPlan and select arguments
+     *
+     * @param query The query
+     * @param args The arguments
+     */
+    protected void populateArguments(Neo4jQuery query, Map args) {
+        if(args == null) {
+            return
+        }
+        DynamicFinder.populateArgumentsForCriteria(persistentClass, query, resolveFetchPlan(args))
+        Object select = args.get(ARGUMENT_SELECT)
+        if(select != null) {
+            query.selectProperties(select instanceof Collection ? ((Collection) select).collect { Object name -> name.toString() } : [select.toString()])
+        }
+    }
+
+    /**
+     * Resolves the fetchPlan argument, adding the association paths of the named plan to the fetch argument so that they
+     * are loaded together with the results in a single query
+     *
+     * @param args The arguments
+     * @return The arguments with the paths of the plan to fetch
+     */
+    protected Map resolveFetchPlan(Map args) {
+        Object planName = args != null ? args.get(ARGUMENT_FETCH_PLAN) : null
+        if(planName == null) {
+            return args
+        }
+        Map<String, Object> fetch = new LinkedHashMap<String, Object>()
+        Object existing = args.get(DynamicFinder.ARGUMENT_FETCH)
+        if(existing instanceof Map) {
+            fetch.putAll((Map<String, Object>) existing)
+        }
+        for(String path in ((GraphPersistentEntity) persistentEntity).getFetchPlan(planName.toString())) {
+            fetch.put(path, 'join')
+        }
+        Map resolved = new LinkedHashMap(args)
+        resolved.remove(ARGUMENT_FETCH_PLAN)
+        resolved.put(DynamicFinder.ARGUMENT_FETCH, fetch)
+        return resolved
+    }
+
+    /**
+     * Lists a page of the instances matching the given criteria using keyset pagination. Rather than skipping the rows of
+     * the previous pages, the query only matches the rows that are ordered after the last row of the previous page, so every
+     * page costs the same to obtain. The results are ordered by the sort keys followed by the identifier.
+     *
+     * The following arguments are supported in addition to max, sort, order and fetch:
+     *
+     * <ul>
+     *     <li>after - The cursor of the previous page, obtained from {@link KeysetResultList#getNextCursor()}, or null for the first page</li>
+     *     <li>fetchPlan - The name of a fetch plan declared in the mapping of the entity, whose associations are loaded together with the instances</li>
+     *     <li>select - The names of the properties to load, the instances are partially loaded</li>
+     * </ul>
+     *
+     * @param args The arguments
+     * @param criteria The criteria or null to list all instances
+     * @return The page of instances along with the cursor of the next page
+     */
+    KeysetResultList<D> listAfter(Map args, DetachedCriteria<D> criteria) {
+        Object after = args.get(ARGUMENT_AFTER)
+        (KeysetResultList<D>) execute({ Session session ->
+            Neo4jQuery query = (Neo4jQuery) session.createQuery(persistentClass)
+            if(criteria != null) {
+                DynamicFinder.applyDetachedCriteria(query, criteria)
+            }
+            populateArguments(query, args)
+            query.after(after != null ? after.toString() : null)
+            query.list()
+        } as SessionCallback<Object>)
+    }
+
+    /**
+     * Lists a page of the instances matching the given criteria using keyset pagination
+     *
+     * @see #listAfter(java.util.Map, grails.gorm.DetachedCriteria)
+     */
+    KeysetResultList<D> listAfter(Map args, Closure criteria) {
+        listAfter(args, new DetachedCriteria<D>(persistentClass).build(criteria))
+    }
+
+    /**
+     * Lists the projections of the instances matching the given criteria as instances of the given class, such as a DTO or
+     * a record, without creating the entities. The projected values are passed to a public constructor with a parameter for
+     * each projection. If the criteria have no projections, the properties of the entity that the class declares are
+     * projected and set on the instances or, if the class was compiled with parameter names, passed to the constructor with
+     * parameters of the same names.
+     *
+     * @param type The class of the results
+     * @param args The arguments such as max, offset, sort and order
+     * @param criteria The criteria or null to list all instances
+     * @return The instances of the given class
+     * @see Neo4jQuery#projectInto(java.lang.Class)
+     */
+    <T> List<T> listInto(Class<T> type, Map args, DetachedCriteria<D> criteria) {
+        (List<T>) execute({ Session session ->
+            Neo4jQuery query = (Neo4jQuery) session.createQuery(persistentClass)
+            if(criteria != null) {
+                DynamicFinder.applyDetachedCriteria(query, criteria)
+            }
+            populateArguments(query, args)
+            query.projectInto(type)
+            query.list()
+        } as SessionCallback<Object>)
+    }
+
+    /**
+     * Lists the projections of the instances matching the given criteria as instances of the given class
+     *
+     * @see #listInto(java.lang.Class, java.util.Map, grails.gorm.DetachedCriteria)
+     */
+    <T> List<T> listInto(Class<T> type, Map args, Closure criteria) {
+        listInto(type, args, new DetachedCriteria<D>(persistentClass).build(criteria))
+    }
+
+    /**
+     * Reads an integer property of the instances matching the given criteria into an array, without creating the entities
+     * or boxing the values. Null values are skipped
+     *
+     * @param propertyName The name of the property
+     * @param args The arguments such as max, offset, sort and order
+     * @param criteria The criteria or null to read the property of all instances
+     * @return The values
+     * @see Neo4jQuery#pluckLongs(java.lang.String)
+     */
+    long[] pluckLongs(String propertyName, Map args, DetachedCriteria<D> criteria) {
+        (long[]) execute({ Session session ->
+            createPluckQuery(session, args, criteria).pluckLongs(propertyName)
+        } as SessionCallback<Object>)
+    }
+
+    /**
+     * Reads an integer property of the instances matching the given criteria into an array
+     *
+     * @see #pluckLongs(java.lang.String, java.util.Map, grails.gorm.DetachedCriteria)
+     */
+    long[] pluckLongs(String propertyName, Map args, Closure criteria) {
+        pluckLongs(propertyName, args, new DetachedCriteria<D>(persistentClass).build(criteria))
+    }
+
+    /**
+     * Reads a numeric property of the instances matching the given criteria into an array, without creating the entities
+     * or boxing the values. Null values are skipped
+     *
+     * @param propertyName The name of the property
+     * @param args The arguments such as max, offset, sort and order
+     * @param criteria The criteria or null to read the property of all instances
+     * @return The values
+     * @see Neo4jQuery#pluckDoubles(java.lang.String)
+     */
+    double[] pluckDoubles(String propertyName, Map args, DetachedCriteria<D> criteria) {
+        (double[]) execute({ Session session ->
+            createPluckQuery(session, args, criteria).pluckDoubles(propertyName)
+        } as SessionCallback<Object>)
+    }
+
+    /**
+     * Reads a numeric property of the instances matching the given criteria into an array
+     *
+     * @see #pluckDoubles(java.lang.String, java.util.Map, grails.gorm.DetachedCriteria)
+     */
+    double[] pluckDoubles(String propertyName, Map args, Closure criteria) {
+        pluckDoubles(propertyName, args, new DetachedCriteria<D>(persistentClass).build(criteria))
+    }
+
+    protected Neo4jQuery createPluckQuery(Session session, Map args, DetachedCriteria<D> criteria) {
+        Neo4jQuery query = (Neo4jQuery) session.createQuery(persistentClass)
+        if(criteria != null) {
+            DynamicFinder.applyDetachedCriteria(query, criteria)
+        }
+        populateArguments(query, args)
+        return query
+    }
+
+    /**
+     * Lists the instances matching the given criteria with the asynchronous driver. The query runs in a read transaction of
+     * its own, so it does not see the changes of the current transaction, and the instances are decoded into a session of
+     * their own which is closed once the query completes, so the instances are detached.
+     *
+     * @param args The arguments such as max, offset, sort, order and fetch
+     * @param criteria The criteria or null to list all instances
+     * @return A stage that completes with the instances
+     */
+    CompletionStage<List<D>> listAsync(Map args, DetachedCriteria<D> criteria) {
+        queryAsync { Neo4jQuery query ->
+            if(criteria != null) {
+                DynamicFinder.applyDetachedCriteria(query, criteria)
+            }
+            populateArguments(query, args)
+        }
+    }
+
+    /**
+     * Lists the instances matching the given criteria with the asynchronous driver
+     *
+     * @see #listAsync(java.util.Map, grails.gorm.DetachedCriteria)
+     */
+    CompletionStage<List<D>> listAsync(DetachedCriteria<D> criteria) {
+        listAsync(Collections.emptyMap(), criteria)
+    }
+
+    /**
+     * Lists all instances with the asynchronous driver
+     *
+     * @see #listAsync(java.util.Map, grails.gorm.DetachedCriteria)
+     */
+    CompletionStage<List<D>> listAsync(Map args = Collections.emptyMap()) {
+        listAsync(args, (DetachedCriteria<D>) null)
+    }
+
+    /**
+     * Retrieves an instance by identifier with the asynchronous driver
+     *
+     * @param id The identifier
+     * @return A stage that completes with the instance or null if it does not exist
+     * @see #listAsync(java.util.Map, grails.gorm.DetachedCriteria)
+     */
+    CompletionStage<D> getAsync(Serializable id) {
+        queryAsync { Neo4jQuery query ->
+            query.idEq(id)
+            query.max(1)
+        }.thenApply({ List<D> results ->
+            results.isEmpty() ? null : results.get(0)
+        } as Function<List<D>, D>)
+    }
+
+    /**
+     * Finds all instances for the given Cypher query with the asynchronous driver
+     *
+     * @param query The query, which must return the nodes of the entity
+     * @param params The parameters
+     * @return A stage that completes with the instances
+     * @see #listAsync(java.util.Map, grails.gorm.DetachedCriteria)
+     */
+    CompletionStage<List<D>> findAllAsync(CharSequence query, Map params = Collections.emptyMap()) {
+        Neo4jSession session = (Neo4jSession) datastore.connect()
+        try {
+            Map paramsMap = new LinkedHashMap(params)
+            String queryString
+            if(query instanceof GString) {
+                queryString = buildNamedParameterQueryFromGString((GString) query, paramsMap)
+            }
+            else {
+                queryString = query.toString()
+            }
+            includeTenantIdIfNecessary(session, queryString, paramsMap)
+            Neo4jResultList decoder = new Neo4jResultList(0, Collections.emptyIterator(), session.getEntityPersister(persistentEntity))
+            return AsyncQueryRunner.list(session.boltDriver, queryString, (Map<String, Object>) paramsMap,
+                    { Record record -> (D) decoder.decode(record) } as Function<Record, D>,
+                    { session.disconnect() } as Runnable)
+        } catch (Throwable e) {
+            session.disconnect()
+            throw e
+        }
+    }
+
+    /**
+     * Executes a query with the asynchronous driver, decoding the results into a new session
+     *
+     * @param criteria Applies the criteria to the query
+     * @return A stage that completes with the results
+     */
+    protected CompletionStage<List<D>> queryAsync(Closure criteria) {
+        Neo4jSession session = (Neo4jSession) datastore.connect()
+        try {
+            Neo4jQuery query = new Neo4jQuery(session, persistentEntity, session.getEntityPersister(persistentClass), false)
+            criteria.call(query)
+            return (CompletionStage<List<D>>) query.listAsync({ session.disconnect() } as Runnable)
+        } catch (Throwable e) {
+            session.disconnect()
+            throw e
+        }
+    }
+
+    /**
+     * Imports the given domain instances or maps of properties. The source is consumed in chunks, each chunk is persisted
+     * using the batch create statements and then the imported instances are evicted from the session so that memory usage
+     * remains constant. Other instances of the session are kept.
+     *
+     * The following arguments are supported:
+     *
+     * <ul>
+     *     <li>batchSize - The number of instances in each chunk. Defaults to {@link Neo4jSession#DEFAULT_BATCH_SIZE}</li>
+     *     <li>commit - Whether each chunk is committed in a new transaction. Defaults to true. If false the chunks are flushed within the current transaction</li>
+     *     <li>validate - Whether to validate each instance, invalid instances are skipped. Defaults to false</li>
+     *     <li>progress - A closure that is called with the {@link ImportProgress} after each chunk</li>
+     * </ul>
+     *
+     * @param args The arguments
+     * @param source The domain instances or maps to import
+     * @return The progress once the import has completed
+     */
+    ImportProgress importAll(Map args, Iterator source) {
+        int batchSize = args.batchSize != null ? Integer.valueOf(args.batchSize.toString()) : Neo4jSession.DEFAULT_BATCH_SIZE
+        if(batchSize < 1) {
+            throw new IllegalArgumentException("Argument [batchSize] must be greater than zero")
+        }
+        boolean commit = args.commit != null ? Boolean.valueOf(args.commit.toString()) : true
+        boolean validate = args.validate != null ? Boolean.valueOf(args.validate.toString()) : false
+        Closure progressListener = (Closure) args.progress
+
+        ImportProgress progress = new ImportProgress()
+        while(source.hasNext()) {
+            List<Object> chunk = new ArrayList<>(batchSize)
+            while(source.hasNext() && chunk.size() < batchSize) {
+                chunk.add(source.next())
+            }
+
+            SessionCallback<Object> chunkCallback = { Session session ->
+                importChunk((Neo4jSession) session, chunk, validate, progress)
+            } as SessionCallback<Object>
+            if(commit) {
+                withNewTransaction {
+                    execute(chunkCallback)
+                }
+            }
+            else {
+                execute(chunkCallback)
+            }
+
+            progress.chunks++
+            if(log.isDebugEnabled()) {
+                log.debug("Bulk import of [${persistentClass.name}]: ${progress}")
+            }
+            if(progressListener != null) {
+                progressListener.call(progress)
+            }
+        }
+        return progress
+    }
+
+    /**
+     * Imports the given domain instances or maps of properties
+     *
+     * @see #importAll(java.util.Map, java.util.Iterator)
+     */
+    ImportProgress importAll(Map args, Iterable source) {
+        importAll(args, source.iterator())
+    }
+
+    /**
+     * Imports the given domain instances or maps of properties
+     *
+     * @see #importAll(java.util.Map, java.util.Iterator)
+     */
+    ImportProgress importAll(Map args, Stream source) {
+        try {
+            return importAll(args, source.iterator())
+        } finally {
+            source.close()
+        }
+    }
+
+    protected void importChunk(Neo4jSession session, List<Object> chunk, boolean validate, ImportProgress progress) {
+        List<Object> instances = new ArrayList<>(chunk.size())
+        for(Object item in chunk) {
+            Object instance = item instanceof Map ? InvokerHelper.invokeConstructorOf(persistentClass, [item] as Object[]) : item
+            if(validate && instance instanceof GormValidateable && !((GormValidateable) instance).validate()) {
+                progress.skipped++
+                continue
+            }
+            instances.add(instance)
+        }
+        if(!instances.isEmpty()) {
+            session.persist((Iterable) instances)
+            session.flush()
+            progress.imported += instances.size()
+        }
+        for(Object instance in instances) {
+            evictImported(session, instance)
+        }
+    }
+
+    /**
+     * Evicts an imported instance from the session, along with the instances of the associations it owns that were
+     * persisted with it
+     */
+    protected void evictImported(Neo4jSession session, Object instance) {
+        session.clear(instance)
+        PersistentEntity entity = session.mappingContext.getPersistentEntity(instance.getClass().name)
+        if(entity == null) {
+            return
+        }
+        EntityAccess entityAccess = session.createEntityAccess(entity, instance)
+        for(Association association in entity.associations) {
+            if(!association.isOwningSide() || !association.doesCascade(CascadeType.PERSIST)) continue
+            Object value = entityAccess.getProperty(association.name)
+            if(value instanceof Iterable) {
+                for(Object associated in (Iterable) value) {
+                    if(associated != null) {
+                        session.clear(associated)
+                    }
+                }
+            }
+            else if(value != null) {
+                session.clear(value)
+            }
+        }
+    }
+
     /**
      * Processes a query converting GString expressions into parameters
      *
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2015 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.datastore.gorm.neo4j.api
+
+import grails.gorm.DetachedCriteria
+import groovy.transform.CompileStatic
+import org.grails.datastore.gorm.GormEnhancer
+import org.grails.datastore.gorm.GormInstanceApi
+import org.grails.datastore.gorm.finders.DynamicFinder
+import org.grails.datastore.gorm.neo4j.Neo4jDatastore
+import org.grails.datastore.gorm.neo4j.Neo4jSession
+import org.grails.datastore.gorm.neo4j.engine.CallablePublisher
+import org.grails.datastore.gorm.neo4j.engine.Neo4jQuery
+import org.reactivestreams.Publisher
+import org.reactivestreams.Subscriber
+import org.reactivestreams.Subscription
+
+import java.util.concurrent.Callable
+
+/**
+ * A reactive counterpart of the static API, returning {@link Publisher} instances.
+ *
+ * Queries are executed with the reactive driver. The records are streamed from the server as they are requested and each
+ * instance is decoded as it is received, without blocking any thread. Each subscription decodes the instances into a
+ * session of its own which is closed once the query completes, so the published instances are detached and any associations
+ * that are needed should be fetched eagerly. The reactive driver requires Neo4j 4.0 or above.
+ *
+ * The persistence operations of GORM depend on the results of previous statements, such as generated identifiers and
+ * optimistic locking checks, so save and delete run the regular persistence operations in a new session and transaction on
+ * the persistence executor of the datastore rather than on the thread of the subscriber.
+ *
+ * @param <D> The entity type
+ * @since 8.2.0
+ */
+@CompileStatic
+class Neo4jReactiveApi<D> {
+
+    final Neo4jGormStaticApi<D> staticApi
+
+    Neo4jReactiveApi(Neo4jGormStaticApi<D> staticApi) {
+        this.staticApi = staticApi
+    }
+
+    /**
+     * Lists the instances matching the given criteria
+     *
+     * @param args The arguments such as max, offset, sort, order and fetch
+     * @param criteria The criteria or null to list all instances
+     * @return A publisher of the instances
+     */
+    Publisher<D> list(Map args, DetachedCriteria<D> criteria) {
+        query({ Neo4jQuery query ->
+            if(criteria != null) {
+                DynamicFinder.applyDetachedCriteria(query, criteria)
+            }
+            DynamicFinder.populateArgumentsForCriteria(staticApi.persistentClass, query, args)
+        })
+    }
+
+    /**
+     * Lists the instances matching the given criteria
+     *
+     * @param criteria The criteria
+     * @return A publisher of the instances
+     */
+    Publisher<D> list(DetachedCriteria<D> criteria) {
+        list(Collections.emptyMap(), criteria)
+    }
+
+    /**
+     * Lists all instances
+     *
+     * @param args The arguments such as max, offset, sort, order and fetch
+     * @return A publisher of the instances
+     */
+    Publisher<D> list(Map args = Collections.emptyMap()) {
+        list(args, (DetachedCriteria<D>) null)
+    }
+
+    /**
+     * Retrieves an instance by identifier
+     *
+     * @param id The identifier
+     * @return A publisher of the instance, which completes without a value if there is no such instance
+     */
+    Publisher<D> get(Serializable id) {
+        query({ Neo4jQuery query ->
+            query.idEq(id)
+            query.max(1)
+        })
+    }
+
+    /**
+     * Counts the instances matching the given criteria
+     *
+     * @param criteria The criteria or null to count all instances
+     * @return A publisher of the count
+     */
+    Publisher<Number> count(DetachedCriteria<D> criteria = null) {
+        (Publisher<Number>) query({ Neo4jQuery query ->
+            if(criteria != null) {
+                DynamicFinder.applyDetachedCriteria(query, criteria)
+            }
+            query.projections().count()
+        })
+    }
+
+    /**
+     * Saves an instance in a new transaction, flushing the session
+     *
+     * @param instance The instance
+     * @param args The arguments of save. Validation errors are published as a {@link grails.validation.ValidationException} unless failOnError is false, in which case the publisher completes without a value
+     * @return A publisher of the saved instance
+     */
+    Publisher<D> save(D instance, Map args = Collections.emptyMap()) {
+        Map saveArgs = new LinkedHashMap(args)
+        saveArgs.put('flush', true)
+        if(!saveArgs.containsKey('failOnError')) {
+            saveArgs.put('failOnError', true)
+        }
+        persist({
+            instanceApi.save(instance, saveArgs)
+        } as Callable<D>)
+    }
+
+    /**
+     * Deletes an instance in a new transaction, flushing the session
+     *
+     * @param instance The instance
+     * @return A publisher that completes once the instance has been deleted
+     */
+    Publisher<Void> delete(D instance) {
+        persist({
+            instanceApi.delete(instance, Collections.singletonMap('flush', true))
+            return null
+        } as Callable<Void>)
+    }
+
+    protected GormInstanceApi<D> getInstanceApi() {
+        (GormInstanceApi<D>) GormEnhancer.findInstanceApi(staticApi.persistentClass)
+    }
+
+    protected <T> Publisher<T> persist(Callable<T> operation) {
+        Neo4jDatastore datastore = (Neo4jDatastore) staticApi.datastore
+        new CallablePublisher<T>(datastore.persistenceExecutor, {
+            (T) staticApi.withNewTransaction {
+                operation.call()
+            }
+        } as Callable<T>)
+    }
+
+    /**
+     * Creates a publisher that executes a query in a new session for each subscription
+     *
+     * @param criteria Applies the criteria to the query
+     * @return The publisher
+     */
+    protected Publisher<D> query(Closure criteria) {
+        return { Subscriber<? super D> subscriber ->
+            Neo4jSession session = (Neo4jSession) staticApi.datastore.connect()
+            Publisher<Object> publisher
+            try {
+                Neo4jQuery query = new Neo4jQuery(session, staticApi.gormPersistentEntity, session.getEntityPersister(staticApi.persistentClass), false)
+                criteria.call(query)
+                publisher = query.publish({ session.disconnect() } as Runnable)
+            } catch (Throwable e) {
+                session.disconnect()
+                subscriber.onSubscribe([request: { long n -> }, cancel: { -> }] as Subscription)
+                subscriber.onError(e)
+                return
+            }
+            ((Publisher<D>) publisher).subscribe(subscriber)
+        } as Publisher<D>
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2015 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.datastore.gorm.neo4j.collection
+
+import groovy.transform.CompileStatic
+import groovy.transform.PackageScope
+
+/**
+ * Wraps the iterator of an association collection so that the entities removed, replaced or added through the iterator
+ * are tracked by the {@link GraphAdapter} of the collection, like those changed through the methods of the collection
+ *
+ * @since 8.2.0
+ */
+@CompileStatic
+@PackageScope
+class DeltaTrackingIterator implements ListIterator<Object> {
+
+    private final Iterator<Object> iterator
+    private final GraphAdapter graphAdapter
+    private Object last
+
+    DeltaTrackingIterator(Iterator<Object> iterator, GraphAdapter graphAdapter) {
+        this.iterator = iterator
+        this.graphAdapter = graphAdapter
+    }
+
+    @Override
+    boolean hasNext() {
+        return iterator.hasNext()
+    }
+
+    @Override
+    Object next() {
+        last = iterator.next()
+        return last
+    }
+
+    @Override
+    boolean hasPrevious() {
+        return listIterator().hasPrevious()
+    }
+
+    @Override
+    Object previous() {
+        last = listIterator().previous()
+        return last
+    }
+
+    @Override
+    int nextIndex() {
+        return listIterator().nextIndex()
+    }
+
+    @Override
+    int previousIndex() {
+        return listIterator().previousIndex()
+    }
+
+    @Override
+    void remove() {
+        iterator.remove()
+        graphAdapter.adaptGraphUponRemove(last)
+    }
+
+    @Override
+    void set(Object o) {
+        listIterator().set(o)
+        if (!o.is(last)) {
+            graphAdapter.adaptGraphUponRemove(last)
+            graphAdapter.adaptGraphUponAdd(o)
+        }
+        last = o
+    }
+
+    @Override
+    void add(Object o) {
+        listIterator().add(o)
+        graphAdapter.adaptGraphUponAdd(o)
+    }
+
+    private ListIterator<Object> listIterator() {
+        return (ListIterator<Object>) iterator
+    }
+}
@@ -30,14 +30,15 @@ import org.grails.datastore.mapping.reflect.EntityReflector
 
 
 /**
- * Helps to Adapt a collection to the Neo4j graph
+ * Helps to Adapt a collection to the Neo4j graph. Tracks the entities added to and removed from the collection so that
+ * only the changed relationships are written when the owner is flushed
  *
  * @author Graeme Rocher
  * @since 3.0
  */
 @CompileStatic
 @PackageScope
-class GraphAdapter {
+class GraphAdapter implements RelationshipDelta {
 
     final EntityAccess parentAccess
     final Neo4jSession session
@@ -46,6 +47,10 @@ class GraphAdapter {
     final String relType
     final Class childType
 
+    private final List<Object> addedEntities = []
+    private final Set<Serializable> removedIdentifiers = new LinkedHashSet<>()
+    private boolean deltaTracked = true
+
     GraphAdapter(Neo4jSession session, EntityAccess parentAccess, Association association) {
         this.association = association
         this.session = session
@@ -55,6 +60,33 @@ class GraphAdapter {
         childType = association.associatedEntity.javaClass
     }
 
+    @Override
+    boolean isDeltaTracked() {
+        return deltaTracked
+    }
+
+    @Override
+    Collection<Object> getAddedEntities() {
+        return Collections.unmodifiableList(addedEntities)
+    }
+
+    @Override
+    Collection<Serializable> getRemovedIdentifiers() {
+        return Collections.unmodifiableSet(removedIdentifiers)
+    }
+
+    @Override
+    void untrackDelta() {
+        deltaTracked = false
+    }
+
+    @Override
+    void resetDelta() {
+        addedEntities.clear()
+        removedIdentifiers.clear()
+        deltaTracked = true
+    }
+
     void adaptGraphUponRemove(Object o, boolean currentlyInitializing = false) {
         if(currentlyInitializing) return
 
@@ -69,11 +101,20 @@ class GraphAdapter {
         else {
             id = (Serializable) childAccess.getIdentifier(o)
         }
+        boolean wasAdded = removeAddedEntity(o, id)
         if(association.isOrphanRemoval()) {
             session.delete(o)
         }
         else if (!reversed && id != null) {
-            session.addPendingRelationshipDelete((Serializable)parentAccess.getIdentifier(), association, id)
+            Serializable parentId = (Serializable)parentAccess.getIdentifier()
+            if (wasAdded) {
+                // the relationship has not been written yet, so there is nothing to delete
+                session.cancelPendingRelationshipInsert(parentId, association, id)
+            }
+            else {
+                removedIdentifiers.add(id)
+                session.addPendingRelationshipDelete(parentId, association, id)
+            }
         }
 
     }
@@ -94,8 +135,11 @@ class GraphAdapter {
         else {
 
             if (proxyFactory.isProxy(t)) {
-                if ( !proxyFactory.isInitialized(t) ) return
-                if ( !childType.isInstance(t) ) return
+                if ( !proxyFactory.isInitialized(t) || !childType.isInstance(t) ) {
+                    // the relationship is written from the tracked additions when the owner is flushed
+                    trackAddition(t, proxyFactory.getIdentifier(t))
+                    return
+                }
             }
             EntityReflector target = session.mappingContext.getEntityReflector(association.getAssociatedEntity())
 
@@ -114,10 +158,51 @@ class GraphAdapter {
                 identifier = session.persist(t);
             }
 
-            if (!reversed && identifier != null) { // prevent duplicated rels
+            if (trackAddition(t, (Serializable)identifier) && identifier != null) { // prevent duplicated rels
                 session.addPendingRelationshipInsert((Serializable)parentAccess.getIdentifier(), association, identifier)
             }
         }
 
     }
+
+    /**
+     * Tracks an added entity, cancelling any pending removal of the same entity. The additions to a reversed association
+     * are tracked too, the relationship is written from the inverse side that is populated from them
+     *
+     * @return True if a relationship needs to be created for the entity
+     */
+    private boolean trackAddition(Object o, Serializable id) {
+        if (reversed) {
+            addedEntities.add(o)
+            return false
+        }
+
+        if (id != null && removedIdentifiers.remove(id)) {
+            // the entity was removed and added back again, so the existing relationship is kept
+            session.cancelPendingRelationshipDelete((Serializable)parentAccess.getIdentifier(), association, id)
+            return false
+        }
+        addedEntities.add(o)
+        return true
+    }
+
+    private boolean removeAddedEntity(Object o, Serializable id) {
+        Iterator<Object> i = addedEntities.iterator()
+        while(i.hasNext()) {
+            Object added = i.next()
+            if (added.is(o) || (id != null && id == identifierOf(added))) {
+                i.remove()
+                return true
+            }
+        }
+        return false
+    }
+
+    private Serializable identifierOf(Object o) {
+        def proxyFactory = session.getMappingContext().getProxyFactory()
+        if (proxyFactory.isProxy(o)) {
+            return proxyFactory.getIdentifier(o)
+        }
+        return (Serializable)session.mappingContext.getEntityReflector(association.getAssociatedEntity()).getIdentifier(o)
+    }
 }
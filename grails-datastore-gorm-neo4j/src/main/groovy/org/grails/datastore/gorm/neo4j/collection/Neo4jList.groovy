@@ -22,6 +22,8 @@ import org.grails.datastore.mapping.dirty.checking.DirtyCheckingList
 import org.grails.datastore.mapping.engine.EntityAccess
 import org.grails.datastore.mapping.model.types.Association
 
+import java.util.function.Predicate
+import java.util.function.UnaryOperator
 
 /**
  *
@@ -96,7 +98,86 @@ class Neo4jList extends DirtyCheckingList {
     }
 
     boolean retainAll(Collection c) {
-        return super.retainAll(c)
+        def retained = super.retainAll(c)
+        if(retained) {
+            untrackDelta()
+        }
+        return retained
+    }
+
+    @Override
+    void add(int index, Object o) {
+        super.add(index, o)
+        adaptGraphUponAdd(o)
+    }
+
+    @Override
+    boolean addAll(int index, Collection c) {
+        def added = super.addAll(index, c)
+        if(added) {
+            for(o in c) {
+                adaptGraphUponAdd(o)
+            }
+        }
+        return added
+    }
+
+    @Override
+    Object set(int index, Object o) {
+        def previous = super.set(index, o)
+        if(!previous.is(o)) {
+            adaptGraphUponRemove(previous)
+            adaptGraphUponAdd(o)
+        }
+        return previous
+    }
+
+    @Override
+    Object remove(int index) {
+        def removed = super.remove(index)
+        adaptGraphUponRemove(removed)
+        return removed
+    }
+
+    @Override
+    Iterator iterator() {
+        return new DeltaTrackingIterator(super.iterator(), graphAdapter)
+    }
+
+    @Override
+    ListIterator listIterator() {
+        return new DeltaTrackingIterator(super.listIterator(), graphAdapter)
+    }
+
+    @Override
+    ListIterator listIterator(int index) {
+        return new DeltaTrackingIterator(super.listIterator(index), graphAdapter)
+    }
+
+    @Override
+    boolean removeIf(Predicate filter) {
+        boolean removed = false
+        for(Iterator i = iterator(); i.hasNext();) {
+            if(filter.test(i.next())) {
+                i.remove()
+                removed = true
+            }
+        }
+        return removed
+    }
+
+    @Override
+    void replaceAll(UnaryOperator operator) {
+        for(ListIterator i = listIterator(); i.hasNext();) {
+            i.set(operator.apply(i.next()))
+        }
+    }
+
+    @Override
+    List subList(int fromIndex, int toIndex) {
+        // changes made through the view cannot be tracked
+        untrackDelta()
+        return super.subList(fromIndex, toIndex)
     }
 
     @Override
@@ -24,6 +24,10 @@ import org.grails.datastore.mapping.dirty.checking.DirtyCheckable
 import org.grails.datastore.mapping.engine.EntityAccess
 import org.grails.datastore.mapping.model.types.Association
 import org.grails.datastore.mapping.model.types.ToMany
+
+import java.util.function.Predicate
+import java.util.function.UnaryOperator
+
 /**
  * Neo4j version of the {@link PersistentList} class
  *
@@ -97,7 +101,94 @@ class Neo4jPersistentList extends PersistentList {
 
     @Override
     boolean retainAll(Collection c) {
-        return super.retainAll(c)
+        def retained = super.retainAll(c)
+        if(retained) {
+            untrackDelta()
+        }
+        return retained
+    }
+
+    @Override
+    void clear() {
+        if(!currentlyInitializing()) {
+            untrackDelta()
+        }
+        super.clear()
+    }
+
+    @Override
+    void add(int index, Object o) {
+        super.add(index, o)
+        adaptGraphUponAdd(o, currentlyInitializing())
+    }
+
+    @Override
+    boolean addAll(int index, Collection c) {
+        def added = super.addAll(index, c)
+        if(added) {
+            for(o in c) {
+                adaptGraphUponAdd(o, currentlyInitializing())
+            }
+        }
+        return added
+    }
+
+    @Override
+    Object set(int index, Object o) {
+        def previous = super.set(index, o)
+        if(!previous.is(o)) {
+            adaptGraphUponRemove(previous, currentlyInitializing())
+            adaptGraphUponAdd(o, currentlyInitializing())
+        }
+        return previous
+    }
+
+    @Override
+    Object remove(int index) {
+        def removed = super.remove(index)
+        adaptGraphUponRemove(removed, currentlyInitializing())
+        return removed
+    }
+
+    @Override
+    Iterator iterator() {
+        return new DeltaTrackingIterator(super.iterator(), graphAdapter)
+    }
+
+    @Override
+    ListIterator listIterator() {
+        return new DeltaTrackingIterator(super.listIterator(), graphAdapter)
+    }
+
+    @Override
+    ListIterator listIterator(int index) {
+        return new DeltaTrackingIterator(super.listIterator(index), graphAdapter)
+    }
+
+    @Override
+    boolean removeIf(Predicate filter) {
+        boolean removed = false
+        for(Iterator i = iterator(); i.hasNext();) {
+            if(filter.test(i.next())) {
+                i.remove()
+                removed = true
+            }
+        }
+        return removed
+    }
+
+    @Override
+    void replaceAll(UnaryOperator operator) {
+        for(ListIterator i = listIterator(); i.hasNext();) {
+            i.set(operator.apply(i.next()))
+        }
+    }
+
+    @Override
+    List subList(int fromIndex, int toIndex) {
+        // changes made through the view cannot be tracked
+        untrackDelta()
+        return super.subList(fromIndex, toIndex)
     }
 
     @Override
@@ -24,6 +24,9 @@ import org.grails.datastore.mapping.dirty.checking.DirtyCheckable
 import org.grails.datastore.mapping.engine.EntityAccess
 import org.grails.datastore.mapping.model.types.Association
 import org.grails.datastore.mapping.model.types.ToMany
+
+import java.util.function.Predicate
+
 /**
  * Neo4j version of the {@link PersistentSet} class
  *
@@ -96,7 +99,57 @@ class Neo4jPersistentSortedSet extends PersistentSortedSet {
 
     @Override
     boolean retainAll(Collection c) {
-        return super.retainAll(c)
+        def retained = super.retainAll(c)
+        if(retained) {
+            untrackDelta()
+        }
+        return retained
+    }
+
+    @Override
+    void clear() {
+        if(!currentlyInitializing()) {
+            untrackDelta()
+        }
+        super.clear()
+    }
+
+    @Override
+    Iterator iterator() {
+        return new DeltaTrackingIterator(super.iterator(), graphAdapter)
+    }
+
+    @Override
+    boolean removeIf(Predicate filter) {
+        boolean removed = false
+        for(Iterator i = iterator(); i.hasNext();) {
+            if(filter.test(i.next())) {
+                i.remove()
+                removed = true
+            }
+        }
+        return removed
+    }
+
+    @Override
+    SortedSet subSet(Object fromElement, Object toElement) {
+        // changes made through the view cannot be tracked
+        untrackDelta()
+        return super.subSet(fromElement, toElement)
+    }
+
+    @Override
+    SortedSet headSet(Object toElement) {
+        // changes made through the view cannot be tracked
+        untrackDelta()
+        return super.headSet(toElement)
+    }
+
+    @Override
+    SortedSet tailSet(Object fromElement) {
+        // changes made through the view cannot be tracked
+        untrackDelta()
+        return super.tailSet(fromElement)
     }
 
     @Override
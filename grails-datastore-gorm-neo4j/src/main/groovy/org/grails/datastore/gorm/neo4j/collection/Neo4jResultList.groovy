@@ -19,6 +19,7 @@ import groovy.transform.CompileStatic
 import org.grails.datastore.gorm.neo4j.CypherBuilder
 import org.grails.datastore.gorm.neo4j.RelationshipPersistentEntity
 import org.grails.datastore.gorm.neo4j.engine.Neo4jEntityPersister
+import org.grails.datastore.gorm.neo4j.engine.PartialNode
 import org.grails.datastore.gorm.query.AbstractResultList
 import org.grails.datastore.mapping.engine.EntityPersister
 import org.grails.datastore.mapping.model.PersistentEntity
@@ -91,15 +92,26 @@ class Neo4jResultList extends AbstractResultList {
 
     @Override
     protected Object nextDecoded() {
-        return nextDecodedInternal()
+        return decode(cursor.next())
     }
 
-    private Object nextDecodedInternal() {
-        def next = cursor.next()
+    /**
+     * Decodes an entity from a node, relationship, map projection or record of the result
+     *
+     * @param next The node, relationship, map projection or record
+     * @return The entity
+     */
+    Object decode(Object next) {
         if (next instanceof Node) {
             Node node = (Node) next
             return entityPersister.unmarshallOrFromCache(entityPersister.getPersistentEntity(), node, EMPTY_RESULT_DATA, initializedAssociations, lockMode)
         }
+        else if (next instanceof Map) {
+            // the map projection of a fetch plan, holding the node along with its nested associations
+            Map<String, Object> resultData = (Map<String, Object>) next
+            Node node = (Node) resultData.get(CypherBuilder.NODE_DATA)
+            return entityPersister.unmarshallOrFromCache(entityPersister.getPersistentEntity(), node, resultData, initializedAssociations, lockMode)
+        }
         else if(next instanceof Relationship) {
             PersistentEntity persistentEntity = entityPersister.getPersistentEntity()
             if(persistentEntity instanceof RelationshipPersistentEntity) {
@@ -113,7 +125,9 @@ class Neo4jResultList extends AbstractResultList {
         else {
             Record record = (Record) next
             if (record.containsKey(CypherBuilder.NODE_DATA)) {
-                Node data = (Node) record.get(CypherBuilder.NODE_DATA).asNode()
+                Value value = record.get(CypherBuilder.NODE_DATA)
+                // only some of the properties are selected when the data is a map projection
+                Node data = value.type() == entityPersister.getSession().boltDriver.defaultTypeSystem().MAP() ? PartialNode.from(value) : value.asNode()
                 return entityPersister.unmarshallOrFromCache(entityPersister.getPersistentEntity(), data, record.asMap(), initializedAssociations, lockMode)
             }
             else if(record.containsKey(CypherBuilder.REL_DATA)) {
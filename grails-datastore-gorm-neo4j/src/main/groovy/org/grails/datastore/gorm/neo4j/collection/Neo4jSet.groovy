@@ -21,6 +21,9 @@ import org.grails.datastore.mapping.dirty.checking.DirtyCheckable
 import org.grails.datastore.mapping.dirty.checking.DirtyCheckingSet
 import org.grails.datastore.mapping.engine.EntityAccess
 import org.grails.datastore.mapping.model.types.Association
+
+import java.util.function.Predicate
+
 /**
  * A {@link DirtyCheckingSet} for Neo4j
  *
@@ -41,6 +44,12 @@ class Neo4jSet extends DirtyCheckingSet {
         this.graphAdapter = new GraphAdapter(session, parentAccess, association)
     }
 
+    @Override
+    void clear() {
+        untrackDelta()
+        super.clear()
+    }
+
     @Override
     boolean add(Object o) {
 
@@ -86,7 +95,28 @@ class Neo4jSet extends DirtyCheckingSet {
 
     @Override
     boolean retainAll(Collection c) {
-        return super.retainAll(c)
+        def retained = super.retainAll(c)
+        if(retained) {
+            untrackDelta()
+        }
+        return retained
+    }
+
+    @Override
+    Iterator iterator() {
+        return new DeltaTrackingIterator(super.iterator(), graphAdapter)
+    }
+
+    @Override
+    boolean removeIf(Predicate filter) {
+        boolean removed = false
+        for(Iterator i = iterator(); i.hasNext();) {
+            if(filter.test(i.next())) {
+                i.remove()
+                removed = true
+            }
+        }
+        return removed
     }
 
     @Override
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2015 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.datastore.gorm.neo4j.collection
+
+import groovy.transform.CompileStatic
+
+/**
+ * Implemented by association collections that track the entities added to and removed from them since they were last
+ * flushed, so that only the changed relationships need to be written
+ *
+ * @since 8.2.0
+ */
+@CompileStatic
+interface RelationshipDelta {
+
+    /**
+     * @return Whether every change to the collection since the last flush has been tracked. If false the whole collection should be written
+     */
+    boolean isDeltaTracked()
+
+    /**
+     * @return The entities added to the collection since the last flush
+     */
+    Collection<Object> getAddedEntities()
+
+    /**
+     * @return The identifiers of the entities removed from the collection since the last flush
+     */
+    Collection<Serializable> getRemovedIdentifiers()
+
+    /**
+     * Marks the collection as changed in a way that could not be tracked
+     */
+    void untrackDelta()
+
+    /**
+     * Clears the tracked changes once they have been written
+     */
+    void resetDelta()
+}
@@ -51,6 +51,31 @@ public interface Settings extends org.grails.datastore.mapping.config.Settings {
      */
     String SETTING_NEO4J_FLUSH_MODE = PREFIX + ".flush.mode";
 
+    /**
+     * The number of pending node and relationship operations that can be buffered by a session before it is flushed
+     */
+    String SETTING_NEO4J_BATCH_SIZE = PREFIX + ".batch.size";
+
+    /**
+     * Whether to flush the session automatically once the batch size is exceeded, instead of failing
+     */
+    String SETTING_NEO4J_BATCH_AUTO_FLUSH = PREFIX + ".batch.autoFlush";
+
+    /**
+     * The number of nodes deleted or updated per transaction by deleteAll and updateAll. A value of 0 or less executes them as a single statement
+     */
+    String SETTING_NEO4J_BATCH_BULK_CHUNK_SIZE = PREFIX + ".batch.bulkChunkSize";
+
+    /**
+     * Whether write transactions pipeline the statements of a flush that do not need to wait for a result
+     */
+    String SETTING_NEO4J_BATCH_PIPELINED = PREFIX + ".batch.pipelined";
+
+    /**
+     * The maximum number of threads that run the blocking persistence operations of the reactive API
+     */
+    String SETTING_NEO4J_REACTIVE_PERSISTENCE_THREADS = PREFIX + ".reactive.persistenceThreads";
+
     /**
      * The username
      */
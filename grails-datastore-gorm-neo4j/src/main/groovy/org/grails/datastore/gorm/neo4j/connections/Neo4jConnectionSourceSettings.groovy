@@ -58,6 +58,16 @@ class Neo4jConnectionSourceSettings extends ConnectionSourceSettings implements
      */
     EmbeddedSettings embedded = new EmbeddedSettings()
 
+    /**
+     * Settings for buffering pending operations within a session
+     */
+    BatchSettings batch = new BatchSettings()
+
+    /**
+     * Settings for the reactive API
+     */
+    ReactiveSettings reactive = new ReactiveSettings()
+
     @AutoClone
     @Builder(builderStrategy = SimpleStrategy, prefix = '')
     static class EmbeddedSettings {
@@ -80,6 +90,39 @@ class Neo4jConnectionSourceSettings extends ConnectionSourceSettings implements
         boolean ephemeral = false
     }
 
+    @AutoClone
+    @Builder(builderStrategy = SimpleStrategy, prefix = '')
+    static class BatchSettings {
+        /**
+         * The number of pending node and relationship operations a session buffers before it is flushed. A value of 0 or less disables the limit
+         */
+        int size = 5000
+
+        /**
+         * Whether to flush the session automatically once the size is exceeded. If false an exception is thrown instead
+         */
+        boolean autoFlush = true
+
+        /**
+         * The number of nodes deleted or updated per transaction by deleteAll and updateAll when they are called without a current transaction. A value of 0 or less executes them as a single statement
+         */
+        int bulkChunkSize = 0
+
+        /**
+         * Whether write transactions pipeline the statements of a flush that do not need to wait for a result, using an async session
+         */
+        boolean pipelined = false
+    }
+
+    @AutoClone
+    @Builder(builderStrategy = SimpleStrategy, prefix = '')
+    static class ReactiveSettings {
+        /**
+         * The maximum number of threads that run the blocking persistence operations of the reactive API. Further operations are queued until a thread is available
+         */
+        int persistenceThreads = 10
+    }
+
     static enum ConnectionType {
         remote, embedded
     }
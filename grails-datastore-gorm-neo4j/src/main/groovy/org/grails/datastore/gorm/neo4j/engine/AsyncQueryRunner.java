@@ -0,0 +1,85 @@
+/*
+ * Copyright 2015 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.datastore.gorm.neo4j.engine;
+
+import org.neo4j.driver.AccessMode;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.async.AsyncSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+/**
+ * Runs read queries with the asynchronous driver, each in a read transaction of a {@link AsyncSession} of its own that is
+ * closed once the records have been decoded
+ *
+ * @since 8.2.0
+ */
+public class AsyncQueryRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncQueryRunner.class);
+
+    /**
+     * Runs a query and decodes all of its records
+     *
+     * @param boltDriver The driver
+     * @param cypher The query
+     * @param params The parameters
+     * @param decoder Decodes each record. Records are decoded one at a time, but not necessarily on the same thread
+     * @param onComplete Called once the query has completed or failed, before the returned stage completes
+     * @param <T> The type of the decoded records
+     * @return A stage that completes with the decoded records
+     */
+    public static <T> CompletionStage<List<T>> list(Driver boltDriver, String cypher, Map<String, Object> params, Function<Record, T> decoder, Runnable onComplete) {
+        if (log.isDebugEnabled()) {
+            log.debug("QUERY Cypher [{}] for parameters [{}]", cypher, params);
+        }
+        final AsyncSession session;
+        try {
+            session = boltDriver.asyncSession(SessionConfig.builder().withDefaultAccessMode(AccessMode.READ).build());
+        } catch (RuntimeException e) {
+            onComplete.run();
+            final CompletableFuture<List<T>> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+        final CompletableFuture<List<T>> result = new CompletableFuture<>();
+        session.readTransactionAsync(tx -> tx.runAsync(cypher, params).thenCompose(cursor -> cursor.listAsync(decoder)))
+               .whenComplete((records, error) -> session.closeAsync().whenComplete((ignored, closeError) -> {
+                   if (closeError != null) {
+                       log.warn("Error closing async session: " + closeError.getMessage(), closeError);
+                   }
+                   try {
+                       onComplete.run();
+                   } finally {
+                       if (error != null) {
+                           result.completeExceptionally(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+                       } else {
+                           result.complete(records);
+                       }
+                   }
+               }));
+        return result;
+    }
+}
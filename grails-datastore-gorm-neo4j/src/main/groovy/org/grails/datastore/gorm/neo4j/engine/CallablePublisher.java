@@ -0,0 +1,87 @@
+/*
+ * Copyright 2015 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.datastore.gorm.neo4j.engine;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A {@link Publisher} of at most one value that runs a blocking operation on an {@link Executor} once the value is
+ * requested, so that neither the thread of the subscriber nor the threads of the driver are blocked. A null value
+ * completes the subscriber without emitting a value.
+ *
+ * @param <T> The type of the value
+ * @since 8.2.0
+ */
+public class CallablePublisher<T> implements Publisher<T> {
+
+    private final Executor executor;
+    private final Callable<T> operation;
+
+    public CallablePublisher(Executor executor, Callable<T> operation) {
+        this.executor = executor;
+        this.operation = operation;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        final AtomicBoolean requested = new AtomicBoolean(false);
+        final AtomicBoolean cancelled = new AtomicBoolean(false);
+        subscriber.onSubscribe(new Subscription() {
+            @Override
+            public void request(long n) {
+                if (n <= 0) {
+                    if (cancelled.compareAndSet(false, true)) {
+                        subscriber.onError(new IllegalArgumentException("Requested a non-positive number of values: " + n));
+                    }
+                    return;
+                }
+                if (requested.compareAndSet(false, true)) {
+                    executor.execute(() -> {
+                        if (cancelled.get()) {
+                            return;
+                        }
+                        final T value;
+                        try {
+                            value = operation.call();
+                        } catch (Throwable e) {
+                            if (!cancelled.get()) {
+                                subscriber.onError(e);
+                            }
+                            return;
+                        }
+                        if (!cancelled.get()) {
+                            if (value != null) {
+                                subscriber.onNext(value);
+                            }
+                            subscriber.onComplete();
+                        }
+                    });
+                }
+            }
+
+            @Override
+            public void cancel() {
+                cancelled.set(true);
+            }
+        });
+    }
+}
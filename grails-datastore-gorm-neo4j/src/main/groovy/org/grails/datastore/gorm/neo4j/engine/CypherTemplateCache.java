@@ -0,0 +1,102 @@
+/*
+ * Copyright 2015 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.datastore.gorm.neo4j.engine;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A bounded cache of generated Cypher, keyed by the shape of the query it was generated for so that repeated queries
+ * that only differ by their parameter values do not generate the same Cypher again. Templates are read without locking.
+ * Once the maximum size is exceeded, half of the templates are evicted at once, so that the cost of eviction is shared
+ * by many insertions.
+ *
+ * @param <K> The type of the key describing the shape of a query
+ * @param <V> The type of the template
+ *
+ * @since 8.2.0
+ */
+public class CypherTemplateCache<K, V> {
+
+    /**
+     * The default maximum number of templates
+     */
+    public static final int DEFAULT_MAX_SIZE = 512;
+
+    private final Map<K, V> templates = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    public CypherTemplateCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public CypherTemplateCache(int maxSize) {
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    /**
+     * Obtains the template for a query shape, generating it if it is not cached. The template is generated without
+     * holding a lock, since generating one template may look up others, so concurrent queries of the same shape may
+     * both generate it
+     *
+     * @param key The key describing the shape of the query
+     * @param generator Generates the template for the key
+     * @return The template
+     */
+    public V get(K key, Function<K, V> generator) {
+        V template = templates.get(key);
+        if (template == null) {
+            template = generator.apply(key);
+            final V existing = templates.putIfAbsent(key, template);
+            if (existing != null) {
+                return existing;
+            }
+            if (templates.size() > maxSize) {
+                evict(key);
+            }
+        }
+        return template;
+    }
+
+    /**
+     * Evicts templates until at most half of the maximum size remain, keeping the template that was just added
+     */
+    private void evict(K added) {
+        final int retained = maxSize / 2;
+        final Iterator<K> keys = templates.keySet().iterator();
+        while (templates.size() > retained && keys.hasNext()) {
+            if (!keys.next().equals(added)) {
+                keys.remove();
+            }
+        }
+    }
+
+    /**
+     * @return The number of cached templates
+     */
+    public int size() {
+        return templates.size();
+    }
+
+    /**
+     * Discards all of the cached templates
+     */
+    public void clear() {
+        templates.clear();
+    }
+}
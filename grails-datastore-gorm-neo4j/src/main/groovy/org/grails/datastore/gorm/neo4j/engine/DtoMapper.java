@@ -0,0 +1,297 @@
+/*
+ * Copyright 2015 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.datastore.gorm.neo4j.engine;
+
+import org.grails.datastore.gorm.neo4j.GraphPersistentEntity;
+import org.grails.datastore.gorm.neo4j.Neo4jMappingContext;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Value;
+import org.springframework.util.ClassUtils;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Maps the columns of projection records straight into instances of a DTO class, without creating entities. The
+ * constructor or setters and the converter for each column are resolved once for each DTO class and projection, so that
+ * mapping a record only reads its columns by index.
+ *
+ * The columns are either passed to a public constructor with one parameter per column, in the order of the projections,
+ * or set on the properties of the same name after creating the instance with its public no argument constructor.
+ *
+ * @param <T> The type of the DTO
+ *
+ * @since 8.2.0
+ */
+public class DtoMapper<T> {
+
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+    private static final MethodType NO_ARG_CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Class<T> type;
+    private final MethodHandle constructor;
+    private final MethodHandle[] setters;
+    private final Function<Value, Object>[] converters;
+
+    private DtoMapper(Class<T> type, MethodHandle constructor, MethodHandle[] setters, Function<Value, Object>[] converters) {
+        this.type = type;
+        this.constructor = constructor;
+        this.setters = setters;
+        this.converters = converters;
+    }
+
+    /**
+     * Creates a mapper that passes the columns to a public constructor with a parameter for each column. If there are
+     * several such constructors, the class must be compiled with parameter names (the -parameters option of javac or
+     * groovyc) and the one whose parameter names match the column names is used
+     *
+     * @param type The DTO class
+     * @param columns The names of the projected properties, or null for the columns that do not project a property
+     * @param mappingContext The mapping context used to convert the values
+     * @return The mapper
+     * @throws IllegalArgumentException If there is no such constructor, or several of which none or more than one match
+     * the column names
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> DtoMapper<T> forConstructor(Class<T> type, List<String> columns, Neo4jMappingContext mappingContext) {
+        final List<Constructor<?>> candidates = new ArrayList<>();
+        for (Constructor<?> candidate : type.getConstructors()) {
+            if (candidate.getParameterCount() == columns.size()) {
+                candidates.add(candidate);
+            }
+        }
+        if (candidates.isEmpty()) {
+            throw new IllegalArgumentException("Class [" + type.getName() + "] has no public constructor with " + columns.size() + " parameters for the projected columns " + columns);
+        }
+        Constructor<?> selected = candidates.get(0);
+        if (candidates.size() > 1) {
+            selected = null;
+            for (Constructor<?> candidate : candidates) {
+                if (!parameterNamesMatch(candidate, columns)) continue;
+                if (selected != null) {
+                    selected = null;
+                    break;
+                }
+                selected = candidate;
+            }
+            if (selected == null) {
+                throw new IllegalArgumentException("Class [" + type.getName() + "] has several public constructors with " + columns.size() + " parameters and the parameter names of exactly one must match the projected columns " + columns);
+            }
+        }
+        final Class<?>[] parameterTypes = selected.getParameterTypes();
+        final Function<Value, Object>[] converters = new Function[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            converters[i] = createConverter(parameterTypes[i], mappingContext);
+        }
+        try {
+            final MethodHandle constructor = MethodHandles.publicLookup().unreflectConstructor(selected)
+                    .asSpreader(Object[].class, parameterTypes.length)
+                    .asType(CONSTRUCTOR_TYPE);
+            return new DtoMapper<>(type, constructor, null, converters);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Constructor of class [" + type.getName() + "] is not accessible: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Creates a mapper that sets the properties of the given names, in the order of the columns, on instances created with
+     * the public no argument constructor
+     *
+     * @param type The DTO class
+     * @param properties The names of the properties, one for each column
+     * @param mappingContext The mapping context used to convert the values
+     * @return The mapper
+     * @throws IllegalArgumentException If the class cannot be instantiated or a property cannot be written
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> DtoMapper<T> forProperties(Class<T> type, List<String> properties, Neo4jMappingContext mappingContext) {
+        final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        try {
+            final MethodHandle constructor = lookup.findConstructor(type, MethodType.methodType(void.class)).asType(NO_ARG_CONSTRUCTOR_TYPE);
+            final MethodHandle[] setters = new MethodHandle[properties.size()];
+            final Function<Value, Object>[] converters = new Function[properties.size()];
+            final List<PropertyDescriptor> descriptors = Arrays.asList(Introspector.getBeanInfo(type).getPropertyDescriptors());
+            for (int i = 0; i < properties.size(); i++) {
+                final String name = properties.get(i);
+                final PropertyDescriptor descriptor = descriptors.stream()
+                        .filter(d -> d.getName().equals(name) && d.getWriteMethod() != null)
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalArgumentException("Class [" + type.getName() + "] has no writable property [" + name + "]"));
+                setters[i] = lookup.unreflect(descriptor.getWriteMethod()).asType(SETTER_TYPE);
+                converters[i] = createConverter(descriptor.getPropertyType(), mappingContext);
+            }
+            return new DtoMapper<>(type, constructor, setters, converters);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException("Class [" + type.getName() + "] has no accessible public no argument constructor", e);
+        } catch (IntrospectionException e) {
+            throw new IllegalArgumentException("Unable to introspect class [" + type.getName() + "]: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Finds the writable properties of a DTO class that are simple properties of the entity, which are projected when a
+     * query is mapped into the DTO without projections of its own
+     *
+     * @param type The DTO class
+     * @param entity The entity
+     * @return The names of the properties
+     */
+    public static List<String> findProjectedProperties(Class<?> type, GraphPersistentEntity entity) {
+        final List<String> properties = new ArrayList<>();
+        try {
+            final BeanInfo beanInfo = Introspector.getBeanInfo(type);
+            for (PropertyDescriptor descriptor : beanInfo.getPropertyDescriptors()) {
+                final String name = descriptor.getName();
+                if (descriptor.getWriteMethod() == null || Modifier.isStatic(descriptor.getWriteMethod().getModifiers())) continue;
+                if (name.equals(entity.getIdentity().getName()) || entity.getCodec().isDeclared(name)) {
+                    properties.add(name);
+                }
+            }
+        } catch (IntrospectionException e) {
+            throw new IllegalArgumentException("Unable to introspect class [" + type.getName() + "]: " + e.getMessage(), e);
+        }
+        return properties;
+    }
+
+    /**
+     * Finds the parameters of the public constructor of a DTO class that only has a constructor with parameters, such as a
+     * record, when the names of the parameters are all properties of the entity. The names are only available if the class
+     * was compiled with the -parameters option of javac or groovyc. The parameters are projected when a query is mapped
+     * into the DTO without projections of its own
+     *
+     * @param type The DTO class
+     * @param entity The entity
+     * @return The names of the parameters or null if the class has a public no argument constructor or no such constructor
+     */
+    public static List<String> findConstructorParameters(Class<?> type, GraphPersistentEntity entity) {
+        List<String> selected = null;
+        for (Constructor<?> constructor : type.getConstructors()) {
+            if (constructor.getParameterCount() == 0) {
+                return null;
+            }
+            final List<String> names = new ArrayList<>();
+            for (Parameter parameter : constructor.getParameters()) {
+                final String name = parameter.getName();
+                if (!parameter.isNamePresent() || !(name.equals(entity.getIdentity().getName()) || entity.getCodec().isDeclared(name))) {
+                    break;
+                }
+                names.add(name);
+            }
+            if (names.size() == constructor.getParameterCount() && (selected == null || names.size() > selected.size())) {
+                selected = names;
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * @return The DTO class
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Maps a record into a new instance of the DTO
+     *
+     * @param record The record with one column for each constructor parameter or property
+     * @return The instance
+     */
+    @SuppressWarnings("unchecked")
+    public T map(Record record) {
+        try {
+            if (setters == null) {
+                final Object[] arguments = new Object[converters.length];
+                for (int i = 0; i < converters.length; i++) {
+                    arguments[i] = converters[i].apply(record.get(i));
+                }
+                return (T) (Object) constructor.invokeExact(arguments);
+            }
+            final Object instance = (Object) constructor.invokeExact();
+            for (int i = 0; i < setters.length; i++) {
+                final Object value = converters[i].apply(record.get(i));
+                if (value != null) {
+                    setters[i].invokeExact(instance, value);
+                }
+            }
+            return (T) instance;
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Unable to create instance of class [" + type.getName() + "]: " + e.getMessage(), e);
+        }
+    }
+
+    private static boolean parameterNamesMatch(Constructor<?> constructor, List<String> columns) {
+        final Parameter[] parameters = constructor.getParameters();
+        for (int i = 0; i < parameters.length; i++) {
+            final String column = columns.get(i);
+            if (column != null && (!parameters[i].isNamePresent() || !parameters[i].getName().equals(column))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Creates the converter from a column to the type of a parameter or property. Null values of primitive types become
+     * the default value of the type
+     */
+    private static Function<Value, Object> createConverter(Class<?> type, Neo4jMappingContext mappingContext) {
+        final Class<?> wrapper = ClassUtils.resolvePrimitiveIfNecessary(type);
+        final Object nullValue = type.isPrimitive() ? primitiveDefault(type) : null;
+        if (wrapper == Integer.class) {
+            return value -> value.isNull() ? nullValue : value.asInt();
+        } else if (wrapper == Long.class) {
+            return value -> value.isNull() ? nullValue : value.asLong();
+        } else if (wrapper == Double.class) {
+            return value -> value.isNull() ? nullValue : value.asDouble();
+        } else if (wrapper == Boolean.class) {
+            return value -> value.isNull() ? nullValue : value.asBoolean();
+        }
+        return value -> {
+            if (value.isNull()) {
+                return nullValue;
+            }
+            final Object object = value.asObject();
+            return wrapper.isInstance(object) ? object : mappingContext.getConversionService().convert(object, wrapper);
+        };
+    }
+
+    private static Object primitiveDefault(Class<?> type) {
+        if (type == boolean.class) return false;
+        if (type == char.class) return '\0';
+        if (type == byte.class) return (byte) 0;
+        if (type == short.class) return (short) 0;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == float.class) return 0f;
+        return 0d;
+    }
+}
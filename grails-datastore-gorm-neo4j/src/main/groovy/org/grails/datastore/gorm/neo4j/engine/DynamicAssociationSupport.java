@@ -6,12 +6,10 @@ import org.grails.datastore.gorm.neo4j.Neo4jSession;
 import org.grails.datastore.gorm.neo4j.TypeDirectionPair;
 import org.grails.datastore.gorm.neo4j.collection.Neo4jList;
 import org.grails.datastore.gorm.neo4j.mapping.config.DynamicToManyAssociation;
-import org.grails.datastore.gorm.neo4j.mapping.reflect.Neo4jNameUtils;
 import org.grails.datastore.gorm.neo4j.util.IteratorUtil;
 import org.grails.datastore.gorm.schemaless.DynamicAttributes;
 import org.grails.datastore.mapping.engine.EntityAccess;
 import org.grails.datastore.mapping.engine.NonPersistentTypeException;
-import org.grails.datastore.mapping.model.config.GormProperties;
 import org.neo4j.driver.Record;
 import org.neo4j.driver.Result;
 import org.neo4j.driver.QueryRunner;
@@ -31,25 +29,49 @@ public class DynamicAssociationSupport {
 
     private static final Logger log = LoggerFactory.getLogger(DynamicAssociationSupport.class);
 
+    /**
+     * Loads the dynamic associations of an instance. The dynamic associations of other instances of the same entity
+     * loaded by the session are loaded with the same query, up to the batch size of the entity.
+     *
+     * @param session The session
+     * @param graphPersistentEntity The entity
+     * @param object The instance
+     * @param id The identifier of the instance
+     * @return The relationships of the instance
+     */
     public static Map<TypeDirectionPair, Map<String, Object>> loadDynamicAssociations(Neo4jSession session, GraphPersistentEntity graphPersistentEntity, DynamicAttributes object,  Serializable id) {
         Map<TypeDirectionPair, Map<String, Object>> relationshipsMap = new HashMap<>();
 
         final boolean hasDynamicAssociations = graphPersistentEntity.hasDynamicAssociations();
         Object alreadyLoaded = session.getAttribute(object, Neo4jEntityPersister.DYNAMIC_ASSOCIATION_PARAM);
         if(alreadyLoaded == null && hasDynamicAssociations) {
-            session.setAttribute(object, Neo4jEntityPersister.DYNAMIC_ASSOCIATION_PARAM, Boolean.TRUE);
+            final int batchSize = graphPersistentEntity.getBatchSize() > 1 ? graphPersistentEntity.getBatchSize() : Neo4jSession.DEFAULT_BATCH_SIZE;
+            final Map<Serializable, Object> owners = session.getLazyAssociationBatch().dynamicAssociationOwnersToLoad(
+                    graphPersistentEntity, id, object, batchSize,
+                    owner -> session.getAttribute(owner, Neo4jEntityPersister.DYNAMIC_ASSOCIATION_PARAM) != null
+            );
+            final Map<Object, Map<TypeDirectionPair, Map<String, Object>>> relationshipsByOwner = new HashMap<>();
+            for (Map.Entry<Serializable, Object> owner : owners.entrySet()) {
+                session.setAttribute(owner.getValue(), Neo4jEntityPersister.DYNAMIC_ASSOCIATION_PARAM, Boolean.TRUE);
+                relationshipsByOwner.put(normalizeId(owner.getKey()), new HashMap<>());
+            }
+            relationshipsByOwner.put(normalizeId(id), relationshipsMap);
 
-            final String cypher = graphPersistentEntity.formatDynamicAssociationQuery();
-            final Map<String, Object> isMap = Collections.<String, Object>singletonMap(GormProperties.IDENTITY, id);
+            final String cypher = graphPersistentEntity.formatDynamicAssociationsQuery();
+            final Map<String, Object> idsMap = Collections.<String, Object>singletonMap("ids", new ArrayList<>(owners.keySet()));
             final QueryRunner boltSession = session.hasTransaction() ? session.getTransaction().getNativeTransaction() : session.getNativeInterface();
 
             if(log.isDebugEnabled()) {
-                log.debug("QUERY Cypher [{}] for parameters [{}]", cypher, isMap);
+                log.debug("QUERY Cypher [{}] for parameters [{}]", cypher, idsMap);
             }
 
-            final Result relationships = boltSession.run(cypher, isMap);
+            final Result relationships = boltSession.run(cypher, idsMap);
             while(relationships.hasNext()) {
                 final Record row = relationships.next();
+                final Map<TypeDirectionPair, Map<String, Object>> ownerRelationships = relationshipsByOwner.get(normalizeId(row.get("parentId").asObject()));
+                if(ownerRelationships == null) {
+                    continue;
+                }
                 String relType = row.get("relType").asString();
                 Boolean outGoing = row.get("out").asBoolean();
                 Map<String, Object> values = row.get("values").asMap();
@@ -58,66 +80,73 @@ public class DynamicAssociationSupport {
                     key.setTargetType(
                             row.get(RelationshipPendingInsert.TARGET_TYPE).asString()
                     );
-                    relationshipsMap.put(key, values);
+                    ownerRelationships.put(key, values);
+                }
+            }
+            for (Map.Entry<Serializable, Object> owner : owners.entrySet()) {
+                final Map<TypeDirectionPair, Map<String, Object>> ownerRelationships = relationshipsByOwner.get(normalizeId(owner.getKey()));
+                // if the relationship map is not empty as this point there are dynamic relationships that need to be loaded as undeclared
+                if (!ownerRelationships.isEmpty()) {
+                    populateDynamicAssociations(session, graphPersistentEntity, (DynamicAttributes) owner.getValue(), ownerRelationships);
                 }
             }
-            // if the relationship map is not empty as this point there are dynamic relationships that need to be loaded as undeclared
-            if (!relationshipsMap.isEmpty()) {
-                Neo4jMappingContext mappingContext = session.getMappingContext();
-                for (Map.Entry<TypeDirectionPair, Map<String,Object>> entry: relationshipsMap.entrySet()) {
-                    EntityAccess entityAccess = session.createEntityAccess(graphPersistentEntity, object);
-                    TypeDirectionPair key = entry.getKey();
-                    if (key.isOutgoing()) {
-                        Map<String, Object> relationshipData = entry.getValue();
-                        Object idsObject = relationshipData.get("ids");
-                        Object labelsObject = relationshipData.get("labels");
-                        if((idsObject instanceof Iterable) && (labelsObject instanceof Iterable)) {
+        }
 
-                            Iterator<Serializable> idIter = ((Iterable<Serializable>) idsObject).iterator();
-                            String targetType = key.getTargetType();
-                            Iterator<Collection<String>> labelIter = ((Iterable<Collection<String>>) labelsObject).iterator();
+        return relationshipsMap;
+    }
 
-                            List values = new ArrayList();
-                            GraphPersistentEntity associatedEntity = null;
-                            while (idIter.hasNext() && labelIter.hasNext()) {
-                                Serializable targetId = idIter.next();
-                                Collection<String> nextLabels = labelIter.next();
-                                Collection<String> labels = nextLabels.isEmpty() ? Collections.singletonList(targetType) : nextLabels;
-                                associatedEntity = mappingContext.findPersistentEntityForLabels(labels);
-                                if(associatedEntity == null) {
-                                    associatedEntity = mappingContext.findPersistentEntityForLabels(Collections.singletonList(targetType));
-                                }
-                                if(associatedEntity == null) {
-                                    continue;
-                                }
-                                Object proxy = mappingContext.getProxyFactory().createProxy(
-                                        session,
-                                        associatedEntity.getJavaClass(),
-                                        targetId
-                                );
-                                values.add(proxy);
-                            }
-                            // for single instances and singular property name do not use an array
-                            Object value;
-                            if(values.size() == 1 && isSingular(key.getType())) {
-                                value = IteratorUtil.singleOrNull(values);
-                            }
-                            else {
-                                DynamicToManyAssociation dynamicAssociation = new DynamicToManyAssociation(graphPersistentEntity, graphPersistentEntity.getMappingContext(), key.getType(), associatedEntity);
-                                value = new Neo4jList(entityAccess, dynamicAssociation, values, session);
-                            }
-                            object.attributes().put(key.getType(), value);
-                        }
+    private static void populateDynamicAssociations(Neo4jSession session, GraphPersistentEntity graphPersistentEntity, DynamicAttributes object, Map<TypeDirectionPair, Map<String, Object>> relationshipsMap) {
+        Neo4jMappingContext mappingContext = session.getMappingContext();
+        for (Map.Entry<TypeDirectionPair, Map<String,Object>> entry: relationshipsMap.entrySet()) {
+            EntityAccess entityAccess = session.createEntityAccess(graphPersistentEntity, object);
+            TypeDirectionPair key = entry.getKey();
+            if (key.isOutgoing()) {
+                Map<String, Object> relationshipData = entry.getValue();
+                Object idsObject = relationshipData.get("ids");
+                Object labelsObject = relationshipData.get("labels");
+                if((idsObject instanceof Iterable) && (labelsObject instanceof Iterable)) {
 
+                    Iterator<Serializable> idIter = ((Iterable<Serializable>) idsObject).iterator();
+                    String targetType = key.getTargetType();
+                    Iterator<Collection<String>> labelIter = ((Iterable<Collection<String>>) labelsObject).iterator();
+
+                    List values = new ArrayList();
+                    GraphPersistentEntity associatedEntity = null;
+                    while (idIter.hasNext() && labelIter.hasNext()) {
+                        Serializable targetId = idIter.next();
+                        Collection<String> nextLabels = labelIter.next();
+                        Collection<String> labels = nextLabels.isEmpty() ? Collections.singletonList(targetType) : nextLabels;
+                        associatedEntity = mappingContext.findPersistentEntityForLabels(labels);
+                        if(associatedEntity == null) {
+                            associatedEntity = mappingContext.findPersistentEntityForLabels(Collections.singletonList(targetType));
+                        }
+                        if(associatedEntity == null) {
+                            continue;
+                        }
+                        Object proxy = mappingContext.getProxyFactory().createProxy(
+                                session,
+                                associatedEntity.getJavaClass(),
+                                targetId
+                        );
+                        values.add(proxy);
+                    }
+                    // for single instances and singular property name do not use an array
+                    Object value;
+                    if(values.size() == 1 && mappingContext.isSingularRelationshipType(key.getType())) {
+                        value = IteratorUtil.singleOrNull(values);
                     }
+                    else {
+                        DynamicToManyAssociation dynamicAssociation = new DynamicToManyAssociation(graphPersistentEntity, graphPersistentEntity.getMappingContext(), key.getType(), associatedEntity);
+                        value = new Neo4jList(entityAccess, dynamicAssociation, values, session);
+                    }
+                    object.attributes().put(key.getType(), value);
                 }
+
             }
         }
-
-        return relationshipsMap;
     }
 
-    private static boolean isSingular(String key) {
-        return Neo4jNameUtils.isSingular(key);
+    private static Object normalizeId(Object id) {
+        return id instanceof Number ? (Object) ((Number) id).longValue() : id;
     }
 }
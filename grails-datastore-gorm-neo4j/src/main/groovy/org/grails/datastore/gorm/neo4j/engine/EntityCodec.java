@@ -0,0 +1,327 @@
+/*
+ * Copyright 2015 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.datastore.gorm.neo4j.engine;
+
+import org.grails.datastore.gorm.neo4j.GraphPersistentEntity;
+import org.grails.datastore.gorm.neo4j.Neo4jMappingContext;
+import org.grails.datastore.mapping.model.PersistentProperty;
+import org.grails.datastore.mapping.model.types.Basic;
+import org.grails.datastore.mapping.model.types.Simple;
+import org.grails.datastore.mapping.model.types.TenantId;
+import org.grails.datastore.mapping.reflect.EntityReflector;
+import org.grails.datastore.mapping.reflect.NameUtils;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.types.Entity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ClassUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Reads and writes the simple properties of an entity from and to the properties of a node. The property slots, the
+ * converters for the type of each property and the {@link MethodHandle} used to access it are computed once per entity,
+ * so that decoding a node does not need to look up or convert each property by name.
+ *
+ * Properties are accessed through their getter and setter, so that user defined accessors are honoured, or through their
+ * field if the class declares no such accessor. Properties that can be accessed neither way are read and written through
+ * the {@link EntityReflector} instead.
+ *
+ * @since 8.2.0
+ */
+public class EntityCodec {
+
+    private static final Logger log = LoggerFactory.getLogger(EntityCodec.class);
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Slot[] slots;
+    private final Map<String, Slot> slotsByName;
+    private final List<PersistentProperty> otherProperties;
+
+    public EntityCodec(GraphPersistentEntity entity, Neo4jMappingContext mappingContext) {
+        final List<PersistentProperty> properties = entity.getPersistentProperties();
+        final List<Slot> slots = new ArrayList<>(properties.size());
+        final List<PersistentProperty> otherProperties = new ArrayList<>();
+        final EntityReflector reflector = entity.getReflector();
+        for (PersistentProperty property : properties) {
+            if ((property instanceof Simple) || (property instanceof TenantId) || (property instanceof Basic)) {
+                slots.add(new Slot(property, entity.getJavaClass(), reflector, mappingContext));
+            } else {
+                otherProperties.add(property);
+            }
+        }
+        this.slots = slots.toArray(new Slot[0]);
+        this.slotsByName = new HashMap<>(slots.size() * 2);
+        for (Slot slot : this.slots) {
+            slotsByName.put(slot.name, slot);
+        }
+        this.otherProperties = Collections.unmodifiableList(otherProperties);
+    }
+
+    /**
+     * @return The persistent properties that are not simple properties and are therefore not handled by the codec
+     */
+    public List<PersistentProperty> getOtherProperties() {
+        return otherProperties;
+    }
+
+    /**
+     * @param name The name of a node property
+     * @return Whether the node property is a simple property of the entity
+     */
+    public boolean isDeclared(String name) {
+        return slotsByName.containsKey(name);
+    }
+
+    /**
+     * Sets the simple properties of an instance from the properties of a node
+     *
+     * @param node The node
+     * @param instance The instance
+     * @return The number of properties of the node that were set
+     */
+    public int decode(Entity node, Object instance) {
+        int decoded = 0;
+        for (Slot slot : slots) {
+            final Value value = node.get(slot.name);
+            if (!value.isNull()) {
+                slot.write(instance, slot.decoder.apply(value.asObject()));
+                decoded++;
+            }
+        }
+        return decoded;
+    }
+
+    /**
+     * Sets the given simple properties of an instance from the non-null properties of a node, leaving the other properties
+     * as they are
+     *
+     * @param node The node
+     * @param instance The instance
+     * @param names The names of the properties to set
+     */
+    public void decode(Entity node, Object instance, Collection<String> names) {
+        for (String name : names) {
+            final Slot slot = slotsByName.get(name);
+            if (slot != null) {
+                final Value value = node.get(name);
+                if (!value.isNull()) {
+                    slot.write(instance, slot.decoder.apply(value.asObject()));
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The names of the simple properties of the entity
+     */
+    public Set<String> getPropertyNames() {
+        return Collections.unmodifiableSet(slotsByName.keySet());
+    }
+
+    /**
+     * Adds the non-null simple properties of an instance, converted to native Neo4j types, to the given map
+     *
+     * @param instance The instance
+     * @param properties The properties of the node
+     */
+    public void encode(Object instance, Map<String, Object> properties) {
+        for (Slot slot : slots) {
+            final Object value = slot.read(instance);
+            if (value != null) {
+                properties.put(slot.name, slot.encoder.apply(value));
+            }
+        }
+    }
+
+    /**
+     * Reads a single simple property of an instance, converted to a native Neo4j type
+     *
+     * @param instance The instance
+     * @param name The name of the property
+     * @return The native value, or null if the property is null or is not a simple property
+     */
+    public Object encode(Object instance, String name) {
+        final Slot slot = slotsByName.get(name);
+        if (slot == null) {
+            return null;
+        }
+        final Object value = slot.read(instance);
+        return value != null ? slot.encoder.apply(value) : null;
+    }
+
+    /**
+     * A simple property along with its accessors and converters
+     */
+    private static class Slot {
+        final String name;
+        final Function<Object, Object> decoder;
+        final Function<Object, Object> encoder;
+        final MethodHandle getter;
+        final MethodHandle setter;
+        final EntityReflector reflector;
+
+        Slot(PersistentProperty property, Class<?> javaClass, EntityReflector reflector, Neo4jMappingContext mappingContext) {
+            this.name = property.getName();
+            this.reflector = reflector;
+            final Class<?> type = ClassUtils.resolvePrimitiveIfNecessary(property.getType());
+            this.decoder = createDecoder(type, mappingContext);
+            this.encoder = createEncoder(type, mappingContext);
+
+            final Class<?> propertyType = property.getType();
+            final Method getterMethod = findGetter(javaClass, name, propertyType);
+            final Method setterMethod = findSetter(javaClass, name, propertyType);
+            final Field field = getterMethod != null && setterMethod != null ? null : findField(javaClass, name);
+            final boolean fieldAccessible = field != null && !Modifier.isStatic(field.getModifiers()) && field.getType().equals(propertyType);
+
+            MethodHandle getter = null;
+            MethodHandle setter = null;
+            try {
+                if (getterMethod != null) {
+                    getter = lookupFor(getterMethod.getDeclaringClass()).unreflect(getterMethod).asType(GETTER_TYPE);
+                } else if (fieldAccessible) {
+                    getter = lookupFor(field.getDeclaringClass()).unreflectGetter(field).asType(GETTER_TYPE);
+                }
+                if (setterMethod != null) {
+                    setter = lookupFor(setterMethod.getDeclaringClass()).unreflect(setterMethod).asType(SETTER_TYPE);
+                } else if (fieldAccessible && !Modifier.isFinal(field.getModifiers())) {
+                    setter = lookupFor(field.getDeclaringClass()).unreflectSetter(field).asType(SETTER_TYPE);
+                }
+            } catch (IllegalAccessException | SecurityException e) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Unable to access property [{}] of {}, falling back to reflection: {}", name, javaClass.getName(), e.getMessage());
+                }
+                getter = null;
+                setter = null;
+            }
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        Object read(Object instance) {
+            if (getter == null) {
+                return reflector.getProperty(instance, name);
+            }
+            try {
+                return (Object) getter.invokeExact(instance);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Unable to read property [" + name + "]: " + e.getMessage(), e);
+            }
+        }
+
+        void write(Object instance, Object value) {
+            if (setter == null) {
+                reflector.setProperty(instance, name, value);
+                return;
+            }
+            try {
+                setter.invokeExact(instance, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Unable to write property [" + name + "]: " + e.getMessage(), e);
+            }
+        }
+
+        private static MethodHandles.Lookup lookupFor(Class<?> type) throws IllegalAccessException {
+            return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        }
+
+        private static Method findGetter(Class<?> type, String name, Class<?> propertyType) {
+            final String suffix = NameUtils.capitalize(name);
+            Method getter = findMethod(type, "get" + suffix);
+            if (getter == null && propertyType == boolean.class) {
+                getter = findMethod(type, "is" + suffix);
+            }
+            return getter != null && getter.getReturnType().equals(propertyType) ? getter : null;
+        }
+
+        private static Method findSetter(Class<?> type, String name, Class<?> propertyType) {
+            final Method setter = findMethod(type, "set" + NameUtils.capitalize(name), propertyType);
+            return setter != null && setter.getReturnType() == void.class ? setter : null;
+        }
+
+        private static Method findMethod(Class<?> type, String name, Class<?>... parameterTypes) {
+            try {
+                final Method method = type.getMethod(name, parameterTypes);
+                return Modifier.isStatic(method.getModifiers()) ? null : method;
+            } catch (NoSuchMethodException | SecurityException e) {
+                return null;
+            }
+        }
+
+        private static Field findField(Class<?> type, String name) {
+            while (type != null && type != Object.class) {
+                try {
+                    return type.getDeclaredField(name);
+                } catch (NoSuchFieldException e) {
+                    type = type.getSuperclass();
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Creates the converter from the value returned by the driver to the type of the property. The driver returns
+         * longs, doubles, booleans, strings and lists, so these are passed through and narrower numbers are converted
+         * directly, leaving the conversion service for other types
+         */
+        @SuppressWarnings("unchecked")
+        private static Function<Object, Object> createDecoder(Class<?> type, Neo4jMappingContext mappingContext) {
+            if (type == Integer.class) {
+                return value -> value instanceof Number ? ((Number) value).intValue() : convert(mappingContext, value, type);
+            } else if (type == Short.class) {
+                return value -> value instanceof Number ? ((Number) value).shortValue() : convert(mappingContext, value, type);
+            } else if (type == Byte.class) {
+                return value -> value instanceof Number ? ((Number) value).byteValue() : convert(mappingContext, value, type);
+            } else if (type == Float.class) {
+                return value -> value instanceof Number ? ((Number) value).floatValue() : convert(mappingContext, value, type);
+            } else if (type.isEnum()) {
+                final Class<? extends Enum> enumType = (Class<? extends Enum>) type;
+                return value -> value instanceof String ? Enum.valueOf(enumType, (String) value) : convert(mappingContext, value, type);
+            }
+            return value -> convert(mappingContext, value, type);
+        }
+
+        /**
+         * Creates the converter from the value of the property to a native type, which is the identity for the types the
+         * driver supports natively
+         */
+        private static Function<Object, Object> createEncoder(Class<?> type, Neo4jMappingContext mappingContext) {
+            if (type != byte[].class && Neo4jMappingContext.BASIC_TYPES.contains(type)) {
+                return Function.identity();
+            } else if (type == BigDecimal.class) {
+                return value -> ((BigDecimal) value).doubleValue();
+            }
+            return mappingContext::convertToNative;
+        }
+
+        private static Object convert(Neo4jMappingContext mappingContext, Object value, Class<?> type) {
+            return type.isInstance(value) ? value : mappingContext.getConversionService().convert(value, type);
+        }
+    }
+}
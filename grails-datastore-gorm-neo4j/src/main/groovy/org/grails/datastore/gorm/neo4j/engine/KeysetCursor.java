@@ -0,0 +1,181 @@
+/*
+ * Copyright 2015 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.datastore.gorm.neo4j.engine;
+
+import java.io.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * The position of the last row of a page for keyset pagination, holding the value of each sort key of the row along
+ * with the sort order that it was read for. Cursors are encoded as opaque URL safe strings.
+ *
+ * @since 8.2.0
+ */
+public class KeysetCursor {
+
+    private static final int VERSION = 1;
+    private static final byte NULL = 0;
+    private static final byte LONG = 1;
+    private static final byte DOUBLE = 2;
+    private static final byte BOOLEAN = 3;
+    private static final byte STRING = 4;
+    private static final byte LOCAL_DATE = 5;
+    private static final byte LOCAL_DATE_TIME = 6;
+    private static final byte OFFSET_DATE_TIME = 7;
+    private static final byte ZONED_DATE_TIME = 8;
+
+    private final List<String> sortOrder;
+    private final List<Object> values;
+
+    /**
+     * @param sortOrder The sort keys and directions, for example "name ASC"
+     * @param values The value of each sort key
+     */
+    public KeysetCursor(List<String> sortOrder, List<Object> values) {
+        if (sortOrder.size() != values.size()) {
+            throw new IllegalArgumentException("A value is required for each sort key");
+        }
+        this.sortOrder = Collections.unmodifiableList(new ArrayList<>(sortOrder));
+        this.values = Collections.unmodifiableList(new ArrayList<>(values));
+    }
+
+    /**
+     * @return The sort keys and directions
+     */
+    public List<String> getSortOrder() {
+        return sortOrder;
+    }
+
+    /**
+     * @return The value of each sort key
+     */
+    public List<Object> getValues() {
+        return values;
+    }
+
+    /**
+     * @return The cursor as an opaque string
+     */
+    public String encode() {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeShort(sortOrder.size());
+            for (int i = 0; i < sortOrder.size(); i++) {
+                out.writeUTF(sortOrder.get(i));
+                writeValue(out, values.get(i));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * Decodes a cursor previously obtained from {@link #encode()}
+     *
+     * @param cursor The cursor
+     * @return The decoded cursor
+     * @throws IllegalArgumentException If the cursor is not valid
+     */
+    public static KeysetCursor decode(String cursor) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)))) {
+            if (in.readByte() != VERSION) {
+                throw new IllegalArgumentException("Invalid cursor [" + cursor + "]");
+            }
+            final int size = in.readShort();
+            final List<String> sortOrder = new ArrayList<>(size);
+            final List<Object> values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                sortOrder.add(in.readUTF());
+                values.add(readValue(in));
+            }
+            return new KeysetCursor(sortOrder, values);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor [" + cursor + "]", e);
+        }
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof Double || value instanceof Float) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof Number) {
+            out.writeByte(LONG);
+            out.writeLong(((Number) value).longValue());
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof CharSequence) {
+            out.writeByte(STRING);
+            out.writeUTF(value.toString());
+        } else if (value instanceof Date) {
+            // dates are stored as the number of milliseconds since the epoch
+            out.writeByte(LONG);
+            out.writeLong(((Date) value).getTime());
+        } else if (value instanceof LocalDate) {
+            out.writeByte(LOCAL_DATE);
+            out.writeUTF(value.toString());
+        } else if (value instanceof LocalDateTime) {
+            out.writeByte(LOCAL_DATE_TIME);
+            out.writeUTF(value.toString());
+        } else if (value instanceof OffsetDateTime) {
+            out.writeByte(OFFSET_DATE_TIME);
+            out.writeUTF(value.toString());
+        } else if (value instanceof ZonedDateTime) {
+            out.writeByte(ZONED_DATE_TIME);
+            out.writeUTF(value.toString());
+        } else {
+            throw new IllegalArgumentException("Values of type [" + value.getClass().getName() + "] cannot be used as sort keys for keyset pagination");
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        final byte type = in.readByte();
+        switch (type) {
+            case NULL:
+                return null;
+            case LONG:
+                return in.readLong();
+            case DOUBLE:
+                return in.readDouble();
+            case BOOLEAN:
+                return in.readBoolean();
+            case STRING:
+                return in.readUTF();
+            case LOCAL_DATE:
+                return LocalDate.parse(in.readUTF());
+            case LOCAL_DATE_TIME:
+                return LocalDateTime.parse(in.readUTF());
+            case OFFSET_DATE_TIME:
+                return OffsetDateTime.parse(in.readUTF());
+            case ZONED_DATE_TIME:
+                return ZonedDateTime.parse(in.readUTF());
+            default:
+                throw new IllegalArgumentException("Unknown value type " + type);
+        }
+    }
+}
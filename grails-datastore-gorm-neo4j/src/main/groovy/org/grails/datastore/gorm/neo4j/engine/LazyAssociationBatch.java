@@ -0,0 +1,240 @@
+/*
+ * Copyright 2015 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.datastore.gorm.neo4j.engine;
+
+import org.grails.datastore.mapping.collection.PersistentCollection;
+import org.grails.datastore.mapping.model.PersistentEntity;
+import org.grails.datastore.mapping.model.types.Association;
+import org.grails.datastore.mapping.proxy.EntityProxy;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Keeps track of the lazy associations, proxies and dynamic associations of a session that have not been initialized
+ * yet, so that when one of them is initialized the same association can be loaded for other parents, or other proxies of
+ * the same type can be loaded, with a single query
+ *
+ * @since 8.2.0
+ */
+public class LazyAssociationBatch {
+
+    private final Map<Association, Map<Object, Object>> uninitialized = new LinkedHashMap<>();
+    private final Map<Association, Map<Object, List<Object>>> loaded = new LinkedHashMap<>();
+    private final Map<Class, Set<Object>> uninitializedProxies = new LinkedHashMap<>();
+    private final Map<PersistentEntity, Map<Object, Object>> dynamicAssociationOwners = new LinkedHashMap<>();
+
+    /**
+     * Registers a collection or an association proxy that has not been initialized
+     *
+     * @param association The association
+     * @param parentId The identifier of the parent
+     * @param value The {@link PersistentCollection} or {@link EntityProxy}
+     */
+    public void addUninitialized(Association association, Serializable parentId, Object value) {
+        if (parentId != null) {
+            uninitialized.computeIfAbsent(association, k -> new LinkedHashMap<>()).put(normalizeId(parentId), value);
+        }
+    }
+
+    /**
+     * Obtains the identifiers of the parents to load an association for
+     *
+     * @param association The association
+     * @param parentId The identifier of the parent being initialized
+     * @param batchSize The maximum number of parents
+     * @return The identifiers, starting with the given parent
+     */
+    public List<Serializable> idsToLoad(Association association, Serializable parentId, int batchSize) {
+        final List<Serializable> ids = new ArrayList<>();
+        ids.add(parentId);
+        final Map<Object, Object> values = uninitialized.get(association);
+        if (values == null) {
+            return ids;
+        }
+        values.remove(normalizeId(parentId));
+        final Iterator<Map.Entry<Object, Object>> i = values.entrySet().iterator();
+        while (i.hasNext() && ids.size() < batchSize) {
+            final Map.Entry<Object, Object> entry = i.next();
+            if (isInitialized(entry.getValue())) {
+                i.remove();
+            } else {
+                ids.add((Serializable) entry.getKey());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Stores the results loaded for a parent and initializes its collection or proxy with them
+     *
+     * @param association The association
+     * @param parentId The identifier of the parent
+     * @param results The results
+     */
+    public void initialize(Association association, Serializable parentId, List<Object> results) {
+        final Object key = normalizeId(parentId);
+        final Map<Object, Object> values = uninitialized.get(association);
+        final Object value = values != null ? values.remove(key) : null;
+        if (value != null && !isInitialized(value)) {
+            loaded.computeIfAbsent(association, k -> new LinkedHashMap<>()).put(key, results);
+            // the collection or proxy obtains the results from takeLoaded when it queries its association
+            if (value instanceof PersistentCollection) {
+                ((PersistentCollection) value).initialize();
+            } else {
+                ((EntityProxy) value).initialize();
+            }
+        }
+    }
+
+    /**
+     * Removes and returns any results that have already been loaded for a parent
+     *
+     * @param association The association
+     * @param parentId The identifier of the parent
+     * @return The results or null if they have not been loaded
+     */
+    public List<Object> takeLoaded(Association association, Serializable parentId) {
+        final Map<Object, List<Object>> results = loaded.get(association);
+        return results != null ? results.remove(normalizeId(parentId)) : null;
+    }
+
+    /**
+     * Registers the identifier of a proxy that has not been initialized
+     *
+     * @param type The proxied type
+     * @param id The identifier
+     */
+    public void addUninitializedProxy(Class type, Serializable id) {
+        if (id != null) {
+            uninitializedProxies.computeIfAbsent(type, k -> new LinkedHashSet<>()).add(normalizeId(id));
+        }
+    }
+
+    /**
+     * Obtains the identifiers of the proxies to load when a proxy is initialized
+     *
+     * @param type The proxied type
+     * @param id The identifier of the proxy being initialized
+     * @param batchSize The maximum number of proxies
+     * @param isLoaded Whether the instance with a given identifier has already been loaded
+     * @return The identifiers, starting with the given one, or an empty list if the identifier does not belong to a registered proxy
+     */
+    public List<Serializable> proxyIdsToLoad(Class type, Serializable id, int batchSize, Predicate<Serializable> isLoaded) {
+        final Set<Object> ids = uninitializedProxies.get(type);
+        if (ids == null || !ids.remove(normalizeId(id))) {
+            return Collections.emptyList();
+        }
+        final List<Serializable> toLoad = new ArrayList<>();
+        toLoad.add(id);
+        final Iterator<Object> i = ids.iterator();
+        while (i.hasNext() && toLoad.size() < batchSize) {
+            final Serializable other = (Serializable) i.next();
+            i.remove();
+            if (!isLoaded.test(other)) {
+                toLoad.add(other);
+            }
+        }
+        return toLoad;
+    }
+
+    /**
+     * Registers an instance whose dynamic associations have not been loaded
+     *
+     * @param entity The entity
+     * @param id The identifier
+     * @param instance The instance
+     */
+    public void addDynamicAssociationOwner(PersistentEntity entity, Serializable id, Object instance) {
+        if (id != null) {
+            dynamicAssociationOwners.computeIfAbsent(entity, k -> new LinkedHashMap<>()).put(normalizeId(id), instance);
+        }
+    }
+
+    /**
+     * Obtains the instances to load dynamic associations for when they are loaded for an instance
+     *
+     * @param entity The entity
+     * @param id The identifier of the instance being loaded
+     * @param instance The instance being loaded
+     * @param limit The maximum number of instances
+     * @param isLoaded Whether the dynamic associations of an instance have already been loaded
+     * @return The instances by identifier, starting with the given one
+     */
+    public Map<Serializable, Object> dynamicAssociationOwnersToLoad(PersistentEntity entity, Serializable id, Object instance, int limit, Predicate<Object> isLoaded) {
+        final Map<Serializable, Object> toLoad = new LinkedHashMap<>();
+        toLoad.put(id, instance);
+        final Map<Object, Object> owners = dynamicAssociationOwners.get(entity);
+        if (owners == null) {
+            return toLoad;
+        }
+        owners.remove(normalizeId(id));
+        final Iterator<Map.Entry<Object, Object>> i = owners.entrySet().iterator();
+        while (i.hasNext() && toLoad.size() < limit) {
+            final Map.Entry<Object, Object> entry = i.next();
+            i.remove();
+            if (!isLoaded.test(entry.getValue())) {
+                toLoad.put((Serializable) entry.getKey(), entry.getValue());
+            }
+        }
+        return toLoad;
+    }
+
+    /**
+     * Discards the collections and dynamic associations registered for an instance that has been removed from the session
+     *
+     * @param entity The entity
+     * @param id The identifier of the instance
+     */
+    public void remove(PersistentEntity entity, Serializable id) {
+        if (id == null) {
+            return;
+        }
+        final Object key = normalizeId(id);
+        for (Map.Entry<Association, Map<Object, Object>> entry : uninitialized.entrySet()) {
+            if (entry.getKey().getOwner().getJavaClass().isAssignableFrom(entity.getJavaClass())) {
+                entry.getValue().remove(key);
+            }
+        }
+        final Map<Object, Object> owners = dynamicAssociationOwners.get(entity);
+        if (owners != null) {
+            owners.remove(key);
+        }
+    }
+
+    /**
+     * Discards all registered collections, proxies and instances
+     */
+    public void clear() {
+        uninitialized.clear();
+        loaded.clear();
+        uninitializedProxies.clear();
+        dynamicAssociationOwners.clear();
+    }
+
+    private static boolean isInitialized(Object value) {
+        if (value instanceof PersistentCollection) {
+            return ((PersistentCollection) value).isInitialized();
+        }
+        return !(value instanceof EntityProxy) || ((EntityProxy) value).isInitialized();
+    }
+
+    private static Object normalizeId(Object id) {
+        // ids are returned by the driver as longs, whilst the parent ids may be any numeric type
+        return id instanceof Number ? (Object) ((Number) id).longValue() : id;
+    }
+}
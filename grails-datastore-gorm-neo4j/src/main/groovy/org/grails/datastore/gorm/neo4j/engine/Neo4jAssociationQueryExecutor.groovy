@@ -23,6 +23,7 @@ import org.grails.datastore.gorm.neo4j.Neo4jSession
 import org.grails.datastore.gorm.neo4j.RelationshipPersistentEntity
 import org.grails.datastore.gorm.neo4j.RelationshipUtils
 import org.grails.datastore.gorm.neo4j.collection.Neo4jResultList
+import org.grails.datastore.gorm.neo4j.mapping.config.Attribute
 import org.grails.datastore.mapping.config.Property
 import org.grails.datastore.mapping.engine.AssociationQueryExecutor
 import org.grails.datastore.mapping.model.PersistentEntity
@@ -32,15 +33,18 @@ import org.grails.datastore.mapping.model.types.Basic
 import org.grails.datastore.mapping.model.types.ManyToOne
 import org.grails.datastore.mapping.model.types.ToMany
 import org.grails.datastore.mapping.model.types.ToOne
+import org.neo4j.driver.Record
 import org.neo4j.driver.Session
 import org.neo4j.driver.Result
 import org.neo4j.driver.QueryRunner
 
 import javax.persistence.FetchType
+import java.util.function.Function
 
 
 /**
- * Responsible for lazy loading associations
+ * Responsible for lazy loading associations. If the association has a batchSize, the association is loaded with the same
+ * query for other parents in the session whose collection or proxy has not been initialized yet
  *
  * @author Graeme Rocher
  * @since 5.0
@@ -49,6 +53,15 @@ import javax.persistence.FetchType
 @Slf4j
 class Neo4jAssociationQueryExecutor implements AssociationQueryExecutor<Serializable, Object> {
 
+    /**
+     * The parameter containing the parent identifiers when loading an association for several parents
+     */
+    static final String PARENT_IDS = "ids"
+    /**
+     * The column containing the parent identifier when loading an association for several parents
+     */
+    static final String PARENT_ID = "parentId"
+
     final Neo4jSession session
     final PersistentEntity indexedEntity
     final Association association
@@ -77,9 +90,35 @@ class Neo4jAssociationQueryExecutor implements AssociationQueryExecutor<Serializ
         return false
     }
 
+    /**
+     * Obtains the number of parents to load an association for when one of them is initialized. Unless the association
+     * specifies a batchSize, that of the associated entity is used for single-ended associations and that of the owner for collections
+     *
+     * @param association The association
+     * @return The batch size or 0 if the association is loaded for each parent separately
+     */
+    static int getBatchSize(Association association) {
+        def mappedForm = association.mapping?.mappedForm
+        if(mappedForm instanceof Attribute && ((Attribute)mappedForm).batchSize != null) {
+            return ((Attribute)mappedForm).batchSize
+        }
+        PersistentEntity entity = association instanceof ToOne ? association.associatedEntity : association.owner
+        return entity instanceof GraphPersistentEntity ? ((GraphPersistentEntity)entity).batchSize : 0
+    }
+
     @Override
     List<Object> query(Serializable primaryKey) {
 
+        LazyAssociationBatch associationBatch = session.lazyAssociationBatch
+        List<Object> loaded = associationBatch.takeLoaded(association, primaryKey)
+        if(loaded != null) {
+            return loaded
+        }
+
+        int batchSize = singleResult || association instanceof Basic ? 0 : getBatchSize(association)
+        List<Serializable> parentIds = batchSize > 1 ? associationBatch.idsToLoad(association, primaryKey, batchSize) : Collections.singletonList(primaryKey)
+        boolean batched = parentIds.size() > 1
+
         QueryRunner statementRunner = session.hasTransaction() ? session.getTransaction().getNativeTransaction() : (Session)session.nativeInterface
         String relType
 
@@ -106,17 +145,62 @@ class Neo4jAssociationQueryExecutor implements AssociationQueryExecutor<Serializ
             relType = RelationshipUtils.matchForAssociation(association)
         }
 
-        String relationship = CypherBuilder.buildRelationship(parent.labelsAsString, relType, related.labelsAsString)
+        boolean isLazyToMany = lazy && !isRelationship && association instanceof ToMany
 
+        // the statement only depends on the association and whether it is loaded for several parents, so it is generated once for each
+        List<Object> key = Arrays.<Object>asList(Neo4jAssociationQueryExecutor, association, lazy, singleResult, batched)
+        String cypher = (String) session.mappingContext.cypherTemplates.get(key, { List<Object> k ->
+            buildCypher(parent, related, relType, isRelationship, isLazyToMany, batched)
+        } as Function<List<Object>, Object>)
+
+        Map<String, Object> params = batched ?
+                Collections.singletonMap(PARENT_IDS, (Object) parentIds) :
+                Collections.singletonMap(GormProperties.IDENTITY, (Object) primaryKey)
+
+        log.debug("Lazy loading association [${association}] using relationship ${CypherBuilder.buildRelationship(parent.labelsAsString, relType, related.labelsAsString)}")
+        log.debug("QUERY Cypher [$cypher] for params [$params]")
+
+        Result result = statementRunner.run(cypher, params)
+        if(!batched) {
+            return toResults(primaryKey, result, isLazyToMany, isRelationship, related)
+        }
+
+        // split the rows back into the associations of each parent
+        Map<Object, List<Record>> recordsByParent = new LinkedHashMap<>()
+        while(result.hasNext()) {
+            Record record = result.next()
+            Object parentId = record.get(PARENT_ID).asObject()
+            recordsByParent.computeIfAbsent(parentId instanceof Number ? ((Number)parentId).longValue() : parentId) { new ArrayList<Record>() }.add(record)
+        }
+        List<Object> results = null
+        for(Serializable parentId in parentIds) {
+            List<Record> records = recordsByParent.get(parentId instanceof Number ? ((Number)parentId).longValue() : parentId) ?: Collections.<Record>emptyList()
+            List<Object> parentResults = toResults(parentId, records.iterator(), isLazyToMany, isRelationship, related)
+            if(results == null) {
+                results = parentResults
+            }
+            else {
+                associationBatch.initialize(association, parentId, parentResults)
+            }
+        }
+        return results
+    }
+
+    /**
+     * Builds the statement that loads the association for one parent, or for several parents if batched
+     */
+    protected String buildCypher(GraphPersistentEntity parent, GraphPersistentEntity related, String relType, boolean isRelationship, boolean isLazyToMany, boolean batched) {
         StringBuilder cypher = new StringBuilder(CypherBuilder.buildRelationshipMatch(parent.labelsAsString, relType, related.labelsAsString))
         cypher.append('( ')
               .append(parent.formatId(RelationshipPersistentEntity.FROM))
-              .append(" = \$id )")
+              .append(batched ? " IN \$${PARENT_IDS} )" : " = \$id )")
+        String parentIdColumn = batched ? ", ${parent.formatId(RelationshipPersistentEntity.FROM)} as ${PARENT_ID}" : ""
 
-        boolean isLazyToMany = lazy && !isRelationship && association instanceof ToMany
         if(isLazyToMany) {
-            cypher.append(related.formatId(RelationshipPersistentEntity.TO))
-                  .append("RETURN as id")
+            cypher.append("\nRETURN ")
+                  .append(related.formatId(RelationshipPersistentEntity.TO))
+                  .append(" as id")
+                  .append(parentIdColumn)
         }
         else {
             if(!isRelationship) {
@@ -136,7 +220,6 @@ class Neo4jAssociationQueryExecutor implements AssociationQueryExecutor<Serializ
 
                     if(associations.size() > 0) {
                         int i = 0
-                        List previousAssociations = []
 
                         for(Association association in associations) {
                             if(association.isBasic()) continue
@@ -164,48 +247,27 @@ class Neo4jAssociationQueryExecutor implements AssociationQueryExecutor<Serializ
                                 lazy = ((ToMany)association).lazy
                             }
 
-                            // if there are associations, add a join to get them
-                            String withMatch = "WITH to, ${previousAssociations.size() > 0 ? previousAssociations.join(", ") + ", " : ""}"
-                            String associationIdsRef = "${associationName}Ids"
+                            // each association is collected with a pattern comprehension, so the rows of the related
+                            // nodes, and of their parents when loading several parents, are not multiplied
                             String associationNodeRef = "${associationName}Node"
-                            String associationNodesRef = "${associationName}Nodes"
 
-                            boolean addOptionalMatch = false
                             // If it is a one-to-many and lazy=true
                             // Or it is a one-to-one where the association is nullable or not lazy
                             // then just collect the identifiers and not the nodes
                             if((isToMany && lazy) || (isToOne && !isEager && (isNullable || !lazy ) )) {
-                                withMatch += "collect(DISTINCT ${associatedGraphEntity.formatId(associationNodeRef)}) as ${associationIdsRef}"
-                                returnString.append(", ").append(associationIdsRef)
-                                previousAssociations << associationIdsRef
-                                addOptionalMatch = true
+                                returnString.append(", ")
+                                            .append(related.formatAssociationComprehension(association, r, "to", associationNodeRef, associatedGraphEntity.formatId(associationNodeRef)))
+                                            .append(" as ${associationName}Ids")
                             }
                             else if(isEager) {
-                                withMatch += "collect(DISTINCT $associationNodeRef) as $associationNodesRef"
-                                returnString.append(", ").append(associationNodesRef)
+                                returnString.append(", ")
+                                            .append(related.formatAssociationComprehension(association, r, "to", associationNodeRef, associationNodeRef))
+                                            .append(" as ${associationName}Nodes")
                                 if(isAssociationRelationshipEntity) {
-                                    withMatch += ", collect($r) as ${associationName}Rels"
-                                    returnString.append(", ").append("${associationName}Rels")
+                                    returnString.append(", ")
+                                                .append(related.formatAssociationComprehension(association, r, "to", associationNodeRef, r))
+                                                .append(" as ${associationName}Rels")
                                 }
-                                previousAssociations << associationNodesRef
-                                addOptionalMatch = true
-                            }
-
-                            if(addOptionalMatch) {
-
-                                String relationshipPattern = related
-                                        .formatAssociationPatternFromExisting(
-                                        association,
-                                        r,
-                                        "to",
-                                        associationNodeRef
-                                )
-
-                                cypher.append(CypherBuilder.NEW_LINE)
-                                        .append(CypherBuilder.OPTIONAL_MATCH)
-                                        .append(relationshipPattern)
-                                        .append(" ")
-                                        .append(withMatch)
                             }
 
                         }
@@ -213,34 +275,32 @@ class Neo4jAssociationQueryExecutor implements AssociationQueryExecutor<Serializ
                 }
 
                 cypher.append(returnString.toString())
+                      .append(parentIdColumn)
             }
             else {
                 cypher.append('RETURN rel as rel')
+                      .append(parentIdColumn)
             }
         }
         cypher.append(singleResult ? 'LIMIT 1' : '')
+        return cypher.toString()
+    }
 
-
-        Map<String, Object> params = Collections.singletonMap(GormProperties.IDENTITY, (Object) primaryKey)
-
-        log.debug("Lazy loading association [${association}] using relationship $relationship")
-        log.debug("QUERY Cypher [$cypher] for params [$params]")
-
-        Result result = statementRunner.run(cypher.toString(), params)
+    private List<Object> toResults(Serializable parentId, Iterator<Record> records, boolean isLazyToMany, boolean isRelationship, GraphPersistentEntity related) {
         if(isLazyToMany) {
             List<Object> results = []
-            while(result.hasNext()) {
-                def id = result.next().get(GormProperties.IDENTITY).asObject()
+            while(records.hasNext()) {
+                def id = records.next().get(GormProperties.IDENTITY).asObject()
                 results.add( session.proxy(related.javaClass, id as Serializable) )
             }
             return results
         }
         else {
-            def resultList = new Neo4jResultList(0, result, isRelationship ? session.getEntityPersister(indexedEntity) : session.getEntityPersister(related))
+            def resultList = new Neo4jResultList(0, (Iterator<Object>)records, isRelationship ? session.getEntityPersister(indexedEntity) : session.getEntityPersister(related))
             if(association.isBidirectional()) {
                 def inverseSide = association.inverseSide
                 if(inverseSide instanceof ToOne) {
-                    def parentObject = session.getCachedInstance(association.getOwner().getJavaClass(), primaryKey)
+                    def parentObject = session.getCachedInstance(association.getOwner().getJavaClass(), parentId)
                     if(parentObject != null) {
                         resultList.setInitializedAssociations(Collections.<Association,Object>singletonMap(inverseSide, parentObject))
                     }
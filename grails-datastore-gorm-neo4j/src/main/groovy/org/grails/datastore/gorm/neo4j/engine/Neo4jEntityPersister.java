@@ -36,7 +36,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.util.Assert;
 
 import javax.persistence.FetchType;
 import javax.persistence.LockModeType;
@@ -90,7 +89,7 @@ public class Neo4jEntityPersister extends EntityPersister {
 
         List<Serializable> idList = new ArrayList<>();
         if(graphPersistentEntity.hasDynamicAssociations()) {
-            // dynamic association entities cannot be batch inserted
+            // the inserts are queued and batched together with the dynamic associations when the session is flushed
             for (Object obj : objs) {
                 Serializable id = persistEntity(pe, obj);
                 if(id != null) {
@@ -99,21 +98,12 @@ public class Neo4jEntityPersister extends EntityPersister {
             }
         }
         else if(graphPersistentEntity.isNativeId() && !graphPersistentEntity.isRelationshipEntity()) {
-            List<EntityAccess> entityAccesses = new ArrayList<>();
             // optimize batch inserts for multiple entities with native id
             final Neo4jSession session = getSession();
-
-            StringBuilder createCypher = new StringBuilder(CypherBuilder.CYPHER_CREATE);
-            int listIndex = 0;
-            List<PendingOperation<Object,Serializable>> cascadingOperations = new ArrayList<>();
-            final Map<String, Object> params = new HashMap<>(1);
-            final Map<Integer, Integer> indexMap = new HashMap<>();
-            int insertIndex = 0;
-            final Iterator iterator = objs.iterator();
-            boolean previous = false;
-            while (iterator.hasNext()) {
-                Object obj = iterator.next();
-                listIndex++;
+            final int chunkSize = session.getBatchSize() > 0 ? session.getBatchSize() : Neo4jSession.DEFAULT_BATCH_SIZE;
+            final List<PendingInsert<Object, Serializable>> chunk = new ArrayList<>();
+            final List<Integer> idIndexes = new ArrayList<>();
+            for (Object obj : objs) {
                 if (shouldIgnore(session, obj)) {
                     EntityAccess entityAccess = createEntityAccess(pe, obj);
                     idList.add((Serializable) entityAccess.getIdentifier());
@@ -157,7 +147,6 @@ public class Neo4jEntityPersister extends EntityPersister {
                         }
                     });
 
-                    cascadingOperations.addAll(pendingInsert.getCascadeOperations());
                     final List<PendingOperation<Object, Serializable>> preOperations = pendingInsert.getPreOperations();
                     for (PendingOperation preOperation : preOperations) {
                         preOperation.run();
@@ -174,59 +163,22 @@ public class Neo4jEntityPersister extends EntityPersister {
                     }
 
                     session.addPendingInsert(pendingInsert);
-
-                    indexMap.put(insertIndex++, listIndex - 1);
-                    entityAccesses.add(entityAccess);
-                    if(previous) {
-                        createCypher.append(CypherBuilder.COMMAND_SEPARATOR);
+                    chunk.add(pendingInsert);
+                    idIndexes.add(idList.size() - 1);
+                    if (chunk.size() >= chunkSize) {
+                        createChunk(chunk, idList, idIndexes);
+                        chunk.clear();
+                        idIndexes.clear();
                     }
-                    session.buildEntityCreateOperation(createCypher, String.valueOf(insertIndex), entityAccess.getPersistentEntity(), pendingInsert, params, cascadingOperations);
-                    if(iterator.hasNext()) {
-                        previous = true;
-                    }
-
                 }
-
             }
-            if(insertIndex > 0) {
-
-                QueryRunner statementRunner = session.hasTransaction() ? session.getTransaction().getNativeTransaction() : session.getNativeInterface();
-
-                final String finalCypher = createCypher.toString() + " RETURN *";
-                if(log.isDebugEnabled()) {
-                    log.debug("CREATE Cypher [{}] for parameters [{}]", finalCypher, params);
-                }
-
-                if(graphPersistentEntity.hasDynamicAssociations()) {
-                    params.remove(DYNAMIC_ASSOCIATION_PARAM);
-                }
-
-                final Result result = statementRunner.run(finalCypher, params);
-
-                if(!result.hasNext()) {
-                    throw new IdentityGenerationException("CREATE operation did not generate an identifier for entity " + pe.getJavaClass());
-                }
-
-                final Record record = result.next();
-                for (int j = 0; j < insertIndex; j++) {
-                    final Integer targetIndex = indexMap.get(j);
-                    Assert.notNull(targetIndex, "Should never be null. Please file an issue");
-
-                    final Node node = record.get("n" + (j + 1)).asNode();
-                    if(node == null) {
-                        throw new IdentityGenerationException("CREATE operation did not generate an identifier for entity " + pe.getJavaClass());
-                    }
-                    final long identifier = node.id();
-                    final EntityAccess entityAccess = entityAccesses.get(j);
-                    entityAccess.setIdentifier(identifier);
-                    idList.set(targetIndex, identifier);
-                    persistAssociationsOfEntity((GraphPersistentEntity) pe, entityAccess, false);
-
-                }
+            if (!chunk.isEmpty()) {
+                createChunk(chunk, idList, idIndexes);
             }
         }
         else {
-
+            // assigned and generated ids are known before the write, so the inserts are queued and sent in chunks of
+            // batched UNWIND statements when the session is flushed
             for (Object obj : objs) {
                 final EntityAccess entityAccess = createEntityAccess(pe, obj);
                 Serializable id = persistEntity(entityAccess.getPersistentEntity(), obj);
@@ -238,6 +190,75 @@ public class Neo4jEntityPersister extends EntityPersister {
         return idList;
     }
 
+    /**
+     * Creates the nodes of a chunk of inserts with a single UNWIND statement per label set. Associations are registered once
+     * the nodes exist and are written as batched relationship statements when the session is flushed
+     *
+     * @param chunk The pending inserts
+     * @param idList The list of ids to populate with native ids
+     * @param idIndexes The position of each insert of the chunk in the list of ids
+     */
+    private void createChunk(List<PendingInsert<Object, Serializable>> chunk, List<Serializable> idList, List<Integer> idIndexes) {
+        final Neo4jSession session = getSession();
+        final Map<String, List<Map<String, Object>>> rowsByStatement = new LinkedHashMap<>();
+        final Map<String, String> batchIds = new HashMap<>();
+        final List<Map<String, List<Object>>> dynamicAssociations = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            final PendingInsert<Object, Serializable> pendingInsert = chunk.get(i);
+            final GraphPersistentEntity persistentEntity = (GraphPersistentEntity) pendingInsert.getEntity();
+            final String batchId = persistentEntity.getBatchId();
+            final String statement;
+            if (persistentEntity.hasDynamicLabels()) {
+                final String labels = persistentEntity.getLabelsWithInheritance(pendingInsert.getObject());
+                statement = persistentEntity.formatBatchCreateReturningId("$" + batchId, labels);
+            }
+            else {
+                statement = persistentEntity.getBatchCreateReturningIdStatement();
+            }
+            final Map<String, List<Object>> dynamicRelProps = new LinkedHashMap<>();
+            final Map<String, Object> row = session.buildEntityCreateRow(persistentEntity, pendingInsert, dynamicRelProps);
+            row.put(CypherBuilder.ROW_INDEX, i);
+            rowsByStatement.computeIfAbsent(statement, s -> new ArrayList<>()).add(row);
+            batchIds.put(statement, batchId);
+            dynamicAssociations.add(dynamicRelProps);
+        }
+
+        final QueryRunner statementRunner = session.hasTransaction() ? session.getTransaction().getNativeTransaction() : session.getNativeInterface();
+        int created = 0;
+        for (Map.Entry<String, List<Map<String, Object>>> entry : rowsByStatement.entrySet()) {
+            final String cypher = entry.getKey();
+            final Map<String, Object> params = Collections.singletonMap(batchIds.get(cypher), entry.getValue());
+            if (log.isDebugEnabled()) {
+                log.debug("CREATE Cypher [{}] for parameters [{}]", cypher, params);
+            }
+            // the ids are read back record by record rather than from a single record holding every node of the chunk
+            final Result result = statementRunner.run(cypher, params);
+            while (result.hasNext()) {
+                final Record record = result.next();
+                final int index = record.get(CypherBuilder.ROW_INDEX).asInt();
+                final long identifier = record.get(GormProperties.IDENTITY).asLong();
+                chunk.get(index).getEntityAccess().setIdentifier(identifier);
+                idList.set(idIndexes.get(index), identifier);
+                created++;
+            }
+        }
+        if (created != chunk.size()) {
+            throw new IdentityGenerationException("CREATE operation did not generate an identifier for every instance of entity " + chunk.get(0).getEntity().getJavaClass());
+        }
+
+        final Neo4jMappingContext mappingContext = (Neo4jMappingContext) getMappingContext();
+        for (int i = 0; i < chunk.size(); i++) {
+            final PendingInsert<Object, Serializable> pendingInsert = chunk.get(i);
+            final GraphPersistentEntity persistentEntity = (GraphPersistentEntity) pendingInsert.getEntity();
+            final EntityAccess entityAccess = pendingInsert.getEntityAccess();
+            persistAssociationsOfEntity(persistentEntity, entityAccess, false);
+            final Map<String, List<Object>> dynamicRelProps = dynamicAssociations.get(i);
+            if (!dynamicRelProps.isEmpty()) {
+                processDynamicAssociations(persistentEntity, entityAccess, mappingContext, dynamicRelProps, pendingInsert.getCascadeOperations(), false);
+            }
+        }
+    }
+
     @Override
     protected Object retrieveEntity(PersistentEntity pe, Serializable key) {
 
@@ -247,6 +268,8 @@ public class Neo4jEntityPersister extends EntityPersister {
 
         final Neo4jQuery query = new Neo4jQuery(getSession(), pe, this);
         query.idEq(key);
+        // a single instance is requested, so it is loaded with all of its properties
+        query.loadLazyProperties();
         return query.max(1).singleResult();
     }
 
@@ -285,6 +308,10 @@ public class Neo4jEntityPersister extends EntityPersister {
         if (instance == null) {
             instance = unmarshall(persistentEntity, id, data, resultData, initializedAssociations);
         }
+        else if (!(data instanceof PartialNode) && session.isPartiallyLoaded(instance)) {
+            // the node was read with all of its properties, so complete the instance that was partially loaded earlier
+            session.initializeProperties(instance, data);
+        }
         return instance;
     }
 
@@ -413,22 +440,25 @@ public class Neo4jEntityPersister extends EntityPersister {
         }
 
         final Object entity = entityAccess.getEntity();
-        session.cacheInstance(persistentEntity.getJavaClass(), id, entity);
+        // a stateless session keeps no reference to the instances it reads
+        final boolean stateless = session.isStateless();
+        if(!stateless) {
+            session.cacheInstance(persistentEntity.getJavaClass(), id, entity);
+        }
 
-        final List<String> nodeProperties = DefaultGroovyMethods.toList(node.keys());
+        // the simple properties are decoded by the codec of the entity, which implicitly sets the version property as well
+        final EntityCodec codec = graphPersistentEntity.getCodec();
+        final int decodedProperties = codec.decode(node, entity);
+        if(!stateless && node instanceof PartialNode) {
+            final Set<String> unloadedProperties = new HashSet<>(codec.getPropertyNames());
+            unloadedProperties.removeAll(((PartialNode) node).getLoadedProperties());
+            session.addPartiallyLoaded(entity, unloadedProperties);
+        }
 
-        for (PersistentProperty property: entityAccess.getPersistentEntity().getPersistentProperties()) {
+        for (PersistentProperty property: codec.getOtherProperties()) {
 
             String propertyName = property.getName();
-            if ( (property instanceof Simple) || (property instanceof TenantId) || (property instanceof Basic)) {
-                // implicitly sets version property as well
-                if(node.containsKey(propertyName)) {
-
-                    entityAccess.setProperty(propertyName, node.get(propertyName).asObject());
-
-                    nodeProperties.remove(propertyName);
-                }
-            } else if (property instanceof Association) {
+            if (property instanceof Association) {
 
                 Association association = (Association) property;
 
@@ -448,12 +478,19 @@ public class Neo4jEntityPersister extends EntityPersister {
                     final PersistentEntity associatedEntity = association.getAssociatedEntity();
                     if (association instanceof ToOne) {
                         final Neo4jEntityPersister associationPersister = session.getEntityPersister(associatedEntity.getJavaClass());
-                        final Iterable<Node> associationNodes = (Iterable<Node>) resultData.get(associationNodesKey);
-                        final Node associationNode = IteratorUtil.singleOrNull(associationNodes);
-                        if(associationNode != null) {
+                        final Iterable<Object> associationNodes = (Iterable<Object>) resultData.get(associationNodesKey);
+                        final Object associationNode = IteratorUtil.singleOrNull(associationNodes);
+                        if(associationNode instanceof Map) {
+                            // the map projection of a fetch plan, holding the node along with its nested associations
                             entityAccess.setPropertyNoConversion(
                                     associationName,
-                                    associationPersister.unmarshallOrFromCache(associatedEntity, associationNode)
+                                    associationPersister.unmarshallOrFromCache(associatedEntity, (Map<String, Object>) associationNode)
+                            );
+                        }
+                        else if(associationNode != null) {
+                            entityAccess.setPropertyNoConversion(
+                                    associationName,
+                                    associationPersister.unmarshallOrFromCache(associatedEntity, (Node) associationNode)
                             );
                         }
                     }
@@ -485,7 +522,12 @@ public class Neo4jEntityPersister extends EntityPersister {
                                 ));
                             }
                         }
-                        if(List.class.isAssignableFrom(type)) {
+                        if(stateless) {
+                            // a detached snapshot without dirty checking, since the instance is never flushed
+                            values = List.class.isAssignableFrom(type) ? new ArrayList<>(resultSet) :
+                                     SortedSet.class.isAssignableFrom(type) ? new TreeSet<>(resultSet) : new HashSet<>(resultSet);
+                        }
+                        else if(List.class.isAssignableFrom(type)) {
                             values = new Neo4jList(entityAccess, association, resultSet, session);
                         }
                         else if(SortedSet.class.isAssignableFrom(type)) {
@@ -553,6 +595,9 @@ public class Neo4jEntityPersister extends EntityPersister {
                                     associationQueryExecutor,
                                     id
                             );
+                            if(!stateless && Neo4jAssociationQueryExecutor.getBatchSize(association) > 1) {
+                                getSession().getLazyAssociationBatch().addUninitialized(association, id, proxy);
+                            }
                             entityAccess.setPropertyNoConversion(propertyName,
                                     proxy
                             );
@@ -576,6 +621,9 @@ public class Neo4jEntityPersister extends EntityPersister {
                         else {
                             values = new Neo4jPersistentSet(id, session, entityAccess, (ToMany) association);
                         }
+                        if(!stateless && Neo4jAssociationQueryExecutor.getBatchSize(association) > 1) {
+                            getSession().getLazyAssociationBatch().addUninitialized(association, id, (PersistentCollection) values);
+                        }
                         entityAccess.setPropertyNoConversion(propertyName, values);
                     }
                 }
@@ -587,22 +635,22 @@ public class Neo4jEntityPersister extends EntityPersister {
             }
         }
 
-        Map<String,Object> undeclared = new LinkedHashMap<>();
-
-        if (!nodeProperties.isEmpty()) {
-            for (String nodeProperty : nodeProperties) {
-                if(!nodeProperty.equals(CypherBuilder.IDENTIFIER)) {
+        final Object obj = entity;
+        if(obj instanceof DynamicAttributes && node.size() > decodedProperties) {
+            Map<String,Object> undeclared = new LinkedHashMap<>();
+            for (String nodeProperty : node.keys()) {
+                if(!codec.isDeclared(nodeProperty) && !nodeProperty.equals(CypherBuilder.IDENTIFIER)) {
                     undeclared.put(nodeProperty, node.get(nodeProperty).asObject());
                 }
             }
-        }
-
-        final Object obj = entity;
-        if(!undeclared.isEmpty()) {
-            if(obj instanceof DynamicAttributes) {
+            if(!undeclared.isEmpty()) {
                 ((DynamicAttributes)obj).attributes(undeclared);
             }
         }
+        if(!stateless && graphPersistentEntity.hasDynamicAssociations() && obj instanceof DynamicAttributes) {
+            // the dynamic associations of the instances loaded by the session are loaded together when first accessed
+            getSession().getLazyAssociationBatch().addDynamicAssociationOwner(graphPersistentEntity, id, obj);
+        }
 
         firePostLoadEvent(entityAccess.getPersistentEntity(), entityAccess);
         return obj;
@@ -653,11 +701,23 @@ public class Neo4jEntityPersister extends EntityPersister {
         else {
             final DirtyCheckableCollection dirtyCheckableCollection = (DirtyCheckableCollection) delegate;
             final Neo4jSession session = getSession();
-            if(dirtyCheckableCollection.hasChanged()) {
+            final RelationshipDelta delta = delegate instanceof RelationshipDelta ? (RelationshipDelta) delegate : null;
+            if(delta != null && delta.isDeltaTracked()) {
+                // only the relationships of added entities are created, removals are already pending deletion
+                for (Object o : delta.getAddedEntities()) {
+                    final EntityAccess associationAccess = session.createEntityAccess(association.getAssociatedEntity(), o);
+                    session.addPendingRelationshipInsert((Serializable) entityAccess.getIdentifier(), association, (Serializable) associationAccess.getIdentifier());
+                }
+                delta.resetDelta();
+            }
+            else if(dirtyCheckableCollection.hasChanged()) {
                 for (Object o : ((Iterable)dirtyCheckableCollection)) {
                     final EntityAccess associationAccess = getSession().createEntityAccess(association.getAssociatedEntity(), o);
                     session.addPendingRelationshipInsert((Serializable) entityAccess.getIdentifier(),association, (Serializable) associationAccess.getIdentifier());
                 }
+                if(delta != null) {
+                    delta.resetDelta();
+                }
             }
         }
         return delegate;
@@ -927,8 +987,12 @@ public class Neo4jEntityPersister extends EntityPersister {
                         }
 
                         if (association.isBidirectional()) {
-                            // Populate other side of bidi
-                            for (Object associatedObject: (Iterable)propertyValue) {
+                            // Populate other side of bidi, for a tracked collection only the added entities need it
+                            Iterable associatedObjects = (Iterable) propertyValue;
+                            if(isUpdate && propertyValue instanceof RelationshipDelta && ((RelationshipDelta) propertyValue).isDeltaTracked()) {
+                                associatedObjects = new ArrayList<>(((RelationshipDelta) propertyValue).getAddedEntities());
+                            }
+                            for (Object associatedObject: associatedObjects) {
                                 EntityAccess assocEntityAccess = createEntityAccess(association.getAssociatedEntity(), associatedObject);
                                 String referencedPropertyName = association.getReferencedPropertyName();
                                 if(association instanceof ManyToMany) {
@@ -950,6 +1014,10 @@ public class Neo4jEntityPersister extends EntityPersister {
                             Collection dcc = createDirtyCheckableAwareCollection(entityAccess, association, targets);
                             entityAccess.setProperty(association.getName(), dcc);
                         }
+                        else if (propertyValue instanceof RelationshipDelta) {
+                            // the relationships of a reversed association are written from the inverse side populated above
+                            ((RelationshipDelta) propertyValue).resetDelta();
+                        }
                     }
                 } else if (persistentProperty instanceof ToOne) {
                     if (propertyValue != null) {
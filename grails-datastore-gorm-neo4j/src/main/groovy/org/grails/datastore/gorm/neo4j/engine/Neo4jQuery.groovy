@@ -14,6 +14,7 @@
  */
 package org.grails.datastore.gorm.neo4j.engine
 
+import grails.neo4j.KeysetResultList
 import groovy.transform.CompileStatic
 import groovy.transform.EqualsAndHashCode
 import groovy.util.logging.Slf4j
@@ -29,16 +30,26 @@ import org.grails.datastore.mapping.model.types.ManyToOne
 import org.grails.datastore.mapping.model.types.ToMany
 import org.grails.datastore.mapping.model.types.ToOne
 import org.grails.datastore.mapping.query.AssociationQuery
+import org.grails.datastore.mapping.query.Projections
 import org.grails.datastore.mapping.query.Query
 import org.grails.datastore.mapping.query.QueryException
 import org.grails.datastore.mapping.reflect.EntityReflector
+import org.neo4j.driver.AccessMode
 import org.neo4j.driver.Record
 import org.neo4j.driver.Result
 import org.neo4j.driver.QueryRunner
+import org.neo4j.driver.SessionConfig
 import org.neo4j.driver.Value
+import org.neo4j.driver.types.Entity
 import org.neo4j.driver.types.Node
 
+import org.reactivestreams.Publisher
+
 import javax.persistence.FetchType
+import java.util.concurrent.CompletionStage
+import java.util.function.Function
+import java.util.stream.Stream
+import java.util.stream.StreamSupport
 
 /**
  * perform criteria queries on a Neo4j backend
@@ -50,19 +61,149 @@ import javax.persistence.FetchType
 @Slf4j
 class Neo4jQuery extends Query {
 
+    /**
+     * The maximum number of associations in a fetch path such as "lines.product.supplier"
+     */
+    static final int MAX_FETCH_DEPTH = 5
+
+    /**
+     * The initial size of the arrays that properties are plucked into, or the maximum number of results of the query if
+     * it is smaller, so that a large maximum does not allocate an array for more results than are read
+     */
+    static final int DEFAULT_PLUCK_CAPACITY = 64
+
     private static final String ORDER_BY_CLAUSE = " ORDER BY "
     private static final String BLANK = ""
 
     final Neo4jEntityPersister neo4jEntityPersister
     final boolean isRelationshipEntity
+    protected boolean keyset
+    protected KeysetCursor afterCursor
+    protected Set<String> selectedProperties
+    protected boolean lazyPropertiesLoaded
+    protected Class<?> dtoType
+    protected boolean dtoProperties
 
     Neo4jQuery(Neo4jSession session, PersistentEntity entity, Neo4jEntityPersister neo4jEntityPersister) {
+        this(session, entity, neo4jEntityPersister, true)
+    }
+
+    /**
+     * @param requiresTransaction Whether the query is executed in the transaction of the session. Queries that are executed
+     * with the reactive driver do not start a transaction of the session
+     */
+    Neo4jQuery(Neo4jSession session, PersistentEntity entity, Neo4jEntityPersister neo4jEntityPersister, boolean requiresTransaction) {
         super(session, entity)
-        session.assertTransaction()
+        if(requiresTransaction) {
+            session.assertTransaction()
+        }
         this.neo4jEntityPersister = neo4jEntityPersister
         this.isRelationshipEntity = entity instanceof RelationshipPersistentEntity
     }
 
+    /**
+     * Uses keyset pagination, so that the query only returns the results after the given cursor and the results are
+     * returned as a {@link KeysetResultList} along with the cursor of the next page. The results are ordered by the sort
+     * keys of the query followed by the identifier, so the page does not need to skip the rows of the previous pages
+     *
+     * @param cursor The cursor obtained from the previous page or null for the first page
+     * @return This query
+     */
+    Neo4jQuery after(String cursor) {
+        if(isRelationshipEntity) {
+            throw new UnsupportedOperationException("Keyset pagination is not supported for relationship entities")
+        }
+        this.keyset = true
+        this.afterCursor = cursor != null ? KeysetCursor.decode(cursor) : null
+        return this
+    }
+
+    /**
+     * Loads the association paths of a named fetch plan of the entity together with the results
+     *
+     * @param name The name of the plan declared in the mapping of the entity
+     * @return This query
+     * @see GraphPersistentEntity#getFetchPlan(java.lang.String)
+     */
+    Neo4jQuery fetchPlan(String name) {
+        for (String path in ((GraphPersistentEntity) entity).getFetchPlan(name)) {
+            join(path)
+        }
+        return this
+    }
+
+    /**
+     * Only loads the given simple properties of the results, which are partially loaded. The remaining properties are
+     * loaded when the instance is retrieved by id or read again by a query that loads all of its properties
+     *
+     * @param propertyNames The names of the properties to load
+     * @return This query
+     */
+    Neo4jQuery selectProperties(Collection<String> propertyNames) {
+        if(isRelationshipEntity) {
+            throw new UnsupportedOperationException("Selecting properties is not supported for relationship entities")
+        }
+        GraphPersistentEntity graphEntity = (GraphPersistentEntity) entity
+        Set<String> selected = new LinkedHashSet<String>()
+        for (String name in propertyNames) {
+            if (name == graphEntity.identity.name) continue
+            if (!graphEntity.codec.isDeclared(name)) {
+                throw new QueryException("Property [$name] of class [$entity.name] cannot be selected, only simple properties can be selected")
+            }
+            selected.add(name)
+        }
+        this.selectedProperties = selected
+        return this
+    }
+
+    /**
+     * Loads all of the properties of the results, including those mapped as lazy
+     *
+     * @return This query
+     */
+    Neo4jQuery loadLazyProperties() {
+        this.selectedProperties = null
+        this.lazyPropertiesLoaded = true
+        return this
+    }
+
+    /**
+     * Maps the projections of the results straight into instances of the given class, such as a DTO or a record, instead
+     * of returning lists of values. No entities are created, so the instances are neither cached by the session nor checked
+     * for changes. The projected values are passed to a public constructor with a parameter for each projection, in the
+     * order of the projections.
+     *
+     * If the query has no projections, the properties of the entity that the class declares are projected. They are set
+     * on instances created with the public no argument constructor or, if there is none, passed to the constructor whose
+     * parameter names are properties of the entity, which requires the names to be compiled into the class as they are
+     * for records. The projections of the query should therefore be added before calling this method
+     *
+     * @param type The class of the results
+     * @return This query
+     */
+    Neo4jQuery projectInto(Class<?> type) {
+        if(isRelationshipEntity) {
+            throw new UnsupportedOperationException("Projecting into classes is not supported for relationship entities")
+        }
+        this.dtoType = type
+        if(projections.projectionList.isEmpty()) {
+            GraphPersistentEntity graphEntity = (GraphPersistentEntity) entity
+            List<String> names = DtoMapper.findConstructorParameters(type, graphEntity)
+            if(names == null) {
+                names = DtoMapper.findProjectedProperties(type, graphEntity)
+                this.dtoProperties = true
+            }
+            if(names.isEmpty()) {
+                throw new QueryException("Class [$type.name] has no properties or constructor parameters that are properties of class [$entity.name]")
+            }
+            Query.ProjectionList projectionList = projections()
+            for (String name in names) {
+                projectionList.property(name)
+            }
+        }
+        return this
+    }
+
     private static Map<Class<? extends Query.PropertyComparisonCriterion>, String> COMPARISON_OPERATORS = [
             (Query.GreaterThanEqualsProperty): CriterionHandler.OPERATOR_GREATER_THAN_EQUALS,
             (Query.EqualsProperty): CriterionHandler.OPERATOR_EQUALS,
@@ -77,6 +218,10 @@ class Neo4jQuery extends Query {
                 @Override
                 @CompileStatic
                 String handle(PersistentEntity entity, Query.CountProjection projection, CypherBuilder builder) {
+                    // count each node once if criteria on associations match several related nodes
+                    if(builder.hasMatches() && !((GraphPersistentEntity) entity).isRelationshipEntity()) {
+                        return "count(DISTINCT ${CypherBuilder.NODE_VAR})".toString()
+                    }
                     return ProjectionHandler.COUNT
                 }
             },
@@ -381,7 +526,14 @@ class Neo4jQuery extends Query {
 
     private String applyOrderAndLimits(CypherBuilder cypherBuilder) {
         StringBuilder cypher = new StringBuilder(BLANK)
-        if (!orderBy.empty) {
+        if (keyset) {
+            if (offset != 0) {
+                throw new IllegalArgumentException("Argument [offset] cannot be combined with keyset pagination")
+            }
+            cypher << ORDER_BY_CLAUSE
+            cypher << keysetKeys().collect { KeysetKey key -> "${key.expression} ${key.direction}" }.join(", ")
+        }
+        else if (!orderBy.empty) {
             cypher << ORDER_BY_CLAUSE
             cypher << orderBy.collect { Query.Order order ->
                 "${isRelationshipEntity ? RelationshipPersistentEntity.FROM : CypherBuilder.NODE_VAR}.${order.property} $order.direction"
@@ -403,119 +555,20 @@ class Neo4jQuery extends Query {
     @Override
     protected List executeQuery(PersistentEntity persistentEntity, Query.Junction criteria) {
 
-        CypherBuilder cypherBuilder = buildBaseQuery(persistentEntity, criteria)
-        cypherBuilder.setOrderAndLimits(applyOrderAndLimits(cypherBuilder))
-        GraphPersistentEntity graphEntity = (GraphPersistentEntity)persistentEntity
+        CypherBuilder cypherBuilder = buildQuery(persistentEntity, criteria)
         def projectionList = projections.projectionList
 
-        if(projectionList.isEmpty()) {
-             if(isRelationshipEntity) {
-                 cypherBuilder.addReturnColumn(CypherBuilder.DEFAULT_REL_RETURN_STATEMENT)
-             }
-             else {
-                 Set<Association> associations = new TreeSet<Association>((Comparator<Association>){ Association a1, Association a2 -> a1.name <=> a2.name })
-                 Collection<PersistentEntity> childEntities = persistentEntity.mappingContext.getChildEntities(persistentEntity)
-                 if (!childEntities.empty) {
-                     for (PersistentEntity childEntity : childEntities) {
-                         associations.addAll(childEntity.associations)
-                     }
-                 }
-                 associations.addAll(persistentEntity.associations)
-
-                 if(associations.size() > 0) {
-                     int i = 0
-                     List previousAssociations = []
-                     cypherBuilder.addReturnColumn(CypherBuilder.DEFAULT_RETURN_TYPES)
-
-                     for(Association association in associations) {
-                         if(association.isBasic()) continue
-
-                         FetchType fetchType = fetchStrategy(association.name)
-                         boolean isEager = fetchType.is(fetchType.EAGER)
-
-                         String r = "r${i++}"
-
-                         String associationName = association.name
-                         GraphPersistentEntity associatedGraphEntity = (GraphPersistentEntity)association.associatedEntity
-                         boolean isAssociationRelationshipEntity = associatedGraphEntity.isRelationshipEntity()
-                         boolean isToMany = association instanceof ToMany
-                         boolean isToOne = association instanceof ToOne
-
-                         boolean lazy  = false
-                         boolean isNullable = false
-                         if(isToOne && !isEager) {
-                             Property propertyMapping = association.mapping.mappedForm
-                             Boolean isLazy = propertyMapping.getLazy()
-                             isNullable = propertyMapping.isNullable()
-                             lazy = (isLazy != null ? isLazy : (association instanceof ManyToOne ? !association.isCircular() : true))
-
-                         }
-                         else if(isToMany) {
-                             lazy = ((ToMany)association).lazy
-                         }
-
-                         // if there are associations, add a join to get them
-                         String withMatch = "WITH n, ${previousAssociations.size() > 0 ? previousAssociations.join(", ") + ", " : ""}"
-                         String associationIdsRef = "${associationName}Ids"
-                         String associationNodeRef = "${associationName}Node"
-                         String associationNodesRef = "${associationName}Nodes"
-
-                         boolean addOptionalMatch = false
-                         // If it is a one-to-many and lazy=true
-                         // Or it is a one-to-one where the association is nullable or not lazy
-                         // then just collect the identifiers and not the nodes
-                         if((isToMany && lazy) || (isToOne && !isEager && (isNullable || !lazy ) )) {
-                             withMatch += "collect(DISTINCT ${associatedGraphEntity.formatId(associationNodeRef)}) as ${associationIdsRef}"
-                             cypherBuilder.addReturnColumn(associationIdsRef)
-                             previousAssociations << associationIdsRef
-                             addOptionalMatch = true
-                         }
-                         else if(isEager) {
-                             withMatch += "collect(DISTINCT $associationNodeRef) as $associationNodesRef"
-                             cypherBuilder.addReturnColumn(associationNodesRef)
-                             if(isAssociationRelationshipEntity) {
-                                 withMatch += ", collect($r) as ${associationName}Rels"
-                                 cypherBuilder.addReturnColumn("${associationName}Rels")
-                             }
-                             previousAssociations << associationNodesRef
-                             addOptionalMatch = true
-                         }
-
-                         if(addOptionalMatch) {
-
-                             String relationshipPattern = graphEntity
-                                     .formatAssociationPatternFromExisting(
-                                     association,
-                                     r,
-                                     CypherBuilder.NODE_VAR,
-                                     associationNodeRef
-                             )
-                             cypherBuilder.addOptionalMatch(
-                                     "$relationshipPattern $withMatch"
-                             )
-                         }
-
-                     }
-                 }
-             }
-        }
-        else {
-            for (projection in projectionList) {
-                cypherBuilder.addReturnColumn(buildProjection(projection, cypherBuilder))
-            }
-        }
-
-
-        String cypher = cypherBuilder.build()
-        Map<String, Object> params = cypherBuilder.getParams()
-
-        log.debug("QUERY Cypher [$cypher] for params [$params]")
-
-        QueryRunner statementRunner = session.hasTransaction() ? session.getTransaction().getTransaction() : boltSession
-        Result executionResult = params.isEmpty() ? statementRunner.run(cypher) : statementRunner.run(cypher, params)
+        Result executionResult = run(cypherBuilder)
         if (projectionList.empty) {
-            return new Neo4jResultList(offset, executionResult, neo4jEntityPersister, lockResult)
+            Neo4jResultList results = new Neo4jResultList(offset, executionResult, neo4jEntityPersister, lockResult)
+            return keyset ? createKeysetResults(results) : results
         } else {
+            if (keyset) {
+                throw new UnsupportedOperationException("Projections cannot be combined with keyset pagination")
+            }
+            if (dtoType != null) {
+                return projectIntoDtos(executionResult, projectionList)
+            }
 
             List projectedResults = []
             while( executionResult.hasNext() ) {
@@ -552,6 +605,597 @@ class Neo4jQuery extends Query {
         }
     }
 
+    /**
+     * Maps each record into an instance of the class given to {@link #projectInto(java.lang.Class)}, with the mapper
+     * resolved once for each class and list of projections
+     */
+    protected List projectIntoDtos(Result executionResult, List<Query.Projection> projectionList) {
+        List<String> names = new ArrayList<String>(projectionList.size())
+        for (Query.Projection projection in projectionList) {
+            names.add(projection instanceof Query.PropertyProjection ? ((Query.PropertyProjection) projection).propertyName : null)
+        }
+        List<Object> key = Arrays.<Object>asList(dtoType, names, dtoProperties)
+        Neo4jMappingContext mappingContext = (Neo4jMappingContext) entity.mappingContext
+        DtoMapper mapper = mappingContext.dtoMappers.get(key, { List<Object> k ->
+            dtoProperties ? DtoMapper.forProperties(dtoType, names, mappingContext) : DtoMapper.forConstructor(dtoType, names, mappingContext)
+        } as Function<List<Object>, DtoMapper<?>>)
+
+        List results = []
+        while( executionResult.hasNext() ) {
+            results.add(mapper.map(executionResult.next()))
+        }
+        return results
+    }
+
+    /**
+     * Runs the Cypher of the query in the transaction of the session, if there is one
+     */
+    protected Result run(CypherBuilder cypherBuilder) {
+        String cypher = cypherBuilder.build()
+        Map<String, Object> params = cypherBuilder.getParams()
+
+        log.debug("QUERY Cypher [$cypher] for params [$params]")
+
+        QueryRunner statementRunner = session.hasTransaction() ? session.getTransaction().getTransaction() : boltSession
+        return params.isEmpty() ? statementRunner.run(cypher) : statementRunner.run(cypher, params)
+    }
+
+    /**
+     * Reads a numeric property of the results into an array, reading each value from the {@link Result} as a primitive so
+     * that the values are neither boxed nor collected into a list. Null values are skipped, so the array may have fewer
+     * elements than the number of results. The post query event is published with a read only view of the array, so only
+     * the values read by its listeners are boxed
+     *
+     * @param propertyName The name of the property, whose values must be integers
+     * @return The values
+     */
+    long[] pluckLongs(String propertyName) {
+        Result result = runPluck(propertyName)
+        long[] values = new long[max > 0 ? Math.min(max, DEFAULT_PLUCK_CAPACITY) : DEFAULT_PLUCK_CAPACITY]
+        int size = 0
+        while( result.hasNext() ) {
+            Value value = result.next().get(0)
+            if(value.isNull()) continue
+            if(size == values.length) {
+                values = Arrays.copyOf(values, size << 1)
+            }
+            values[size++] = value.asLong()
+        }
+        final long[] plucked = size == values.length ? values : Arrays.copyOf(values, size)
+        firePostQueryEvent(new AbstractList<Long>() {
+            @Override
+            Long get(int index) {
+                return plucked[index]
+            }
+
+            @Override
+            int size() {
+                return plucked.length
+            }
+        })
+        return plucked
+    }
+
+    /**
+     * Reads a numeric property of the results into an array without boxing the values
+     *
+     * @param propertyName The name of the property, whose values must be numbers that convert to doubles without loss
+     * @return The values
+     * @see #pluckLongs(java.lang.String)
+     */
+    double[] pluckDoubles(String propertyName) {
+        Result result = runPluck(propertyName)
+        double[] values = new double[max > 0 ? Math.min(max, DEFAULT_PLUCK_CAPACITY) : DEFAULT_PLUCK_CAPACITY]
+        int size = 0
+        while( result.hasNext() ) {
+            Value value = result.next().get(0)
+            if(value.isNull()) continue
+            if(size == values.length) {
+                values = Arrays.copyOf(values, size << 1)
+            }
+            values[size++] = value.asDouble()
+        }
+        final double[] plucked = size == values.length ? values : Arrays.copyOf(values, size)
+        firePostQueryEvent(new AbstractList<Double>() {
+            @Override
+            Double get(int index) {
+                return plucked[index]
+            }
+
+            @Override
+            int size() {
+                return plucked.length
+            }
+        })
+        return plucked
+    }
+
+    private Result runPluck(String propertyName) {
+        if(!projections.projectionList.isEmpty()) {
+            throw new QueryException("Projections cannot be combined with plucking property [$propertyName]")
+        }
+        if(keyset) {
+            throw new UnsupportedOperationException("Plucking properties cannot be combined with keyset pagination")
+        }
+        GraphPersistentEntity graphEntity = (GraphPersistentEntity) entity
+        if(propertyName != graphEntity.identity.name && !graphEntity.codec.isDeclared(propertyName)) {
+            throw new QueryException("Property [$propertyName] of class [$entity.name] cannot be plucked, only simple properties can be plucked")
+        }
+
+        flushBeforeQuery()
+        firePreQueryEvent()
+        return run(buildQuery(entity, criteria, Collections.<Query.Projection>singletonList(Projections.property(propertyName))))
+    }
+
+    /**
+     * Streams the entities matching the query, decoding each record from the {@link Result} as the stream is consumed
+     * rather than loading them into a list. The stream should be closed once it has been consumed.
+     *
+     * @param fetchSize The number of records to fetch from the server at a time. If greater than zero the query is executed
+     * in a read transaction of its own, which does not see the changes of the current transaction. Otherwise the query is
+     * executed in the current transaction using the fetch size configured for the driver
+     * @param detach Whether to remove each entity loaded by the stream from the session once decoded, so that the memory
+     * used remains constant. Entities that were already in the session before they were streamed are kept in it
+     * @return The stream of entities
+     */
+    Stream<Object> stream(int fetchSize = 0, boolean detach = true) {
+        if(!projections.projectionList.isEmpty()) {
+            throw new QueryException("Projections are not supported when streaming the results of a query")
+        }
+
+        flushBeforeQuery()
+        firePreQueryEvent()
+
+        CypherBuilder cypherBuilder = buildQuery(entity, criteria)
+        String cypher = cypherBuilder.build()
+        Map<String, Object> params = cypherBuilder.getParams()
+
+        log.debug("STREAM Cypher [$cypher] for params [$params]")
+
+        final Neo4jSession session = getSession()
+        final org.neo4j.driver.Session streamSession = fetchSize > 0 ? session.boltDriver.session(
+                SessionConfig.builder().withDefaultAccessMode(AccessMode.READ).withFetchSize(fetchSize).build()
+        ) : null
+        final org.neo4j.driver.Transaction streamTransaction = streamSession?.beginTransaction()
+        Result result
+        try {
+            QueryRunner statementRunner = streamTransaction != null ? streamTransaction : (session.hasTransaction() ? session.getTransaction().getTransaction() : boltSession)
+            result = statementRunner.run(cypher, params)
+        } catch (Throwable e) {
+            streamSession?.close()
+            throw e
+        }
+
+        final Neo4jResultList decoder = new Neo4jResultList(0, result, neo4jEntityPersister, lockResult)
+        Iterator<Object> entities = new Iterator<Object>() {
+            @Override
+            boolean hasNext() {
+                result.hasNext()
+            }
+
+            @Override
+            Object next() {
+                Record record = result.next()
+                boolean cached = detach && isCached(session, record)
+                Object decoded = decoder.decode(record)
+                if(detach && !cached) {
+                    session.clear(decoded)
+                }
+                return decoded
+            }
+        }
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(entities, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                            .onClose {
+                                streamTransaction?.close()
+                                streamSession?.close()
+                            }
+    }
+
+    /**
+     * @return Whether the entity of the given record is already in the session, as the entity or one of its subclasses
+     */
+    private boolean isCached(Neo4jSession session, Record record) {
+        Entity data
+        if (record.containsKey(CypherBuilder.NODE_DATA)) {
+            Value value = record.get(CypherBuilder.NODE_DATA)
+            data = value.type() == session.boltDriver.defaultTypeSystem().MAP() ? PartialNode.from(value) : value.asNode()
+        }
+        else if (record.containsKey(CypherBuilder.REL_DATA)) {
+            data = record.get(CypherBuilder.REL_DATA).asRelationship()
+        }
+        else {
+            return false
+        }
+        Serializable id = ((GraphPersistentEntity) entity).readId(data)
+        if (session.getCachedInstance(entity.javaClass, id) != null) {
+            return true
+        }
+        for (PersistentEntity childEntity : entity.mappingContext.getChildEntities(entity)) {
+            if (session.getCachedInstance(childEntity.javaClass, id) != null) {
+                return true
+            }
+        }
+        return false
+    }
+
+    /**
+     * Executes the query with the reactive driver. Entities are decoded into the session of the query as the records are
+     * received, so the session should not be used by other threads. Projections are published as a single value for each
+     * record, or a list of values if there are several projections.
+     *
+     * @param onTerminate Called when the publisher completes, fails or is cancelled
+     * @return A publisher of the entities or projected values
+     */
+    Publisher<Object> publish(Runnable onTerminate) {
+        firePreQueryEvent()
+
+        CypherBuilder cypherBuilder = buildQuery(entity, criteria)
+        return new ReactiveResultPublisher<Object>(session.boltDriver, cypherBuilder.build(), cypherBuilder.getParams(), createRecordDecoder(), onTerminate)
+    }
+
+    /**
+     * Executes the query with the asynchronous driver in a read transaction of its own. Entities are decoded into the
+     * session of the query, so the session should not be used by other threads until the returned stage completes.
+     * Projections are decoded as for {@link #publish(java.lang.Runnable)}.
+     *
+     * @param onComplete Called once the query has completed or failed
+     * @return A stage that completes with the entities or projected values
+     */
+    CompletionStage<List<Object>> listAsync(Runnable onComplete) {
+        firePreQueryEvent()
+
+        CypherBuilder cypherBuilder = buildQuery(entity, criteria)
+        return AsyncQueryRunner.list(session.boltDriver, cypherBuilder.build(), cypherBuilder.getParams(), createRecordDecoder(), onComplete)
+    }
+
+    private Function<Record, Object> createRecordDecoder() {
+        final List<Query.Projection> projectionList = projections.projectionList
+        final Neo4jResultList decoder = new Neo4jResultList(0, Collections.emptyIterator(), neo4jEntityPersister)
+        return { Record record ->
+            if(projectionList.isEmpty()) {
+                return decoder.decode(record)
+            }
+            else if(record.size() == 1) {
+                return record.get(0).asObject()
+            }
+            else {
+                return record.values().collect { Value value -> value.asObject() }
+            }
+        } as Function<Record, Object>
+    }
+
+    /**
+     * Builds the query including the RETURN statement, order and limits
+     *
+     * @param persistentEntity The entity
+     * @param criteria The criteria
+     * @return The query
+     */
+    protected CypherBuilder buildQuery(PersistentEntity persistentEntity, Query.Junction criteria) {
+        return buildQuery(persistentEntity, criteria, projections.projectionList)
+    }
+
+    /**
+     * Builds the query including the RETURN statement, order and limits
+     *
+     * @param persistentEntity The entity
+     * @param criteria The criteria
+     * @param projectionList The projections to return instead of those of the query
+     * @return The query
+     */
+    protected CypherBuilder buildQuery(PersistentEntity persistentEntity, Query.Junction criteria, List<Query.Projection> projectionList) {
+
+        CypherBuilder cypherBuilder = buildBaseQuery(persistentEntity, criteria)
+        if(keyset && afterCursor != null) {
+            String conditions = cypherBuilder.getConditions()
+            String predicate = buildKeysetPredicate(cypherBuilder, afterCursor)
+            cypherBuilder.setConditions(conditions ? "(${conditions}) AND ${predicate}".toString() : predicate)
+        }
+        cypherBuilder.setOrderAndLimits(applyOrderAndLimits(cypherBuilder))
+        GraphPersistentEntity graphEntity = (GraphPersistentEntity)persistentEntity
+
+        if(projectionList.isEmpty()) {
+             if(isRelationshipEntity) {
+                 cypherBuilder.addReturnColumn(CypherBuilder.DEFAULT_REL_RETURN_STATEMENT)
+             }
+             else {
+                 // criteria on to-many associations match a row for each related node, so reduce them to one for each node
+                 // before the order and limits are applied
+                 if(cypherBuilder.hasMatches()) {
+                     cypherBuilder.setWith("DISTINCT ${CypherBuilder.NODE_VAR}".toString())
+                 }
+                 // the columns only depend on the entity and the fetch strategies, so they are generated once for each
+                 List<Object> key = Arrays.<Object>asList(Neo4jQuery, persistentEntity, fetchStrategies.isEmpty() ? Collections.emptyMap() : new HashMap<String, FetchType>(fetchStrategies))
+                 AssociationColumns columns = (AssociationColumns) ((Neo4jMappingContext) persistentEntity.mappingContext).cypherTemplates.get(key, { List<Object> k ->
+                     buildAssociationColumns(persistentEntity, graphEntity)
+                 } as Function<List<Object>, Object>)
+                 columns.applyTo(cypherBuilder, buildDataColumn(graphEntity))
+             }
+        }
+        else {
+            for (projection in projectionList) {
+                cypherBuilder.addReturnColumn(buildProjection(projection, cypherBuilder))
+            }
+        }
+        return cypherBuilder
+    }
+
+    /**
+     * Builds the column returning the node as a map projection of the properties to load, if only some of the properties
+     * are selected or the entity maps some of its properties as lazy
+     *
+     * @param graphEntity The entity
+     * @return The column or null if all of the properties are loaded
+     */
+    protected String buildDataColumn(GraphPersistentEntity graphEntity) {
+        Set<String> names
+        if (selectedProperties != null) {
+            names = new LinkedHashSet<String>(selectedProperties)
+        }
+        else if (!lazyPropertiesLoaded && !graphEntity.lazyProperties.isEmpty()) {
+            names = new LinkedHashSet<String>(graphEntity.codec.propertyNames)
+            names.removeAll(graphEntity.lazyProperties)
+        }
+        else {
+            return null
+        }
+        // the version, tenant and sort keys are always needed, and the identifier in case it is not the native id
+        if (graphEntity.isVersioned() && graphEntity.version != null) {
+            names.add(graphEntity.version.name)
+        }
+        if (graphEntity.tenantId != null) {
+            names.add(graphEntity.tenantId.name)
+        }
+        for (Query.Order order in orderBy) {
+            if (graphEntity.codec.isDeclared(order.property)) {
+                names.add(order.property)
+            }
+        }
+        names.add(CypherBuilder.IDENTIFIER)
+        String n = CypherBuilder.NODE_VAR
+        String properties = names.collect { String name -> ".${name}" }.join(', ')
+        return "{${PartialNode.ID}: ID(${n}), ${PartialNode.LABELS}: labels(${n}), ${PartialNode.PROPERTIES}: ${n} {${properties}}} as ${CypherBuilder.NODE_DATA}\n"
+    }
+
+    /**
+     * @return The keys that results are ordered by for keyset pagination, which are the sort keys of the query followed by
+     * the identifier, unless the query is already ordered by the identifier
+     */
+    protected List<KeysetKey> keysetKeys() {
+        GraphPersistentEntity graphEntity = (GraphPersistentEntity) entity
+        String identityName = graphEntity.identity.name
+        List<KeysetKey> keys = []
+        Query.Order.Direction idDirection = Query.Order.Direction.ASC
+        for (Query.Order order in orderBy) {
+            if (order.property == identityName) {
+                idDirection = order.direction
+                break
+            }
+            String expression = graphEntity.formatProperty(CypherBuilder.NODE_VAR, order.property)
+            boolean ignoreCase = order.ignoreCase && graphEntity.getPropertyByName(order.property)?.type == String
+            keys << new KeysetKey(order.property, ignoreCase ? "toLower(${expression})".toString() : expression, order.direction, ignoreCase)
+        }
+        keys << new KeysetKey(identityName, graphEntity.formatId(CypherBuilder.NODE_VAR), idDirection, false)
+        return keys
+    }
+
+    /**
+     * Builds the condition that only matches the rows after the cursor, for keys (a, id) this is a > $a OR (a = $a AND id > $id).
+     * Null values are ordered after every other value, so they follow the other values in ascending order and precede them
+     * in descending order, and a null value of the cursor is matched with IS NULL
+     *
+     * @param cypherBuilder The builder to add the parameters to
+     * @param cursor The cursor
+     * @return The condition
+     */
+    protected String buildKeysetPredicate(CypherBuilder cypherBuilder, KeysetCursor cursor) {
+        List<KeysetKey> keys = keysetKeys()
+        if (cursor.sortOrder != keys.collect { KeysetKey key -> key.toString() }) {
+            throw new IllegalArgumentException("The cursor was obtained for the sort order ${cursor.sortOrder}, which does not match the sort order of the query")
+        }
+        List<String> params = cursor.values.collect { Object value -> value != null ? "\$${cypherBuilder.addParam(value)}".toString() : null }
+        List<String> alternatives = []
+        for (int i = 0; i < keys.size(); i++) {
+            String after = keysetAfterCondition(keys[i], params[i])
+            if (after == null) {
+                continue
+            }
+            List<String> conditions = []
+            for (int j = 0; j < i; j++) {
+                conditions << (params[j] != null ? "${keys[j].expression} = ${params[j]}".toString() : "${keys[j].expression} IS NULL".toString())
+            }
+            conditions << after
+            alternatives << (conditions.size() > 1 ? "(${conditions.join(' AND ')})".toString() : conditions[0])
+        }
+        return alternatives.empty ? 'false' : "(${alternatives.join(' OR ')})".toString()
+    }
+
+    /**
+     * @return The condition that matches the values of a key that are ordered after the value of the cursor, or null if
+     * there are none
+     */
+    private static String keysetAfterCondition(KeysetKey key, String param) {
+        boolean descending = key.direction == Query.Order.Direction.DESC
+        if (param == null) {
+            return descending ? "${key.expression} IS NOT NULL".toString() : null
+        }
+        if (descending) {
+            return "${key.expression}${CriterionHandler.OPERATOR_LESS_THAN}${param}".toString()
+        }
+        return "(${key.expression}${CriterionHandler.OPERATOR_GREATER_THAN}${param} OR ${key.expression} IS NULL)".toString()
+    }
+
+    /**
+     * Decodes the results of a keyset query and creates the cursor of the next page from the last result, unless the page
+     * is not full in which case it is the last page
+     */
+    protected KeysetResultList createKeysetResults(Neo4jResultList results) {
+        List<Object> page = new ArrayList<Object>(results)
+        String nextCursor = null
+        if (max > 0 && page.size() == max) {
+            Object last = page.get(page.size() - 1)
+            GraphPersistentEntity graphEntity = (GraphPersistentEntity) entity
+            Neo4jMappingContext mappingContext = (Neo4jMappingContext) graphEntity.mappingContext
+            EntityCodec codec = graphEntity.codec
+            List<KeysetKey> keys = keysetKeys()
+            List<Object> values = []
+            for (int i = 0; i < keys.size(); i++) {
+                String property = keys[i].property
+                if (i == keys.size() - 1) {
+                    values << mappingContext.convertToNative(session.createEntityAccess(graphEntity, last).identifier)
+                }
+                else {
+                    Object value = codec.isDeclared(property) ? codec.encode(last, property) : mappingContext.convertToNative(graphEntity.reflector.getProperty(last, property))
+                    // the keys of orders that ignore case are compared in lower case
+                    values << (keys[i].ignoreCase && value instanceof String ? ((String) value).toLowerCase(Locale.ROOT) : value)
+                }
+            }
+            nextCursor = new KeysetCursor(keys.collect { KeysetKey key -> key.toString() }, values).encode()
+        }
+        return new KeysetResultList<Object>(page, nextCursor)
+    }
+
+    /**
+     * Builds the return columns that load the associations of an entity, each of which is a pattern comprehension that is
+     * evaluated independently for each node
+     *
+     * @param persistentEntity The entity
+     * @param graphEntity The entity as a graph entity
+     * @return The columns
+     */
+    protected AssociationColumns buildAssociationColumns(PersistentEntity persistentEntity, GraphPersistentEntity graphEntity) {
+        AssociationColumns columns = new AssociationColumns()
+        Set<Association> associations = new TreeSet<Association>((Comparator<Association>){ Association a1, Association a2 -> a1.name <=> a2.name })
+        Collection<PersistentEntity> childEntities = persistentEntity.mappingContext.getChildEntities(persistentEntity)
+        if (!childEntities.empty) {
+            for (PersistentEntity childEntity : childEntities) {
+                associations.addAll(childEntity.associations)
+            }
+        }
+        associations.addAll(persistentEntity.associations)
+
+        if(associations.size() > 0) {
+            int i = 0
+            columns.returnColumns.add(CypherBuilder.DEFAULT_RETURN_TYPES)
+            Map<String, Map> fetchTree = buildFetchTree()
+
+            for(Association association in associations) {
+                if(association.isBasic()) continue
+
+                // nested fetch paths load the whole subgraph below the association with nested map projections
+                Map<String, Map> nested = fetchTree.get(association.name)
+                if(nested) {
+                    String nodes = formatFetchComprehension(association, CypherBuilder.NODE_VAR, nested)
+                    columns.returnColumns.add("$nodes as ${association.name}Nodes".toString())
+                    continue
+                }
+
+                FetchType fetchType = fetchStrategy(association.name)
+                boolean isEager = fetchType.is(fetchType.EAGER)
+
+                String r = "r${i++}"
+
+                String associationName = association.name
+                GraphPersistentEntity associatedGraphEntity = (GraphPersistentEntity)association.associatedEntity
+                boolean isAssociationRelationshipEntity = associatedGraphEntity.isRelationshipEntity()
+                boolean isToMany = association instanceof ToMany
+                boolean isToOne = association instanceof ToOne
+
+                boolean lazy  = false
+                boolean isNullable = false
+                if(isToOne && !isEager) {
+                    Property propertyMapping = association.mapping.mappedForm
+                    Boolean isLazy = propertyMapping.getLazy()
+                    isNullable = propertyMapping.isNullable()
+                    lazy = (isLazy != null ? isLazy : (association instanceof ManyToOne ? !association.isCircular() : true))
+
+                }
+                else if(isToMany) {
+                    lazy = ((ToMany)association).lazy
+                }
+
+                String associationNodeRef = "${associationName}Node"
+
+                // If it is a one-to-many and lazy=true
+                // Or it is a one-to-one where the association is nullable or not lazy
+                // then just collect the identifiers and not the nodes
+                if((isToMany && lazy) || (isToOne && !isEager && (isNullable || !lazy ) )) {
+                    String ids = graphEntity.formatAssociationComprehension(association, r, CypherBuilder.NODE_VAR, associationNodeRef, associatedGraphEntity.formatId(associationNodeRef))
+                    columns.returnColumns.add("$ids as ${associationName}Ids".toString())
+                }
+                else if(isEager) {
+                    String nodes = graphEntity.formatAssociationComprehension(association, r, CypherBuilder.NODE_VAR, associationNodeRef, associationNodeRef)
+                    columns.returnColumns.add("$nodes as ${associationName}Nodes".toString())
+                    if(isAssociationRelationshipEntity) {
+                        String rels = graphEntity.formatAssociationComprehension(association, r, CypherBuilder.NODE_VAR, associationNodeRef, r)
+                        columns.returnColumns.add("$rels as ${associationName}Rels".toString())
+                    }
+                }
+            }
+        }
+        return columns
+    }
+
+    /**
+     * Builds the tree of the nested association paths that are fetched eagerly, such as "lines.product"
+     *
+     * @return The tree of association names
+     */
+    protected Map<String, Map> buildFetchTree() {
+        Map<String, Map> tree = new TreeMap<String, Map>()
+        for (Map.Entry<String, FetchType> entry in fetchStrategies.entrySet()) {
+            if (entry.value != FetchType.EAGER || !entry.key.contains('.')) continue
+
+            String[] path = entry.key.split('\\.')
+            if (path.length > MAX_FETCH_DEPTH) {
+                throw new QueryException("Fetch path [${entry.key}] of class [${entity.name}] exceeds the maximum depth of ${MAX_FETCH_DEPTH}")
+            }
+            Map<String, Map> level = tree
+            for (String name in path) {
+                Map<String, Map> next = level.get(name)
+                if (next == null) {
+                    next = new TreeMap<String, Map>()
+                    level.put(name, next)
+                }
+                level = next
+            }
+        }
+        return tree
+    }
+
+    /**
+     * Formats a pattern comprehension that loads the nodes of an association along with the nested associations to fetch.
+     * Each node with nested associations is returned as a map projection holding the node as data and the nested nodes in
+     * the same columns that an eager fetch would use, so that {@link Neo4jEntityPersister} hydrates the whole subgraph
+     *
+     * @param association The association
+     * @param start The variable of the node owning the association
+     * @param nested The tree of nested associations to fetch
+     * @return The pattern comprehension
+     */
+    protected String formatFetchComprehension(Association association, String start, Map<String, Map> nested) {
+        GraphPersistentEntity owner = (GraphPersistentEntity) association.owner
+        GraphPersistentEntity associated = (GraphPersistentEntity) association.associatedEntity
+        if (associated == null || associated.isRelationshipEntity()) {
+            throw new QueryException("Association [${association.name}] of class [${owner.name}] cannot be fetched with a nested fetch path")
+        }
+        String end = "${start}_${association.name}"
+        String projection = end
+        if (nested) {
+            List<String> entries = ["${CypherBuilder.NODE_DATA}: ${end}".toString()]
+            for (Map.Entry<String, Map> child in nested.entrySet()) {
+                PersistentProperty property = associated.getPropertyByName(child.key)
+                if (!(property instanceof Association) || ((Association) property).isBasic()) {
+                    throw new QueryException("Property [${child.key}] of class [${associated.name}] is not an association that can be fetched")
+                }
+                String nodes = formatFetchComprehension((Association) property, end, (Map<String, Map>) child.value)
+                entries << "${child.key}Nodes: ${nodes}".toString()
+            }
+            projection = "{${entries.join(', ')}}"
+        }
+        return owner.formatAssociationComprehension(association, "r_${end}", start, end, projection)
+    }
+
     /**
      * Obtains the root query for this Neo4jQuery instance without any RETURN statements, projections or limits applied
      *
@@ -862,6 +1506,51 @@ class Neo4jQuery extends Query {
             this.expression
         }
     }
+
+    /**
+     * A key that the results are ordered by for keyset pagination
+     */
+    @CompileStatic
+    static class KeysetKey {
+        final String property
+        final String expression
+        final Query.Order.Direction direction
+        final boolean ignoreCase
+
+        KeysetKey(String property, String expression, Query.Order.Direction direction, boolean ignoreCase) {
+            this.property = property
+            this.expression = expression
+            this.direction = direction
+            this.ignoreCase = ignoreCase
+        }
+
+        @Override
+        String toString() {
+            return ignoreCase ? "${property} ${direction} IGNORE CASE" : "${property} ${direction}"
+        }
+    }
+
+    /**
+     * The return columns that load the associations of an entity, which are cached for each entity and combination of
+     * fetch strategies
+     */
+    @CompileStatic
+    static class AssociationColumns {
+        final List<String> returnColumns = []
+
+        /**
+         * @param cypherBuilder The builder to add the columns to
+         * @param dataColumn The column returning the node to use instead of the default, or null
+         */
+        void applyTo(CypherBuilder cypherBuilder, String dataColumn) {
+            if (dataColumn != null && returnColumns.isEmpty()) {
+                cypherBuilder.addReturnColumn(dataColumn)
+            }
+            for (String returnColumn in returnColumns) {
+                cypherBuilder.addReturnColumn(dataColumn != null && returnColumn == CypherBuilder.DEFAULT_RETURN_TYPES ? dataColumn : returnColumn)
+            }
+        }
+    }
 }
 
 
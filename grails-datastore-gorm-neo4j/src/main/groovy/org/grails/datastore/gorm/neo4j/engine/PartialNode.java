@@ -0,0 +1,145 @@
+/*
+ * Copyright 2015 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.datastore.gorm.neo4j.engine;
+
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.types.Node;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * A node of which only some of the properties were loaded, read from a map projection of the form
+ * {@code {id: ID(n), labels: labels(n), properties: n {.name, .email}}}
+ *
+ * @since 8.2.0
+ */
+public class PartialNode implements Node {
+
+    /**
+     * The key of the node id in the map projection
+     */
+    public static final String ID = "id";
+    /**
+     * The key of the labels in the map projection
+     */
+    public static final String LABELS = "labels";
+    /**
+     * The key of the selected properties in the map projection
+     */
+    public static final String PROPERTIES = "properties";
+
+    private final long id;
+    private final List<String> labels;
+    private final Map<String, Value> properties;
+
+    public PartialNode(long id, List<String> labels, Map<String, Value> properties) {
+        this.id = id;
+        this.labels = labels;
+        this.properties = properties;
+    }
+
+    /**
+     * Reads a partial node from the value of a map projection
+     *
+     * @param value The map projection
+     * @return The partial node
+     */
+    public static PartialNode from(Value value) {
+        return new PartialNode(
+                value.get(ID).asLong(),
+                value.get(LABELS).asList(Value::asString),
+                value.get(PROPERTIES).asMap(Function.identity())
+        );
+    }
+
+    /**
+     * @return The names of the properties that were loaded, including those that are null
+     */
+    public Set<String> getLoadedProperties() {
+        return properties.keySet();
+    }
+
+    @Override
+    public Iterable<String> labels() {
+        return labels;
+    }
+
+    @Override
+    public boolean hasLabel(String label) {
+        return labels.contains(label);
+    }
+
+    @Override
+    public long id() {
+        return id;
+    }
+
+    @Override
+    public Iterable<String> keys() {
+        return properties.keySet();
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        return properties.containsKey(key);
+    }
+
+    @Override
+    public Value get(String key) {
+        final Value value = properties.get(key);
+        return value != null ? value : Values.NULL;
+    }
+
+    @Override
+    public int size() {
+        return properties.size();
+    }
+
+    @Override
+    public Iterable<Value> values() {
+        return properties.values();
+    }
+
+    @Override
+    public <T> Iterable<T> values(Function<Value, T> mapFunction) {
+        final List<T> values = new ArrayList<>(properties.size());
+        for (Value value : properties.values()) {
+            values.add(mapFunction.apply(value));
+        }
+        return values;
+    }
+
+    @Override
+    public Map<String, Object> asMap() {
+        return asMap(Value::asObject);
+    }
+
+    @Override
+    public <T> Map<String, T> asMap(Function<Value, T> mapFunction) {
+        final Map<String, T> map = new LinkedHashMap<>(properties.size());
+        for (Map.Entry<String, Value> entry : properties.entrySet()) {
+            map.put(entry.getKey(), mapFunction.apply(entry.getValue()));
+        }
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return "PartialNode<" + id + ">" + properties.keySet();
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2015 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.datastore.gorm.neo4j.engine;
+
+import org.neo4j.driver.Query;
+import org.neo4j.driver.QueryRunner;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.Transaction;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.async.AsyncTransaction;
+import org.neo4j.driver.async.ResultCursor;
+import org.neo4j.driver.summary.ResultSummary;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * A {@link Transaction} backed by an {@link AsyncTransaction}. Statements whose results are not needed can be sent with
+ * {@link #send(String, Map)} without waiting for the previous statement to complete, so that independent statements of a
+ * flush are pipelined over the connection. Neo4j executes the statements of a transaction in the order they were sent, so
+ * statements that depend on earlier ones remain correct.
+ *
+ * All other operations block as they would for a regular transaction, waiting for any pipelined statements first so that
+ * their failures are reported before the next result is read.
+ *
+ * @since 8.2.0
+ */
+public class PipelinedTransaction implements Transaction {
+
+    private final AsyncTransaction asyncTransaction;
+    private final List<CompletableFuture<ResultSummary>> pending = new ArrayList<>();
+    private boolean open = true;
+
+    public PipelinedTransaction(AsyncTransaction asyncTransaction) {
+        this.asyncTransaction = asyncTransaction;
+    }
+
+    /**
+     * Runs a statement whose result is not needed, sending it without waiting if the runner is pipelined. Otherwise the
+     * result is consumed, so that failures are reported by the statement that caused them
+     *
+     * @param runner The runner
+     * @param cypher The statement
+     * @param params The parameters
+     */
+    public static void send(QueryRunner runner, String cypher, Map<String, Object> params) {
+        if (runner instanceof PipelinedTransaction) {
+            ((PipelinedTransaction) runner).send(cypher, params);
+        } else {
+            runner.run(cypher, params).consume();
+        }
+    }
+
+    /**
+     * Sends a statement without waiting for it to complete
+     *
+     * @param cypher The statement
+     * @param params The parameters
+     */
+    public void send(String cypher, Map<String, Object> params) {
+        pending.add(asyncTransaction.runAsync(cypher, params)
+                                    .thenCompose(ResultCursor::consumeAsync)
+                                    .toCompletableFuture());
+    }
+
+    /**
+     * @return The number of statements that have been sent but not awaited
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Waits for all of the statements that have been sent, rethrowing the first failure
+     */
+    public void await() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        final CompletableFuture<?>[] futures = pending.toArray(new CompletableFuture<?>[0]);
+        pending.clear();
+        await(CompletableFuture.allOf(futures));
+    }
+
+    @Override
+    public Result run(String query, Value parameters) {
+        return run(new Query(query, parameters));
+    }
+
+    @Override
+    public Result run(String query, Map<String, Object> parameters) {
+        return run(new Query(query, parameters));
+    }
+
+    @Override
+    public Result run(String query, Record parameters) {
+        return run(new Query(query, parameters));
+    }
+
+    @Override
+    public Result run(String query) {
+        return run(new Query(query));
+    }
+
+    @Override
+    public Result run(Query query) {
+        await();
+        return new CursorResult(await(asyncTransaction.runAsync(query)));
+    }
+
+    @Override
+    public void commit() {
+        await();
+        await(asyncTransaction.commitAsync());
+        open = false;
+    }
+
+    @Override
+    public void rollback() {
+        discard();
+        await(asyncTransaction.rollbackAsync());
+        open = false;
+    }
+
+    @Override
+    public void close() {
+        if (open) {
+            rollback();
+        }
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    private void discard() {
+        for (CompletableFuture<ResultSummary> future : pending) {
+            future.exceptionally(t -> null);
+        }
+        pending.clear();
+    }
+
+    private static <T> T await(CompletionStage<T> stage) {
+        try {
+            return stage.toCompletableFuture().join();
+        } catch (CompletionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * A blocking {@link Result} over a {@link ResultCursor}
+     */
+    private static class CursorResult implements Result {
+        private final ResultCursor cursor;
+        private boolean consumed;
+
+        CursorResult(ResultCursor cursor) {
+            this.cursor = cursor;
+        }
+
+        @Override
+        public List<String> keys() {
+            return cursor.keys();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return await(cursor.peekAsync()) != null;
+        }
+
+        @Override
+        public Record next() {
+            final Record record = await(cursor.nextAsync());
+            if (record == null) {
+                throw new NoSuchElementException();
+            }
+            return record;
+        }
+
+        @Override
+        public Record single() {
+            return await(cursor.singleAsync());
+        }
+
+        @Override
+        public Record peek() {
+            final Record record = await(cursor.peekAsync());
+            if (record == null) {
+                throw new NoSuchElementException();
+            }
+            return record;
+        }
+
+        @Override
+        public Stream<Record> stream() {
+            return list().stream();
+        }
+
+        @Override
+        public List<Record> list() {
+            return Collections.unmodifiableList(await(cursor.listAsync()));
+        }
+
+        @Override
+        public <T> List<T> list(Function<Record, T> mapFunction) {
+            return Collections.unmodifiableList(await(cursor.listAsync(mapFunction)));
+        }
+
+        @Override
+        public ResultSummary consume() {
+            consumed = true;
+            return await(cursor.consumeAsync());
+        }
+
+        public boolean isOpen() {
+            return !consumed;
+        }
+    }
+}
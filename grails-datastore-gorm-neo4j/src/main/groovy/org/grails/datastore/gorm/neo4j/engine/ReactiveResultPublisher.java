@@ -0,0 +1,179 @@
+/*
+ * Copyright 2015 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.datastore.gorm.neo4j.engine;
+
+import org.neo4j.driver.AccessMode;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.reactive.RxSession;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * A {@link Publisher} that runs a query in a read transaction of a {@link RxSession} and decodes each record as it is
+ * received. The demand of the subscriber is passed on to the driver, so that the server only streams as many records as
+ * have been requested. Each subscription uses a session of its own, which is closed once the records have been consumed,
+ * the query fails or the subscription is cancelled.
+ *
+ * @param <T> The type of the decoded records
+ * @since 8.2.0
+ */
+public class ReactiveResultPublisher<T> implements Publisher<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveResultPublisher.class);
+
+    private final Driver boltDriver;
+    private final String cypher;
+    private final Map<String, Object> params;
+    private final Function<Record, T> decoder;
+    private final Runnable onTerminate;
+
+    /**
+     * @param boltDriver The driver
+     * @param cypher The query
+     * @param params The parameters
+     * @param decoder Decodes each record. Records are decoded one at a time, but not necessarily on the same thread
+     * @param onTerminate Called once for each subscription when it completes, fails or is cancelled
+     */
+    public ReactiveResultPublisher(Driver boltDriver, String cypher, Map<String, Object> params, Function<Record, T> decoder, Runnable onTerminate) {
+        this.boltDriver = boltDriver;
+        this.cypher = cypher;
+        this.params = params;
+        this.decoder = decoder;
+        this.onTerminate = onTerminate;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        if (log.isDebugEnabled()) {
+            log.debug("QUERY Cypher [{}] for parameters [{}]", cypher, params);
+        }
+        final RxSession session = boltDriver.rxSession(SessionConfig.builder().withDefaultAccessMode(AccessMode.READ).build());
+        session.readTransaction(tx -> tx.run(cypher, params).records())
+               .subscribe(new DecodingSubscriber(subscriber, session));
+    }
+
+    /**
+     * Decodes the records for a subscriber, closing the session before signalling completion or failure
+     */
+    private class DecodingSubscriber implements Subscriber<Record>, Subscription {
+        private final Subscriber<? super T> downstream;
+        private final RxSession session;
+        private final AtomicBoolean terminated = new AtomicBoolean(false);
+        private volatile Subscription upstream;
+
+        DecodingSubscriber(Subscriber<? super T> downstream, RxSession session) {
+            this.downstream = downstream;
+            this.session = session;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.upstream = subscription;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(Record record) {
+            if (terminated.get()) {
+                return;
+            }
+            final T decoded;
+            try {
+                decoded = decoder.apply(record);
+            } catch (Throwable e) {
+                upstream.cancel();
+                terminate(e, true);
+                return;
+            }
+            downstream.onNext(decoded);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            terminate(throwable, true);
+        }
+
+        @Override
+        public void onComplete() {
+            terminate(null, true);
+        }
+
+        @Override
+        public void request(long n) {
+            upstream.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            upstream.cancel();
+            terminate(null, false);
+        }
+
+        private void terminate(Throwable error, boolean signal) {
+            if (!terminated.compareAndSet(false, true)) {
+                return;
+            }
+            session.<Void>close().subscribe(new Subscriber<Void>() {
+                @Override
+                public void onSubscribe(Subscription subscription) {
+                    subscription.request(Long.MAX_VALUE);
+                }
+
+                @Override
+                public void onNext(Void ignored) {
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    if (error != null) {
+                        error.addSuppressed(throwable);
+                    } else {
+                        log.warn("Error closing reactive session: " + throwable.getMessage(), throwable);
+                    }
+                    complete();
+                }
+
+                @Override
+                public void onComplete() {
+                    complete();
+                }
+
+                private void complete() {
+                    try {
+                        onTerminate.run();
+                    } finally {
+                        if (signal) {
+                            if (error != null) {
+                                downstream.onError(error);
+                            } else {
+                                downstream.onComplete();
+                            }
+                        }
+                    }
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2015 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.datastore.gorm.neo4j.engine;
+
+import org.grails.datastore.gorm.neo4j.CypherBuilder;
+import org.neo4j.driver.QueryRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+/**
+ * Collects relationship MERGE and DELETE operations from multiple parents so that each distinct statement is executed only
+ * once using UNWIND. Statements are executed in three phases: the removal of previous relationships for updates, the
+ * removal of relationships that were removed from associations and finally the MERGE of new relationships, so that a
+ * relationship that is removed and added back within the same flush is kept.
+ *
+ * @since 8.2.0
+ */
+public class RelationshipBatch {
+
+    private static Logger log = LoggerFactory.getLogger(RelationshipBatch.class);
+
+    private final Map<String, Set<Object>> previousDeletes = new LinkedHashMap<>();
+    private final Map<String, List<Map<String, Object>>> merges = new LinkedHashMap<>();
+    private final Map<String, List<Map<String, Object>>> deletes = new LinkedHashMap<>();
+    private int size;
+
+    /**
+     * Adds identifiers to a statement that deletes existing relationships prior to an update. The statement should accept
+     * a collection of identifiers as the $start parameter
+     *
+     * @param cypher The DELETE statement
+     * @param ids The identifiers
+     */
+    public void addPreviousDelete(String cypher, Collection<?> ids) {
+        final Set<Object> existing = previousDeletes.computeIfAbsent(cypher, k -> new LinkedHashSet<>());
+        for (Object id : ids) {
+            if (existing.add(id)) {
+                size++;
+            }
+        }
+    }
+
+    /**
+     * Adds a row to an UNWIND MERGE statement
+     *
+     * @param cypher The MERGE statement
+     * @param row The row
+     */
+    public void addMerge(String cypher, Map<String, Object> row) {
+        merges.computeIfAbsent(cypher, k -> new ArrayList<>()).add(row);
+        size++;
+    }
+
+    /**
+     * Adds a row to an UNWIND DELETE statement
+     *
+     * @param cypher The DELETE statement
+     * @param row The row
+     */
+    public void addDelete(String cypher, Map<String, Object> row) {
+        deletes.computeIfAbsent(cypher, k -> new ArrayList<>()).add(row);
+        size++;
+    }
+
+    /**
+     * @return The number of pending rows
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Whether there is nothing to execute
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Executes the pending statements and clears the batch
+     *
+     * @param queryRunner The query runner to use
+     */
+    public void execute(QueryRunner queryRunner) {
+        try {
+            for (Map.Entry<String, Set<Object>> entry : previousDeletes.entrySet()) {
+                run(queryRunner, "DELETE", entry.getKey(), Collections.singletonMap(CypherBuilder.START, new ArrayList<>(entry.getValue())));
+            }
+            for (Map.Entry<String, List<Map<String, Object>>> entry : deletes.entrySet()) {
+                run(queryRunner, "DELETE", entry.getKey(), Collections.singletonMap(CypherBuilder.PAIRS, entry.getValue()));
+            }
+            for (Map.Entry<String, List<Map<String, Object>>> entry : merges.entrySet()) {
+                run(queryRunner, "MERGE", entry.getKey(), Collections.singletonMap(CypherBuilder.PAIRS, entry.getValue()));
+            }
+        } finally {
+            clear();
+        }
+    }
+
+    /**
+     * Discards any pending statements
+     */
+    public void clear() {
+        previousDeletes.clear();
+        merges.clear();
+        deletes.clear();
+        size = 0;
+    }
+
+    private void run(QueryRunner queryRunner, String operation, String cypher, Map<String, Object> params) {
+        if (log.isDebugEnabled()) {
+            log.debug("{} Cypher [{}] for parameters [{}]", operation, cypher, params);
+        }
+        PipelinedTransaction.send(queryRunner, cypher, params);
+    }
+}
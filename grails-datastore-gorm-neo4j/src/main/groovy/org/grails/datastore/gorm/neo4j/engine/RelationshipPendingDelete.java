@@ -17,6 +17,7 @@ package org.grails.datastore.gorm.neo4j.engine;
 
 import org.grails.datastore.gorm.neo4j.CypherBuilder;
 import org.grails.datastore.gorm.neo4j.GraphPersistentEntity;
+import org.grails.datastore.gorm.neo4j.Neo4jSession;
 import org.grails.datastore.gorm.neo4j.RelationshipPersistentEntity;
 import org.grails.datastore.gorm.neo4j.RelationshipUtils;
 import org.grails.datastore.mapping.core.impl.PendingOperationAdapter;
@@ -28,6 +29,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -49,14 +51,32 @@ public class RelationshipPendingDelete extends PendingOperationAdapter<Object, S
     private final Association association;
     private final Collection<Serializable> targetIdentifiers;
     private final EntityAccess entityAccess;
+    private final RelationshipBatch relationshipBatch;
 
 
     public RelationshipPendingDelete(EntityAccess parent, Association association, Collection<Serializable> pendingInserts, Transaction boltTransaction) {
+        this(parent, association, pendingInserts, boltTransaction, null);
+    }
+
+    /**
+     * Creates a pending delete that adds its statement to the relationship batch of the session, unless the parent is a relationship entity
+     *
+     * @param parent The parent
+     * @param association The association
+     * @param pendingDeletes The identifiers of the associated entities
+     * @param session The session
+     */
+    public RelationshipPendingDelete(EntityAccess parent, Association association, Collection<Serializable> pendingDeletes, Neo4jSession session) {
+        this(parent, association, pendingDeletes, session.getTransaction().getNativeTransaction(), session.getRelationshipBatch());
+    }
+
+    private RelationshipPendingDelete(EntityAccess parent, Association association, Collection<Serializable> pendingDeletes, Transaction boltTransaction, RelationshipBatch relationshipBatch) {
         super(parent.getPersistentEntity(), (Serializable) parent.getIdentifier(), parent.getEntity());
-        this.targetIdentifiers = pendingInserts;
+        this.targetIdentifiers = pendingDeletes;
         this.boltTransaction = boltTransaction;
         this.association = association;
         this.entityAccess = parent;
+        this.relationshipBatch = relationshipBatch;
     }
 
     @Override
@@ -85,6 +105,19 @@ public class RelationshipPendingDelete extends PendingOperationAdapter<Object, S
 
         final Map<String, Object> params = new LinkedHashMap<>(2);
 
+        if(relationshipBatch != null && !isRelationshipAssociation) {
+            // DELETE statements for the same association are collected across parents and executed with UNWIND when flushing
+            if(RelationshipUtils.useReversedMappingFor(association)) {
+                params.put(GormProperties.IDENTITY, parentId);
+            }
+            else {
+                params.put(CypherBuilder.START, parentId);
+                params.put(CypherBuilder.END, new ArrayList<>(targetIdentifiers));
+            }
+            relationshipBatch.addDelete(graphParent.formatBatchAssociationDelete(association), params);
+            return;
+        }
+
         if(RelationshipUtils.useReversedMappingFor(association)) {
             params.put(GormProperties.IDENTITY, parentId);
         }
@@ -99,7 +132,7 @@ public class RelationshipPendingDelete extends PendingOperationAdapter<Object, S
             if (log.isDebugEnabled()) {
                 log.debug("DELETE Cypher [{}] for parameters [{}]", cypher, params);
             }
-            boltTransaction.run(cypher, params);
+            PipelinedTransaction.send(boltTransaction, cypher, params);
         }
     }
 }
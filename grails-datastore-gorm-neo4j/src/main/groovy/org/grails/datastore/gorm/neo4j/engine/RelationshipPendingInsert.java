@@ -148,6 +148,7 @@ public class RelationshipPendingInsert extends PendingInsertAdapter<Object, Seri
             relMatch = RelationshipUtils.matchForAssociation(association, "r");
         }
 
+        final RelationshipBatch relationshipBatch = isRelationshipAssociation ? null : session.getRelationshipBatch();
         if(isUpdate &&
            (association instanceof DynamicAssociation ||
             ((association.isBidirectional() && (association instanceof OneToMany)) || (association instanceof OneToOne)) &&
@@ -155,20 +156,43 @@ public class RelationshipPendingInsert extends PendingInsertAdapter<Object, Seri
             // delete any previous
 
             StringBuilder cypher = new StringBuilder(CypherBuilder.buildRelationshipMatch(labelsFrom, relMatch, labelsTo));
-            Map<String, Object> deleteParams;
+            Collection<?> deleteIds;
             if(association instanceof DynamicToOneAssociation || association instanceof OneToOne) {
                 cypher.append(graphChild.formatId(FROM));
-                deleteParams = Collections.<String, Object>singletonMap(CypherBuilder.START, Collections.singletonList(parentId));
+                deleteIds = Collections.singletonList(parentId);
             }
             else {
                 cypher.append(graphChild.formatId(TO));
-                deleteParams = Collections.<String, Object>singletonMap(CypherBuilder.START, targetIdentifiers);
+                deleteIds = new ArrayList<>(targetIdentifiers);
             }
             cypher.append(" IN $").append(CypherBuilder.START).append(" DELETE r");
-            if(log.isDebugEnabled()) {
-                log.debug("DELETE Cypher [{}] for parameters [{}]", cypher, deleteParams);
+            if(relationshipBatch != null) {
+                relationshipBatch.addPreviousDelete(cypher.toString(), deleteIds);
             }
-            boltTransaction.run(cypher.toString(), deleteParams);
+            else {
+                Map<String, Object> deleteParams = Collections.<String, Object>singletonMap(CypherBuilder.START, deleteIds);
+                if(log.isDebugEnabled()) {
+                    log.debug("DELETE Cypher [{}] for parameters [{}]", cypher, deleteParams);
+                }
+                PipelinedTransaction.send(boltTransaction, cypher.toString(), deleteParams);
+            }
+        }
+
+        if(relationshipBatch != null) {
+            // MERGE statements for the same association are collected across parents and executed with UNWIND when flushing
+            String cypher = CypherBuilder.CYPHER_UNWIND_PAIRS +
+                    String.format(CypherBuilder.CYPHER_FROM_TO_NODES_MATCH, labelsFrom, labelsTo) +
+                    graphParent.formatId(RelationshipPersistentEntity.FROM) +
+                    " = " + CypherBuilder.PAIR + "." + CypherBuilder.START +
+                    " AND " +
+                    graphChild.formatId(RelationshipPersistentEntity.TO) +
+                    " IN " + CypherBuilder.PAIR + "." + CypherBuilder.END +
+                    " MERGE (from)" + relMatch + "(to)";
+            Map<String, Object> pair = new LinkedHashMap<>(2);
+            pair.put(CypherBuilder.START, parentId);
+            pair.put(CypherBuilder.END, new ArrayList<>(targetIdentifiers));
+            relationshipBatch.addMerge(cypher, pair);
+            return;
         }
 
         StringBuilder cypherQuery = new StringBuilder(String.format(CypherBuilder.CYPHER_FROM_TO_NODES_MATCH, labelsFrom, labelsTo));
@@ -192,7 +216,7 @@ public class RelationshipPendingInsert extends PendingInsertAdapter<Object, Seri
         if (log.isDebugEnabled()) {
             log.debug("MERGE Cypher [{}] for parameters [{}]", cypher, params);
         }
-        boltTransaction.run(cypher, params);
+        PipelinedTransaction.send(boltTransaction, cypher, params);
     }
 
 }
@@ -15,10 +15,14 @@
  */
 package org.grails.datastore.gorm.neo4j.extensions
 
+import grails.gorm.DetachedCriteria
+import grails.neo4j.KeysetResultList
 import groovy.transform.CompileStatic
 import org.codehaus.groovy.runtime.typehandling.GroovyCastException
+import org.grails.datastore.gorm.GormEnhancer
 import org.grails.datastore.gorm.neo4j.Neo4jDatastore
 import org.grails.datastore.gorm.neo4j.Neo4jSession
+import org.grails.datastore.gorm.neo4j.api.Neo4jGormStaticApi
 import org.grails.datastore.gorm.neo4j.collection.Neo4jPath
 import org.grails.datastore.gorm.neo4j.collection.Neo4jResultList
 import org.grails.datastore.mapping.core.AbstractDatastore
@@ -29,6 +33,9 @@ import org.neo4j.driver.types.Node
 import org.neo4j.driver.types.Path
 import org.neo4j.driver.types.Relationship
 
+import java.util.concurrent.CompletionStage
+import java.util.stream.Stream
+
 /**
  * Extension methods to improve the Neo4j experience in Groovy.
  *
@@ -182,4 +189,72 @@ class Neo4jExtensions {
         session.run(cypher, params)
     }
 
+    /**
+     * Streams the results of a criteria query, decoding each instance as the stream is consumed
+     *
+     * @param criteria The criteria
+     * @param args The arguments such as fetchSize, detach, max, offset and sort
+     * @return The stream of instances, which should be closed once consumed
+     */
+    static <T> Stream<T> stream(DetachedCriteria<T> criteria, Map args = Collections.emptyMap()) {
+        ((Neo4jGormStaticApi<T>) GormEnhancer.findStaticApi(criteria.persistentClass)).stream(args, criteria)
+    }
+
+    /**
+     * Lists a page of the results of a criteria query using keyset pagination
+     *
+     * @param criteria The criteria
+     * @param args The arguments such as after, max, sort and order
+     * @return The page of instances along with the cursor of the next page
+     */
+    static <T> KeysetResultList<T> listAfter(DetachedCriteria<T> criteria, Map args = Collections.emptyMap()) {
+        ((Neo4jGormStaticApi<T>) GormEnhancer.findStaticApi(criteria.persistentClass)).listAfter(args, criteria)
+    }
+
+    /**
+     * Lists the projections of the results of a criteria query as instances of the given class, without creating the entities
+     *
+     * @param criteria The criteria
+     * @param type The class of the results
+     * @param args The arguments such as max, offset, sort and order
+     * @return The instances of the given class
+     */
+    static <T, R> List<R> listInto(DetachedCriteria<T> criteria, Class<R> type, Map args = Collections.emptyMap()) {
+        ((Neo4jGormStaticApi<T>) GormEnhancer.findStaticApi(criteria.persistentClass)).listInto(type, args, criteria)
+    }
+
+    /**
+     * Reads an integer property of the results of a criteria query into an array, without boxing the values
+     *
+     * @param criteria The criteria
+     * @param propertyName The name of the property
+     * @param args The arguments such as max, offset, sort and order
+     * @return The values, null values are skipped
+     */
+    static <T> long[] pluckLongs(DetachedCriteria<T> criteria, String propertyName, Map args = Collections.emptyMap()) {
+        ((Neo4jGormStaticApi<T>) GormEnhancer.findStaticApi(criteria.persistentClass)).pluckLongs(propertyName, args, criteria)
+    }
+
+    /**
+     * Reads a numeric property of the results of a criteria query into an array, without boxing the values
+     *
+     * @param criteria The criteria
+     * @param propertyName The name of the property
+     * @param args The arguments such as max, offset, sort and order
+     * @return The values, null values are skipped
+     */
+    static <T> double[] pluckDoubles(DetachedCriteria<T> criteria, String propertyName, Map args = Collections.emptyMap()) {
+        ((Neo4jGormStaticApi<T>) GormEnhancer.findStaticApi(criteria.persistentClass)).pluckDoubles(propertyName, args, criteria)
+    }
+
+    /**
+     * Lists the results of a criteria query with the asynchronous driver
+     *
+     * @param criteria The criteria
+     * @param args The arguments such as max, offset, sort, order and fetch
+     * @return A stage that completes with the detached instances
+     */
+    static <T> CompletionStage<List<T>> listAsync(DetachedCriteria<T> criteria, Map args = Collections.emptyMap()) {
+        ((Neo4jGormStaticApi<T>) GormEnhancer.findStaticApi(criteria.persistentClass)).listAsync(args, criteria)
+    }
 }
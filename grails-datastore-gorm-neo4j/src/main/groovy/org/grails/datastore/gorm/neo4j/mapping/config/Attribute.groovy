@@ -20,6 +20,11 @@ class Attribute extends Property {
      * The relationship direction
      */
     Direction direction
+
+    /**
+     * The number of parents to load a lazy association for when one of them is initialized
+     */
+    Integer batchSize
     /**
      * Sets the relationship type
      *
@@ -38,7 +38,8 @@ class NodeConfig extends Entity<Attribute> {
     Object labels
     /**
      * Whether this entity supports dynamic associations. The default is false. Setting this to true will allow Grails to load dynamic relationships, however
-     * at the cost of N+1. For each loaded entity Grails has to execute a separate query to establish the associations. This is contrary to non-dynamic associations
+     * at the cost of an additional query. When the dynamic associations of an entity are first accessed Grails executes a separate query to establish the associations
+     * of all the instances of the entity loaded by the session, up to the batch size of the entity. This is contrary to non-dynamic associations
      * which can be loaded using an OPTIONAL MATCH
      *
      * @return True if the entity supports dynamic associations
@@ -47,6 +48,30 @@ class NodeConfig extends Entity<Attribute> {
 
     Boolean autoLabel
 
+    /**
+     * The number of instances to load together when a proxy of this entity is initialized. Also the number of parents to
+     * load a lazy association of this entity for when one of them is initialized, unless the association specifies its own batchSize
+     */
+    Integer batchSize
+
+    /**
+     * The named fetch plans of the entity, each of which lists the association paths, such as "lines.product", that are
+     * loaded together with the entity in a single query
+     */
+    Map<String, List<String>> fetchPlans = [:]
+
+    /**
+     * Declares a named fetch plan
+     *
+     * @param name The name of the plan
+     * @param paths The association paths to load, such as "lines.product.supplier"
+     * @return This mapping
+     */
+    NodeConfig fetchPlan(String name, List<String> paths) {
+        fetchPlans.put(name, new ArrayList<String>(paths))
+        return this
+    }
+
     @Override
     protected Attribute newProperty() {
         return new Attribute()
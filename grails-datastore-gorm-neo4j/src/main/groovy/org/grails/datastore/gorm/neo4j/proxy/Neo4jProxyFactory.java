@@ -1,8 +1,11 @@
 package org.grails.datastore.gorm.neo4j.proxy;
 
 import javassist.util.proxy.MethodHandler;
+import org.grails.datastore.gorm.neo4j.GraphPersistentEntity;
+import org.grails.datastore.gorm.neo4j.Neo4jSession;
 import org.grails.datastore.mapping.core.Session;
 import org.grails.datastore.mapping.engine.AssociationQueryExecutor;
+import org.grails.datastore.mapping.model.PersistentEntity;
 import org.grails.datastore.mapping.proxy.JavassistProxyFactory;
 
 import java.io.Serializable;
@@ -13,6 +16,19 @@ import java.io.Serializable;
  */
 public class Neo4jProxyFactory extends JavassistProxyFactory {
 
+    @Override
+    public <T> T createProxy(Session session, Class<T> type, Serializable key) {
+        // a stateless session neither caches instances nor batches the loading of proxies
+        if (session instanceof Neo4jSession && !session.isStateless()) {
+            final PersistentEntity entity = session.getMappingContext().getPersistentEntity(type.getName());
+            if (entity instanceof GraphPersistentEntity && ((GraphPersistentEntity) entity).getBatchSize() > 1) {
+                // registered so that the proxy can be initialized together with other proxies of the same type
+                ((Neo4jSession) session).getLazyAssociationBatch().addUninitializedProxy(type, key);
+            }
+        }
+        return super.createProxy(session, type, key);
+    }
+
     protected <K extends Serializable, T> MethodHandler createMethodHandler(Session session, AssociationQueryExecutor<K, T> executor, K associationKey) {
         return new Neo4jAssociationQueryProxyHandler(session, executor, associationKey);
     }
@@ -0,0 +1,79 @@
+package grails.gorm.tests
+
+import grails.gorm.annotation.Entity
+import grails.neo4j.Neo4jEntity
+
+/**
+ * Tests that only the relationships of entities added to or removed from an association are written on update
+ */
+class AssociationDeltaSpec extends GormDatastoreSpec {
+
+    @Override
+    List getDomainClasses() {
+        [DeltaParent, DeltaChild]
+    }
+
+    void "Test only added and removed children change relationships"() {
+        given:
+        def parent = new DeltaParent(name: "parent")
+        ['a', 'b', 'c'].each { parent.addToChildren(name: it) }
+        parent.save(flush: true)
+        session.clear()
+        Map<String, Long> before = relationshipIds()
+
+        when:
+        parent = DeltaParent.findByName("parent")
+        parent.removeFromChildren(parent.children.find { it.name == 'a' })
+        parent.addToChildren(name: 'd')
+        parent.save(flush: true)
+        session.clear()
+        Map<String, Long> after = relationshipIds()
+
+        then:
+        DeltaParent.findByName("parent").children*.name.sort() == ['b', 'c', 'd']
+        after.keySet().sort() == ['b', 'c', 'd']
+        after.b == before.b
+        after.c == before.c
+    }
+
+    void "Test a child that is removed and added back keeps its relationship"() {
+        given:
+        def parent = new DeltaParent(name: "parent")
+        ['a', 'b'].each { parent.addToChildren(name: it) }
+        parent.save(flush: true)
+        session.clear()
+        Map<String, Long> before = relationshipIds()
+
+        when:
+        parent = DeltaParent.findByName("parent")
+        DeltaChild child = parent.children.find { it.name == 'a' }
+        parent.children.remove(child)
+        parent.children.add(child)
+        parent.save(flush: true)
+        session.clear()
+
+        then:
+        relationshipIds() == before
+    }
+
+    private Map<String, Long> relationshipIds() {
+        DeltaParent.cypherStatic('MATCH (p:DeltaParent)-[r]-(c:DeltaChild) RETURN c.name as name, id(r) as rid').list().collectEntries {
+            [(it.get('name').asString()): it.get('rid').asLong()]
+        }
+    }
+}
+
+@Entity
+class DeltaParent implements Neo4jEntity<DeltaParent> {
+    Long id
+    String name
+    Set<DeltaChild> children
+    static hasMany = [children: DeltaChild]
+}
+
+@Entity
+class DeltaChild implements Neo4jEntity<DeltaChild> {
+    Long id
+    String name
+    static belongsTo = [parent: DeltaParent]
+}
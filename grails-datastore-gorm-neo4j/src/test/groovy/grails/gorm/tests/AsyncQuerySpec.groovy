@@ -0,0 +1,64 @@
+package grails.gorm.tests
+
+import grails.gorm.annotation.Entity
+import grails.neo4j.Neo4jEntity
+import org.neo4j.driver.TransactionWork
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionStage
+
+/**
+ * Tests for the asynchronous query API
+ */
+class AsyncQuerySpec extends GormDatastoreSpec {
+
+    @Override
+    List getDomainClasses() {
+        [AsyncCity]
+    }
+
+    void setup() {
+        def boltSession = boltDriver.session()
+        try {
+            boltSession.writeTransaction({ tx ->
+                tx.run('UNWIND range(1, 10) as i CREATE (:AsyncCity {name: "city " + i, population: i * 1000})').consume()
+            } as TransactionWork)
+        } finally {
+            boltSession.close()
+        }
+    }
+
+    void "Test independent queries run concurrently"() {
+        when:
+        CompletionStage<List<AsyncCity>> large = AsyncCity.where { population > 7000 }.listAsync(sort: 'population')
+        CompletionStage<List<AsyncCity>> all = AsyncCity.listAsync(max: 4)
+        CompletionStage<List<AsyncCity>> found = AsyncCity.findAllAsync('MATCH (n:AsyncCity) WHERE n.name = $name RETURN n', [name: 'city 2'])
+        CompletableFuture.allOf(large.toCompletableFuture(), all.toCompletableFuture(), found.toCompletableFuture()).join()
+
+        then:
+        large.toCompletableFuture().get()*.name == ['city 8', 'city 9', 'city 10']
+        all.toCompletableFuture().get().size() == 4
+        found.toCompletableFuture().get()*.population == [2000]
+    }
+
+    void "Test get by identifier"() {
+        given:
+        AsyncCity city = AsyncCity.findByName('city 3')
+        session.clear()
+
+        when:
+        AsyncCity loaded = AsyncCity.getAsync(city.id).toCompletableFuture().get()
+
+        then:"the instance is decoded into a session of its own"
+        loaded.name == 'city 3'
+        !session.contains(loaded)
+        AsyncCity.getAsync(-1L).toCompletableFuture().get() == null
+    }
+}
+
+@Entity
+class AsyncCity implements Neo4jEntity<AsyncCity> {
+    Long id
+    String name
+    Integer population
+}
@@ -0,0 +1,81 @@
+package grails.gorm.tests
+
+import grails.gorm.annotation.Entity
+import org.grails.datastore.gorm.neo4j.config.Settings
+import org.springframework.dao.DataAccessResourceFailureException
+
+/**
+ * Tests for the automatic flushing of sessions once the batch size is exceeded
+ */
+class BatchFlushSpec extends GormDatastoreSpec {
+
+    @Override
+    List getDomainClasses() {
+        [BatchFlushParent, BatchFlushChild]
+    }
+
+    @Override
+    Map getConfiguration() {
+        [(Settings.SETTING_NEO4J_BATCH_SIZE): 10]
+    }
+
+    void "Test the session is flushed once the batch size is exceeded"() {
+        when:
+        (1..25).each { i ->
+            def parent = new BatchFlushParent(name: "parent $i")
+            parent.addToChildren(name: "child $i")
+            parent.save()
+        }
+
+        then:
+        session.batchSize == 10
+        session.pendingOperationCount <= 10
+        BatchFlushParent.cypherStatic('MATCH (p:BatchFlushParent) RETURN count(p) as c').single().get('c').asLong() > 10
+
+        when:
+        session.flush()
+        session.clear()
+
+        then:
+        BatchFlushParent.count() == 25
+        BatchFlushParent.findByName("parent 3").children*.name == ['child 3']
+    }
+
+    void "Test an exception is thrown when relationship updates exceed the batch size and auto flush is disabled"() {
+        given:
+        session.autoFlush = false
+
+        when:"more nodes than the batch size are saved"
+        (1..25).each { i -> new BatchFlushParent(name: "parent $i").save() }
+
+        then:"only relationship updates are limited"
+        session.pendingOperationCount > session.batchSize
+
+        when:
+        (1..25).each { i ->
+            def parent = new BatchFlushParent(name: "other $i")
+            parent.addToChildren(name: "child $i")
+            parent.save()
+        }
+
+        then:
+        thrown(DataAccessResourceFailureException)
+    }
+}
+
+@Entity
+class BatchFlushParent {
+    Long id
+    Long version
+    String name
+    Set<BatchFlushChild> children
+    static hasMany = [children: BatchFlushChild]
+}
+
+@Entity
+class BatchFlushChild {
+    Long id
+    Long version
+    String name
+    static belongsTo = [parent: BatchFlushParent]
+}
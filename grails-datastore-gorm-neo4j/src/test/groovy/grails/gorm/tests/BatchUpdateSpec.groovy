@@ -0,0 +1,80 @@
+package grails.gorm.tests
+
+import grails.gorm.annotation.Entity
+import org.grails.datastore.mapping.core.OptimisticLockingException
+
+/**
+ * Tests for updates that are batched with UNWIND when the session is flushed
+ */
+class BatchUpdateSpec extends GormDatastoreSpec {
+
+    @Override
+    List getDomainClasses() {
+        [BatchUpdated]
+    }
+
+    void "Test multiple dirty instances are updated in a single flush"() {
+        given:
+        (1..10).each { new BatchUpdated(name: "item $it", tags: ['a']).save() }
+        session.flush()
+        session.clear()
+
+        when:
+        List<BatchUpdated> items = BatchUpdated.list()
+        items.each { it.name = it.name.toUpperCase() }
+        session.flush()
+        session.clear()
+
+        then:
+        BatchUpdated.list().every { it.name.startsWith('ITEM') && it.version == 1 }
+    }
+
+    void "Test null values and empty collections are removed in a batched update"() {
+        given:
+        new BatchUpdated(name: "one", description: "first", tags: ['a', 'b']).save()
+        new BatchUpdated(name: "two", description: "second", tags: ['c']).save(flush: true)
+        session.clear()
+
+        when:
+        BatchUpdated.list().each {
+            it.description = null
+            it.tags = []
+        }
+        session.flush()
+        session.clear()
+        def result = BatchUpdated.cypherStatic('MATCH (n:BatchUpdated) WHERE exists(n.description) OR exists(n.tags) RETURN n')
+
+        then:
+        !result.hasNext()
+        BatchUpdated.list().every { it.description == null }
+    }
+
+    void "Test a stale row in a batched update throws an optimistic locking exception"() {
+        given:
+        new BatchUpdated(name: "one").save()
+        def two = new BatchUpdated(name: "two").save(flush: true)
+        session.clear()
+
+        when:
+        List<BatchUpdated> items = BatchUpdated.list()
+        BatchUpdated.cypherStatic('MATCH (n:BatchUpdated) WHERE ID(n) = $id SET n.version = 5', [id: two.id])
+        items.each { it.name = it.name.toUpperCase() }
+        session.flush()
+
+        then:
+        thrown(OptimisticLockingException)
+    }
+}
+
+@Entity
+class BatchUpdated {
+    Long id
+    Long version
+    String name
+    String description
+    List<String> tags = []
+
+    static constraints = {
+        description nullable: true
+    }
+}
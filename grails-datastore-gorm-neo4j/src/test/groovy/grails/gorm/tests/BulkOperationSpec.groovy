@@ -0,0 +1,99 @@
+package grails.gorm.tests
+
+import grails.gorm.DetachedCriteria
+import grails.gorm.annotation.Entity
+
+/**
+ * Tests for the counts and chunked execution of deleteAll and updateAll
+ */
+class BulkOperationSpec extends GormDatastoreSpec {
+
+    @Override
+    List getDomainClasses() {
+        [BulkItem, BulkOwner, BulkPart]
+    }
+
+    void "Test deleteAll and updateAll return counts from the write"() {
+        given:
+        (1..5).each { new BulkItem(name: "item $it", active: it <= 3).save() }
+        session.flush()
+
+        expect:
+        new DetachedCriteria(BulkItem).build { eq 'active', true }.updateAll(name: 'renamed', active: true) == 3
+        new DetachedCriteria(BulkItem).build { eq 'active', false }.deleteAll() == 2
+        BulkItem.count() == 3
+    }
+
+    void "Test deleteAll counts only the matched nodes when deletes cascade"() {
+        given:
+        (1..2).each { i ->
+            def owner = new BulkOwner(name: "owner $i")
+            (1..3).each { j -> owner.addToParts(name: "part $i.$j") }
+            owner.save()
+        }
+        session.flush()
+
+        expect:
+        new DetachedCriteria(BulkOwner).build {}.deleteAll() == 2
+        BulkPart.count() == 0
+    }
+
+    void "Test deleteAll and updateAll run as a single statement within the current transaction"() {
+        given:
+        (1..25).each { new BulkItem(name: "item $it", active: true).save() }
+        session.flush()
+        session.transaction.commit()
+        session.beginTransaction()
+        session.bulkChunkSize = 10
+
+        when:
+        long updated = new DetachedCriteria(BulkItem).build { eq 'active', true }.updateAll(active: false, name: 'renamed')
+
+        then:"the statement sees the changes of the transaction"
+        updated == 25
+        BulkItem.countByActive(false) == 25
+
+        when:"the transaction is rolled back after deleting"
+        long deleted = new DetachedCriteria(BulkItem).build { eq 'active', false }.deleteAll()
+        session.transaction.rollback()
+        session.clear()
+
+        then:"no chunk was committed on its own"
+        deleted == 25
+        BulkItem.countByActive(true) == 25
+    }
+
+    void "Test deleteAll and updateAll in chunks without a transaction"() {
+        given:
+        (1..25).each { new BulkItem(name: "item $it", active: true).save() }
+        session.flush()
+        session.transaction.commit()
+        session.bulkChunkSize = 10
+
+        expect:"every chunk is committed in its own transaction"
+        new DetachedCriteria(BulkItem).build { eq 'active', true }.updateAll(active: false) == 25
+        new DetachedCriteria(BulkItem).build { eq 'active', false }.deleteAll() == 25
+    }
+}
+
+@Entity
+class BulkItem {
+    Long id
+    String name
+    boolean active
+}
+
+@Entity
+class BulkOwner {
+    Long id
+    String name
+    Set<BulkPart> parts
+    static hasMany = [parts: BulkPart]
+}
+
+@Entity
+class BulkPart {
+    Long id
+    String name
+    static belongsTo = [owner: BulkOwner]
+}
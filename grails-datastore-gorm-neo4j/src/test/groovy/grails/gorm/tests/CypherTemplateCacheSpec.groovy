@@ -0,0 +1,82 @@
+package grails.gorm.tests
+
+import grails.gorm.annotation.Entity
+import grails.neo4j.Neo4jEntity
+import org.grails.datastore.gorm.neo4j.Neo4jMappingContext
+import org.grails.datastore.gorm.neo4j.engine.CypherTemplateCache
+
+/**
+ * Tests for the caching of the Cypher generated for queries and association loads
+ */
+class CypherTemplateCacheSpec extends GormDatastoreSpec {
+
+    @Override
+    List getDomainClasses() {
+        [TemplateLibrary, TemplateShelf]
+    }
+
+    void "Test repeated queries reuse the generated templates"() {
+        given:
+        CypherTemplateCache cache = ((Neo4jMappingContext) session.mappingContext).cypherTemplates
+        ['a', 'b', 'c'].each { String name ->
+            new TemplateLibrary(name: name).addToShelves(label: "$name 1").addToShelves(label: "$name 2").save()
+        }
+        session.flush()
+        session.clear()
+
+        when:
+        cache.clear()
+        TemplateLibrary a = TemplateLibrary.findByName('a')
+        a.shelves.size()
+        int size = cache.size()
+        TemplateLibrary b = TemplateLibrary.findByName('b')
+        TemplateLibrary c = TemplateLibrary.findByName('c')
+
+        then:"only the parameters differ for the later queries"
+        size > 0
+        b.shelves*.label.sort() == ['b 1', 'b 2']
+        c.shelves*.label.sort() == ['c 1', 'c 2']
+        cache.size() == size
+
+        when:"the fetch strategies differ"
+        session.clear()
+        TemplateLibrary.findByName('a', [fetch: [shelves: 'join']])
+
+        then:"a separate template is generated"
+        cache.size() > size
+    }
+
+    void "Test templates are evicted once the maximum size is exceeded"() {
+        given:
+        CypherTemplateCache<String, String> cache = new CypherTemplateCache<>(4)
+
+        when:
+        ['a', 'b', 'c', 'd'].each { String key -> cache.get(key) { it.toUpperCase() } }
+
+        then:"the templates are reused up to the maximum size"
+        cache.size() == 4
+        cache.get('a') { 'X' } == 'A'
+
+        when:
+        cache.get('e') { 'E' }
+
+        then:"half of the templates are evicted, keeping the one just added"
+        cache.size() == 2
+        cache.get('e') { 'X' } == 'E'
+    }
+}
+
+@Entity
+class TemplateLibrary implements Neo4jEntity<TemplateLibrary> {
+    Long id
+    String name
+    Set<TemplateShelf> shelves
+    static hasMany = [shelves: TemplateShelf]
+}
+
+@Entity
+class TemplateShelf implements Neo4jEntity<TemplateShelf> {
+    Long id
+    String label
+    static belongsTo = [library: TemplateLibrary]
+}
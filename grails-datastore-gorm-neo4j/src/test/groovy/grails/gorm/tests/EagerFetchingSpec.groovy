@@ -2,10 +2,13 @@ package grails.gorm.tests
 
 import grails.gorm.annotation.Entity
 import javassist.util.proxy.ProxyObject
+import org.grails.datastore.gorm.neo4j.engine.Neo4jAssociationQueryExecutor
 import org.grails.datastore.gorm.neo4j.collection.Neo4jList
 import org.grails.datastore.gorm.neo4j.collection.Neo4jPersistentList
 import org.grails.datastore.gorm.neo4j.collection.Neo4jPersistentSet
 import org.grails.datastore.gorm.neo4j.collection.Neo4jSet
+import org.grails.datastore.mapping.collection.PersistentCollection
+import org.grails.datastore.mapping.query.QueryException
 import spock.lang.Specification
 
 /*
@@ -99,9 +102,137 @@ class EagerFetchingSpec extends GormDatastoreSpec {
         league.teams instanceof Neo4jSet
         league.teams.size() == 2
     }
+
+    void "Test eager fetch of several associations does not multiply the results"() {
+        given:
+        ['Bundesliga', 'Premier League'].each { String name ->
+            League league = new League(name: name)
+            (1..2).each { int c ->
+                Club club = new Club(name: "$name Club $c")
+                (1..3).each { int t ->
+                    club.addToTeams(new Team(name: "$name Club $c Team $t"))
+                }
+                league.addToClubs(club)
+                league.teams.addAll(club.teams)
+            }
+            league.save(validate:false)
+        }
+        session.flush()
+        session.clear()
+
+        when:"the leagues are listed with both associations fetched eagerly"
+        List<League> leagues = League.list(max: 2, sort: 'name', fetch: [clubs: 'eager', teams: 'eager'])
+
+        then:"each league is returned once with all of its associated instances"
+        leagues*.name == ['Bundesliga', 'Premier League']
+        leagues.every { League l -> l.clubs.size() == 2 && l.teams.size() == 6 }
+        leagues[0].clubs.every { Club c -> c.teams.size() == 3 }
+    }
+
+    void "Test initializing a lazy association initializes it for the other parents in the session"() {
+        given:
+        (1..3).each { i ->
+            def author = new BatchAuthor(name: "author $i")
+            (1..2).each { j -> author.addToBooks(title: "book $i.$j") }
+            author.save()
+        }
+        new BatchAuthor(name: "author 4").save(flush: true)
+        session.clear()
+
+        when:
+        List<BatchAuthor> authors = BatchAuthor.findAll("MATCH (n:BatchAuthor) RETURN n ORDER BY n.name")
+
+        then:
+        authors.size() == 4
+        authors.every { !((PersistentCollection) it.books).initialized }
+
+        when:
+        int size = authors[0].books.size()
+
+        then:
+        size == 2
+        authors.every { ((PersistentCollection) it.books).initialized }
+        authors[1].books*.title.sort() == ['book 2.1', 'book 2.2']
+        authors[2].books*.title.sort() == ['book 3.1', 'book 3.2']
+        authors[3].books.isEmpty()
+    }
+
+    void "Test the batch size of an association falls back to the entity mapping"() {
+        expect:
+        Neo4jAssociationQueryExecutor.getBatchSize(session.mappingContext.getPersistentEntity(BatchAuthor.name).getPropertyByName('books')) == 10
+        Neo4jAssociationQueryExecutor.getBatchSize(session.mappingContext.getPersistentEntity(BatchPublisher.name).getPropertyByName('authors')) == 25
+    }
+
+    void "Test a nested fetch path loads the subgraph"() {
+        given:
+        createLeagueWithPlayers()
+
+        when:"a path of to-one associations is fetched"
+        Team team = Team.findByName('FCB Team 1', [fetch: ['club.league': 'join']])
+
+        then:"every association along the path is initialized"
+        !session.mappingContext.proxyFactory.isProxy(team.club)
+        !session.mappingContext.proxyFactory.isProxy(team.club.league)
+        team.club.league.name == 'Bundesliga'
+
+        when:"a path of to-many associations is fetched"
+        session.clear()
+        Club club = Club.findByName('FC Bayern Muenchen', [fetch: ['teams.players': 'join']])
+
+        then:"every collection along the path is initialized"
+        !(club.teams instanceof Neo4jPersistentList)
+        club.teams.size() == 2
+        club.teams.every { Team t -> !(t.players instanceof Neo4jPersistentSet) }
+        club.teams.find { Team t -> t.name == 'FCB Team 1' }.players*.name.sort() == ['Kimmich', 'Mueller']
+        club.teams.find { Team t -> t.name == 'FCB Team 2' }.players*.name == ['Neuer']
+    }
+
+    void "Test a named fetch plan is applied"() {
+        given:
+        createLeagueWithPlayers()
+
+        when:
+        List<League> leagues = League.list(sort: 'name', fetchPlan: 'withTeams')
+
+        then:
+        leagues*.name == ['Bundesliga']
+        leagues[0].clubs.size() == 1
+        !(leagues[0].clubs.first().teams instanceof Neo4jPersistentList)
+        leagues[0].clubs.first().teams*.name.sort() == ['FCB Team 1', 'FCB Team 2']
+    }
+
+    void "Test an unknown fetch plan or path is rejected"() {
+        when:
+        League.list(fetchPlan: 'missing')
+
+        then:
+        thrown(IllegalArgumentException)
+
+        when:
+        Club.findByName('FC Bayern Muenchen', [fetch: ['teams.missing': 'join']])
+
+        then:
+        thrown(QueryException)
+    }
+
+    private void createLeagueWithPlayers() {
+        League league = new League(name: 'Bundesliga')
+        Club club = new Club(name: 'FC Bayern Muenchen')
+        Team first = new Team(name: 'FCB Team 1')
+        first.addToPlayers(name: 'Mueller')
+        first.addToPlayers(name: 'Kimmich')
+        Team second = new Team(name: 'FCB Team 2')
+        second.addToPlayers(name: 'Neuer')
+        club.addToTeams(first)
+        club.addToTeams(second)
+        league.addToClubs(club)
+        league.save(flush: true, validate: false)
+        session.clear()
+    }
+
     @Override
     List getDomainClasses() {
-        [League, Club, Team]
+        [League, Club, Team, Player, BatchAuthor, BatchBook, BatchPublisher]
     }
 }
 
@@ -118,5 +249,37 @@ class League {
     static mapping = {
         clubs fetch:"eager", lazy:true
         teams fetch:"eager", lazy:false
+        fetchPlan 'withTeams', ['clubs.teams']
+    }
+}
+
+@Entity
+class BatchAuthor {
+    Long id
+    String name
+    Set<BatchBook> books
+    static hasMany = [books: BatchBook]
+
+    static mapping = {
+        books batchSize: 10
+    }
+}
+
+@Entity
+class BatchBook {
+    Long id
+    String title
+    static belongsTo = [author: BatchAuthor]
+}
+
+@Entity
+class BatchPublisher {
+    Long id
+    String name
+    Set<BatchAuthor> authors
+    static hasMany = [authors: BatchAuthor]
+
+    static mapping = {
+        batchSize 25
     }
 }
@@ -0,0 +1,132 @@
+package grails.gorm.tests
+
+import grails.gorm.annotation.Entity
+import grails.neo4j.Neo4jEntity
+import org.grails.datastore.gorm.neo4j.GraphPersistentEntity
+
+/**
+ * Tests for the codecs that read and write the simple properties of nodes
+ */
+class EntityCodecSpec extends GormDatastoreSpec {
+
+    @Override
+    List getDomainClasses() {
+        [CodecSample]
+    }
+
+    void "Test properties of each type are written and read"() {
+        given:
+        Date created = new Date(1500000000000)
+
+        when:
+        def sample = new CodecSample(name: "sample", quantity: 3, rank: 7, small: (short) 2, ratio: 1.5f, price: 9.99G,
+                active: true, created: created, status: CodecStatus.OPEN)
+        sample.save(flush: true)
+        session.clear()
+        sample = CodecSample.get(sample.id)
+
+        then:
+        sample.name == "sample"
+        sample.quantity == 3
+        sample.rank == 7
+        sample.small == (short) 2
+        sample.ratio == 1.5f
+        sample.price.doubleValue() == 9.99d
+        sample.active
+        sample.created == created
+        sample.status == CodecStatus.OPEN
+        sample.version == 0
+    }
+
+    void "Test properties that are not set are left null"() {
+        when:
+        def sample = new CodecSample(name: "empty").save(flush: true)
+        session.clear()
+        sample = CodecSample.get(sample.id)
+
+        then:
+        sample.name == "empty"
+        sample.quantity == null
+        sample.status == null
+        !sample.active
+    }
+
+    void "Test updated properties are encoded"() {
+        given:
+        def sample = new CodecSample(name: "before", quantity: 1, status: CodecStatus.OPEN).save(flush: true)
+
+        when:
+        sample.quantity = 2
+        sample.status = CodecStatus.CLOSED
+        sample.save(flush: true)
+        session.clear()
+
+        then:
+        CodecSample.cypherStatic('MATCH (n:CodecSample) RETURN n.status as status').single().get('status').asString() == 'CLOSED'
+        CodecSample.get(sample.id).quantity == 2
+    }
+
+    void "Test user defined accessors are used to read and write properties"() {
+        when:"a node is read"
+        CodecSample.cypherStatic('CREATE (:CodecSample {name: "raw", rank: 0, active: false, version: 0, code: "  abc  "})').consume()
+        def sample = CodecSample.findByName("raw")
+
+        then:"the value is passed to the setter"
+        sample.@code == "abc"
+
+        when:"an instance is written"
+        new CodecSample(name: "written", code: "xyz").save(flush: true)
+
+        then:"the value is read from the getter"
+        CodecSample.cypherStatic('MATCH (n:CodecSample {name: "written"}) RETURN n.code as code').single().get('code').asString() == 'XYZ'
+    }
+
+    void "Test the codec is created once per entity"() {
+        given:
+        GraphPersistentEntity entity = (GraphPersistentEntity) session.mappingContext.getPersistentEntity(CodecSample.name)
+
+        expect:
+        entity.codec.is(entity.codec)
+        entity.codec.isDeclared('name')
+        !entity.codec.isDeclared('undeclared')
+        entity.codec.encode(new CodecSample(price: 2.5G), 'price') == 2.5d
+    }
+}
+
+enum CodecStatus {
+    OPEN, CLOSED
+}
+
+@Entity
+class CodecSample implements Neo4jEntity<CodecSample> {
+    Long id
+    Long version
+    String name
+    Integer quantity
+    int rank
+    Short small
+    Float ratio
+    BigDecimal price
+    boolean active
+    Date created
+    CodecStatus status
+    String code
+
+    void setCode(String code) {
+        this.code = code?.trim()
+    }
+
+    String getCode() {
+        return code?.toUpperCase()
+    }
+
+    static constraints = {
+        quantity nullable: true
+        small nullable: true
+        ratio nullable: true
+        price nullable: true
+        created nullable: true
+        status nullable: true
+        code nullable: true
+    }
+}
@@ -0,0 +1,105 @@
+package grails.gorm.tests
+
+import grails.gorm.annotation.Entity
+import grails.neo4j.ImportProgress
+import grails.neo4j.Neo4jEntity
+
+/**
+ * Tests for the bulk import API
+ */
+class ImportAllSpec extends GormDatastoreSpec {
+
+    @Override
+    List getDomainClasses() {
+        [ImportedAuthor, ImportedBook]
+    }
+
+    void "Test import of maps in chunks"() {
+        given:
+        List<ImportProgress> reported = []
+
+        when:
+        ImportProgress progress = ImportedAuthor.importAll((1..25).collect { [name: "author $it"] }, batchSize: 10, commit: false, progress: { ImportProgress p -> reported << p })
+
+        then:
+        progress.imported == 25
+        progress.chunks == 3
+        reported.size() == 3
+        progress.throughput >= 0
+        ImportedAuthor.count() == 25
+    }
+
+    void "Test import of instances with owned associations from a stream"() {
+        when:
+        ImportProgress progress = ImportedAuthor.importAll((1..5).stream().map { int i ->
+            def author = new ImportedAuthor(name: "author $i")
+            author.addToBooks(title: "book $i")
+            author
+        }, batchSize: 2, commit: false)
+        session.clear()
+
+        then:
+        progress.imported == 5
+        ImportedBook.count() == 5
+        ImportedAuthor.findByName("author 4").books*.title == ['book 4']
+    }
+
+    void "Test only the imported instances are evicted from the session"() {
+        given:"an instance that is modified before the import"
+        ImportedAuthor existing = new ImportedAuthor(name: "existing").save(flush: true)
+        existing.name = "modified"
+
+        when:
+        List<ImportedAuthor> imported = (1..3).collect { int i -> new ImportedAuthor(name: "author $i").addToBooks(title: "book $i") }
+        ImportedAuthor.importAll(imported, batchSize: 2, commit: false)
+
+        then:"the imported instances and their books are evicted"
+        imported.every { !session.contains(it) }
+        imported.every { ImportedAuthor author -> author.books.every { !session.contains(it) } }
+
+        and:"the modified instance is kept"
+        session.contains(existing)
+
+        when:
+        session.flush()
+        session.clear()
+
+        then:
+        ImportedAuthor.findByName("modified") != null
+        ImportedAuthor.count() == 4
+    }
+
+    void "Test invalid instances are skipped when validating"() {
+        given:
+        setupValidator(ImportedAuthor)
+
+        when:
+        ImportProgress progress = ImportedAuthor.importAll([[name: "valid"], [name: ""]], commit: false, validate: true)
+
+        then:
+        progress.imported == 1
+        progress.skipped == 1
+        ImportedAuthor.count() == 1
+    }
+}
+
+@Entity
+class ImportedAuthor implements Neo4jEntity<ImportedAuthor> {
+    Long id
+    Long version
+    String name
+    Set<ImportedBook> books
+    static hasMany = [books: ImportedBook]
+
+    static constraints = {
+        name blank: false
+    }
+}
+
+@Entity
+class ImportedBook implements Neo4jEntity<ImportedBook> {
+    Long id
+    Long version
+    String title
+    static belongsTo = [author: ImportedAuthor]
+}
@@ -7,7 +7,7 @@ class JoinCriteriaSpec extends GormDatastoreSpec {
 
     @Override
     List getDomainClasses() {
-        [AclClass, AclObjectIdentity]
+        [AclClass, AclObjectIdentity, Tournament, Club, Team]
     }
 
     def "check if a criteria join get the expected results"() {
@@ -29,6 +29,40 @@ class JoinCriteriaSpec extends GormDatastoreSpec {
         theObjs.size() == 1
         theObjs[0].objectId == 2L
     }
+
+    def "check that a criteria join on a one-to-many returns a parent with several matching children once"() {
+        given:
+        ['Arsenal': ['First Team', 'Reserve Team'], 'Chelsea': ['First Team'], 'Everton': ['First Team']].each { String name, List<String> teams ->
+            Club club = new Club(name: name)
+            teams.each { club.addToTeams(name: it) }
+            club.save(flush: true)
+        }
+        session.clear()
+
+        when:
+        def clubs = Club.createCriteria().list(max: 2, sort: 'name') {
+            teams { like('name', '%Team') }
+        }
+
+        then:
+        clubs*.name == ['Arsenal', 'Chelsea']
+
+        when:
+        clubs = Club.createCriteria().list(max: 2, offset: 1, sort: 'name') {
+            teams { like('name', '%Team') }
+        }
+
+        then:
+        clubs*.name == ['Chelsea', 'Everton']
+
+        when:
+        Number count = Club.createCriteria().count {
+            teams { like('name', '%Team') }
+        }
+
+        then:
+        count == 3
+    }
 }
 
 @Entity
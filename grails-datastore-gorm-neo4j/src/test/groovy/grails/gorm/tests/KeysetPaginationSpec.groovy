@@ -0,0 +1,156 @@
+package grails.gorm.tests
+
+import grails.gorm.annotation.Entity
+import grails.neo4j.KeysetResultList
+import grails.neo4j.Neo4jEntity
+import org.grails.datastore.gorm.neo4j.engine.KeysetCursor
+
+/**
+ * Tests for keyset pagination
+ */
+class KeysetPaginationSpec extends GormDatastoreSpec {
+
+    @Override
+    List getDomainClasses() {
+        [KeysetBook]
+    }
+
+    void setup() {
+        (1..7).each { int i ->
+            new KeysetBook(title: "Book $i", pages: i % 3).save()
+        }
+        session.flush()
+        session.clear()
+    }
+
+    void "Test all pages are visited once"() {
+        when:
+        List<String> titles = []
+        KeysetResultList<KeysetBook> page = (KeysetResultList<KeysetBook>) KeysetBook.list(max: 3, sort: 'title', after: null)
+        titles.addAll(page*.title)
+        while(page.hasNextPage()) {
+            page = (KeysetResultList<KeysetBook>) KeysetBook.list(max: 3, sort: 'title', after: page.nextCursor)
+            titles.addAll(page*.title)
+        }
+
+        then:
+        titles == (1..7).collect { "Book $it".toString() }
+        page.size() == 1
+        page.nextCursor == null
+    }
+
+    void "Test pages are ordered by the identifier when sort keys are equal"() {
+        when:
+        KeysetResultList<KeysetBook> first = KeysetBook.listAfter(max: 2, sort: 'pages', order: 'desc', after: null) {
+            gt 'pages', 0
+        }
+        KeysetResultList<KeysetBook> second = KeysetBook.listAfter(max: 2, sort: 'pages', order: 'desc', after: first.nextCursor) {
+            gt 'pages', 0
+        }
+        KeysetResultList<KeysetBook> third = KeysetBook.listAfter(max: 2, sort: 'pages', order: 'desc', after: second.nextCursor) {
+            gt 'pages', 0
+        }
+
+        then:
+        first*.pages == [2, 2]
+        second*.pages == [1, 1]
+        third*.pages == [1]
+        (first + second + third)*.id.unique().size() == 5
+        !third.hasNextPage()
+    }
+
+    void "Test rows with null sort keys are visited once"() {
+        given:
+        new KeysetBook(title: "Book 8").save()
+        new KeysetBook(title: "Book 9").save(flush: true)
+        session.clear()
+
+        expect:
+        visitAll(sort: 'pages', order: direction)*.title.sort() == (1..9).collect { "Book $it".toString() }
+
+        where:
+        direction << ['asc', 'desc']
+    }
+
+    void "Test rows are paged in the order of a sort that ignores case"() {
+        given:
+        ['apple', 'Banana', 'cherry', 'Date'].each { new KeysetBook(title: it).save() }
+        session.flush()
+        session.clear()
+
+        when:
+        List<KeysetBook> books = visitAll(sort: 'title', ignoreCase: true) { like 'title', '%a%' }
+
+        then:
+        books*.title == ['apple', 'Banana', 'Date']
+    }
+
+    void "Test rows are paged by a date sort key"() {
+        given:
+        Date now = new Date()
+        KeysetBook.list().eachWithIndex { KeysetBook book, int i ->
+            book.published = i % 2 ? null : new Date(now.time - i * 1000)
+            book.save()
+        }
+        session.flush()
+        session.clear()
+
+        expect:
+        visitAll(sort: 'published', order: 'desc')*.title.sort() == (1..7).collect { "Book $it".toString() }
+    }
+
+    void "Test a cursor cannot be used with a different sort order"() {
+        given:
+        KeysetResultList<KeysetBook> page = (KeysetResultList<KeysetBook>) KeysetBook.list(max: 2, sort: 'title', after: null)
+
+        when:
+        KeysetBook.list(max: 2, sort: 'pages', after: page.nextCursor)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    void "Test cursors are encoded and decoded"() {
+        given:
+        KeysetCursor cursor = new KeysetCursor(['title ASC', 'id ASC'], ['Book', 10L])
+
+        when:
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode())
+
+        then:
+        decoded.sortOrder == ['title ASC', 'id ASC']
+        decoded.values == ['Book', 10L]
+
+        when:
+        KeysetCursor.decode('invalid')
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    private List<KeysetBook> visitAll(Map arguments, Closure criteria = {}) {
+        List<KeysetBook> books = []
+        String cursor = null
+        while (true) {
+            KeysetResultList<KeysetBook> page = KeysetBook.listAfter([max: 2, after: cursor] + arguments, criteria)
+            books.addAll(page)
+            if (!page.hasNextPage()) {
+                return books
+            }
+            cursor = page.nextCursor
+        }
+    }
+}
+
+@Entity
+class KeysetBook implements Neo4jEntity<KeysetBook> {
+    Long id
+    String title
+    Integer pages
+    Date published
+
+    static constraints = {
+        pages nullable: true
+        published nullable: true
+    }
+}
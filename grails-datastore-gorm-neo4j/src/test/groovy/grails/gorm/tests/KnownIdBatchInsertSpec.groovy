@@ -0,0 +1,109 @@
+package grails.gorm.tests
+
+import grails.gorm.annotation.Entity
+import grails.neo4j.Neo4jEntity
+
+import static grails.neo4j.mapping.MappingBuilder.node
+
+/**
+ * Tests for batch inserts of entities with assigned and generated ids
+ */
+class KnownIdBatchInsertSpec extends GormDatastoreSpec {
+
+    @Override
+    List getDomainClasses() {
+        [SnowflakeItem, AssignedItem, DynamicSnowflakeItem]
+    }
+
+    void "Test saveAll creates entities with snowflake ids"() {
+        when:
+        List<Serializable> ids = SnowflakeItem.saveAll((1..12).collect { new SnowflakeItem(name: "item $it") })
+
+        then:"the inserts are queued until the session is flushed"
+        ids.size() == 12
+        ids.every { it != null }
+        SnowflakeItem.cypherStatic('MATCH (n:SnowflakeItem) RETURN count(n) as c').single().get('c').asLong() == 0
+
+        when:
+        session.flush()
+        session.clear()
+
+        then:
+        SnowflakeItem.count() == 12
+        SnowflakeItem.get(ids[3]).name == "item 4"
+    }
+
+    void "Test queued inserts are created in chunks of the batch size"() {
+        given:
+        session.autoFlush = false
+        session.batchSize = 5
+
+        when:
+        List<Serializable> ids = SnowflakeItem.saveAll((1..12).collect { new SnowflakeItem(name: "item $it") })
+        session.flush()
+        session.clear()
+
+        then:
+        SnowflakeItem.count() == 12
+        SnowflakeItem.get(ids[11]).name == "item 12"
+    }
+
+    void "Test saveAll creates entities with assigned ids"() {
+        when:
+        AssignedItem.saveAll((1..5).collect { new AssignedItem(code: "code-$it", name: "item $it") })
+        session.flush()
+        session.clear()
+
+        then:
+        AssignedItem.count() == 5
+        AssignedItem.get("code-2").name == "item 2"
+    }
+
+    void "Test saveAll batches the dynamic associations of entities with snowflake ids"() {
+        when:
+        def items = (1..4).collect { i ->
+            def item = new DynamicSnowflakeItem(name: "item $i")
+            item.related = new SnowflakeItem(name: "related $i")
+            item
+        }
+        DynamicSnowflakeItem.saveAll(items)
+        session.flush()
+        session.clear()
+
+        then:
+        DynamicSnowflakeItem.count() == 4
+        DynamicSnowflakeItem.cypherStatic('MATCH (n:DynamicSnowflakeItem)-[r:related]->(m:SnowflakeItem) RETURN count(r) as c').single().get('c').asLong() == 4
+        DynamicSnowflakeItem.findByName("item 2").related.name == "related 2"
+    }
+}
+
+@Entity
+class SnowflakeItem implements Neo4jEntity<SnowflakeItem> {
+    Long id
+    String name
+
+    static mapping = node {
+        id generator: 'snowflake'
+    }
+}
+
+@Entity
+class AssignedItem implements Neo4jEntity<AssignedItem> {
+    String code
+    String name
+
+    static mapping = node {
+        id generator: 'assigned', name: 'code'
+    }
+}
+
+@Entity
+class DynamicSnowflakeItem implements Neo4jEntity<DynamicSnowflakeItem> {
+    Long id
+    String name
+
+    static mapping = {
+        id generator: 'snowflake'
+        dynamicAssociations true
+    }
+}
@@ -19,7 +19,7 @@ class LabelStrategySpec extends GormDatastoreSpec {
 
     @Override
     List getDomainClasses() {
-        [FinalSubClass, ParentClass, ClassInTheMiddle, SubClass, Default, StaticLabel, StaticLabels, DynLabel, MixedLabels, InstanceDependentLabels, LabeledAbstract, LabeledSub]
+        [FinalSubClass, ParentClass, ClassInTheMiddle, SubClass, Default, StaticLabel, StaticLabels, DynLabel, MixedLabels, InstanceDependentLabels, TenantLabels, LabeledAbstract, LabeledSub]
     }
 
     Transaction tx
@@ -180,6 +180,20 @@ class LabelStrategySpec extends GormDatastoreSpec {
         verifyLabelsForId(subclassInstance.id, ['LabeledSub', 'LabeledAbstract'])
     }
 
+    def "should batch inserts of instance dependent labels by label set"() {
+        when:
+        (1..6).each { i ->
+            new TenantLabels(name: "user $i", tenant: i % 2 ? 'TenantA' : 'TenantB').save()
+        }
+        session.flush()
+        session.clear()
+
+        then:
+        TenantLabels.cypherStatic('MATCH (n:TenantLabels:TenantA) RETURN count(n) as c').single().get('c').asLong() == 3
+        TenantLabels.cypherStatic('MATCH (n:TenantLabels:TenantB) RETURN count(n) as c').single().get('c').asLong() == 3
+        TenantLabels.findByName("user 2").tenant == 'TenantB'
+    }
+
     private def verifyLabelsForId(id, labelz) {
         def cypherResult = session.transaction.nativeTransaction.run("MATCH (n ) WHERE ID(n) = {1} return labels(n) as labels", ["1":id])
 
@@ -291,6 +305,21 @@ class InstanceDependentLabels implements Neo4jEntity<InstanceDependentLabels>{
     }
 }
 
+@Entity
+class TenantLabels implements Neo4jEntity<TenantLabels> {
+    Long id
+    Long version
+    String name
+    String tenant
+
+    static mapping = {
+        id generator: 'snowflake'
+        labels { GraphPersistentEntity pe, instance ->
+            "`${instance.tenant}`"
+        }
+    }
+}
+
 @DirtyCheck
 @Entity
 abstract class LabeledAbstract implements Neo4jEntity<LabeledAbstract>{
@@ -206,6 +206,23 @@ class ManyToManySpec extends GormDatastoreSpec {
 
     }
 
+    def "test entities added to a loaded reversed many-to-many are written from the inverse side"() {
+        setup:
+        new Role(role: 'ROLE_USER').save()
+        new User(username: 'user1').save(flush: true)
+        session.clear()
+
+        when:
+        def role = Role.findByRole('ROLE_USER')
+        role.people.add(User.findByUsername('user1'))
+        role.save(flush: true)
+        session.clear()
+
+        then:
+        User.findByUsername('user1').roles*.role == ['ROLE_USER']
+        Role.findByRole('ROLE_USER').people*.username == ['user1']
+    }
+
     @Issue("GPNEO4J-20")
     def "should version not increase when adding relationships"() {
         setup:
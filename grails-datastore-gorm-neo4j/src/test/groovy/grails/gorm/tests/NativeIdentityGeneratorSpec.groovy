@@ -56,6 +56,23 @@ class NativeIdentityGeneratorSpec extends GormDatastoreSpec {
         Competition.get(c2.id).id == c2.id
     }
 
+    void "Test native id generator save multiple in chunks"() {
+        given:
+        session.batchSize = 4
+        def competitions = (1..10).collect { new Competition(name: "Competition $it") }
+
+        when:"More entities than the batch size are persisted"
+        def results = Competition.saveAll(competitions)
+        session.flush()
+        session.clear()
+
+        then:"Each id is assigned to the instance it was created for"
+        results == competitions*.id
+        results.every { it != null }
+        results.unique(false).size() == 10
+        competitions.every { Competition.get(it.id).name == it.name }
+    }
+
     @Override
     List getDomainClasses() {
         [Competition]
@@ -142,6 +142,60 @@ class OneToManyUpdateSpec extends GormDatastoreSpec {
 
     }
 
+    void "Test index and iterator based changes to a list are written"() {
+        given:
+        Club club = new Club(name: "Arsenal")
+        ['A', 'B', 'C', 'D', 'E', 'F', 'G'].each { club.addToTeams(name: it) }
+        club.save(flush: true)
+        Tournament tournament = new Tournament(name: "League Cup")
+        club.teams.findAll { it.name in ['A', 'B', 'C', 'D'] }.each { tournament.addToTeams(it) }
+        tournament.save(flush: true)
+        session.clear()
+
+        when:"teams are removed, replaced and inserted by index"
+        tournament = Tournament.get(tournament.id)
+        tournament.teams.remove(0)
+        tournament.teams.set(0, Team.findByName('E'))
+        tournament.teams.add(0, Team.findByName('F'))
+        tournament.save(flush: true)
+        session.clear()
+
+        then:
+        teamNames(tournament) == ['C', 'D', 'E', 'F']
+        Tournament.get(tournament.id).teams*.name.sort() == ['C', 'D', 'E', 'F']
+
+        when:"teams are removed and replaced through iterators"
+        session.clear()
+        tournament = Tournament.get(tournament.id)
+        Iterator<Team> iterator = tournament.teams.iterator()
+        while (iterator.hasNext()) {
+            if (iterator.next().name == 'C') {
+                iterator.remove()
+            }
+        }
+        ListIterator<Team> listIterator = tournament.teams.listIterator()
+        while (listIterator.hasNext()) {
+            if (listIterator.next().name == 'D') {
+                listIterator.set(Team.findByName('G'))
+            }
+        }
+        tournament.teams.removeAll { Team t -> t.name == 'E' }
+        tournament.teams.removeIf { Team t -> t.name == 'F' }
+        tournament.save(flush: true)
+        session.clear()
+
+        then:
+        teamNames(tournament) == ['G']
+        Tournament.get(tournament.id).teams*.name == ['G']
+    }
+
+    private List<String> teamNames(Tournament tournament) {
+        Club.cypherStatic('MATCH (from:Tournament)-[r:TEAMS]->(to:Team) WHERE ID(from) = \$id RETURN to.name as name', [id: tournament.id])
+                .list()
+                .collect { it.get('name').asString() }
+                .sort()
+    }
+
     @Override
     List getDomainClasses() {
         [Tournament, Club, Team]
@@ -1,8 +1,15 @@
 package grails.gorm.tests
 
+import grails.gorm.DetachedCriteria
 import grails.gorm.PagedResultList
+import org.neo4j.driver.TransactionWork
 import spock.lang.Ignore
 
+import javax.persistence.FlushModeType
+
+import java.util.stream.Collectors
+import java.util.stream.Stream
+
 /**
  *
  */
@@ -48,6 +55,92 @@ class PagedResultSpec extends GormDatastoreSpec{
     }
 
 
+    void "Test streaming a where query detaches the instances from the session"() {
+        given:"Some people"
+            createPeople()
+            session.flush()
+            session.clear()
+
+        when:"The results are streamed"
+            List<Person> people
+            Stream<Person> stream = Person.where { lastName == 'Simpson' }.stream(sort: 'firstName')
+            try {
+                people = stream.collect(Collectors.toList())
+            } finally {
+                stream.close()
+            }
+
+        then:"Each instance is removed from the session once read"
+            people*.firstName == ['Bart', 'Homer', 'Lisa', 'Marge']
+            people.every { !session.contains(it) }
+    }
+
+    void "Test streaming keeps the instances that were already in the session"() {
+        given:"A person loaded and modified before streaming, without flushing before the query"
+            createPeople()
+            session.flush()
+            session.clear()
+            session.setFlushMode(FlushModeType.COMMIT)
+            Person homer = Person.findByFirstName('Homer')
+            homer.age = 46
+
+        when:"The results are streamed"
+            List<Person> people
+            Stream<Person> stream = Person.where { lastName == 'Simpson' }.stream(sort: 'firstName')
+            try {
+                people = stream.collect(Collectors.toList())
+            } finally {
+                stream.close()
+            }
+
+        then:"Only the instances loaded by the stream are detached"
+            people.find { it.firstName == 'Homer' }.is(homer)
+            session.contains(homer)
+            people.findAll { it.firstName != 'Homer' }.every { !session.contains(it) }
+
+        when:"The session is flushed"
+            session.flush()
+            session.clear()
+
+        then:"The change is saved"
+            Person.findByFirstName('Homer').age == 46
+    }
+
+    void "Test streaming with a fetch size and without detaching"() {
+        given:"committed nodes, since the stream runs in its own transaction"
+            def boltSession = boltDriver.session()
+            try {
+                boltSession.writeTransaction({ tx ->
+                    tx.run('UNWIND range(1, 8) as i CREATE (:Person {firstName: "committed " + i, lastName: "Committed", age: i})').consume()
+                } as TransactionWork)
+            } finally {
+                boltSession.close()
+            }
+
+        when:"The results are streamed"
+            Stream<Person> stream = Person.where { lastName == 'Committed' }.stream(fetchSize: 3, detach: false, sort: 'firstName', max: 5)
+            List<Person> people = stream.collect(Collectors.toList())
+            stream.close()
+
+        then:"only the committed nodes are visible"
+            people*.firstName == (1..5).collect { "committed $it".toString() }
+            people.every { session.contains(it) }
+    }
+
+    void "Test streaming all instances"() {
+        given:"Some people"
+            createPeople()
+
+        when:"All instances are streamed"
+            Stream<Person> stream = new DetachedCriteria<Person>(Person).stream()
+
+        then:
+            stream.count() == 6
+
+        cleanup:
+            stream?.close()
+    }
+
     protected def createPeople() {
         new Person(firstName: "Homer", lastName: "Simpson", age:45).save()
         new Person(firstName: "Marge", lastName: "Simpson", age:40).save()
@@ -0,0 +1,74 @@
+package grails.gorm.tests
+
+import grails.gorm.annotation.Entity
+import org.grails.datastore.gorm.neo4j.config.Settings
+import org.grails.datastore.gorm.neo4j.engine.PipelinedTransaction
+
+/**
+ * Tests for flushes that pipeline independent statements over an async transaction
+ */
+class PipelinedFlushSpec extends GormDatastoreSpec {
+
+    @Override
+    List getDomainClasses() {
+        [PipelinedParent, PipelinedChild]
+    }
+
+    @Override
+    Map getConfiguration() {
+        [(Settings.SETTING_NEO4J_BATCH_PIPELINED): true]
+    }
+
+    void "Test inserts, updates and deletes are written by a pipelined flush"() {
+        expect:
+        session.transaction.nativeTransaction instanceof PipelinedTransaction
+
+        when:"parents with children are inserted"
+        (1..10).each { i ->
+            def parent = new PipelinedParent(name: "parent $i")
+            (1..2).each { j -> parent.addToChildren(name: "child $i.$j") }
+            parent.save()
+        }
+        session.flush()
+        session.clear()
+
+        then:
+        ((PipelinedTransaction) session.transaction.nativeTransaction).pendingCount == 0
+        PipelinedParent.count() == 10
+        PipelinedParent.findByName("parent 4").children*.name.sort() == ['child 4.1', 'child 4.2']
+
+        when:"the parents are updated and some are deleted"
+        PipelinedParent.list().each { PipelinedParent parent ->
+            parent.name = parent.name.toUpperCase()
+            parent.save()
+        }
+        PipelinedParent.findByName("PARENT 1").delete()
+        session.flush()
+        session.clear()
+
+        then:
+        PipelinedParent.count() == 9
+        PipelinedParent.findByName("PARENT 2").children.size() == 2
+    }
+
+    void "Test the native session can be used within a pipelined transaction"() {
+        expect:
+        session.nativeInterface != null
+        session.nativeInterface.run('RETURN 1 AS one').single().get('one').asInt() == 1
+    }
+}
+
+@Entity
+class PipelinedParent {
+    Long id
+    String name
+    Set<PipelinedChild> children
+    static hasMany = [children: PipelinedChild]
+}
+
+@Entity
+class PipelinedChild {
+    Long id
+    String name
+    static belongsTo = [parent: PipelinedParent]
+}
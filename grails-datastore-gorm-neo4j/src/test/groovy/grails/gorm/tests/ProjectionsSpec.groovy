@@ -1,5 +1,19 @@
 package grails.gorm.tests
 
+import grails.gorm.DetachedCriteria
+import grails.gorm.annotation.Entity
+import grails.neo4j.Neo4jEntity
+import org.codehaus.groovy.control.CompilerConfiguration
+import org.grails.datastore.gorm.GormEnhancer
+import org.grails.datastore.gorm.neo4j.Neo4jSession
+import org.grails.datastore.gorm.neo4j.engine.Neo4jQuery
+import org.grails.datastore.mapping.query.Query
+import org.grails.datastore.mapping.query.QueryException
+import org.grails.datastore.mapping.query.event.AbstractQueryEvent
+import org.grails.datastore.mapping.query.event.PostQueryEvent
+import org.grails.datastore.mapping.query.event.PreQueryEvent
+import org.springframework.context.ApplicationEvent
+import org.springframework.context.ApplicationListener
 import spock.lang.Issue
 
 /*
@@ -66,9 +80,312 @@ class ProjectionsSpec extends GormDatastoreSpec{
         results == [["Fred", 6], ["Joe", 2]]
     }
 
+    void "Test only the selected properties are loaded"() {
+        given:
+        createPartialPeople()
+
+        when:
+        List<PartialPerson> people = PartialPerson.list(sort: 'name', select: ['name'])
+
+        then:
+        people*.name == ['Bob', 'Fred']
+        people*.email == [null, null]
+        people*.biography == [null, null]
+        people.every { PartialPerson p -> ((Neo4jSession) session).isPartiallyLoaded(p) }
+
+        when:"a partially loaded instance is retrieved by id"
+        PartialPerson bob = PartialPerson.get(people[0].id)
+
+        then:"the remaining properties are loaded"
+        bob.is(people[0])
+        bob.email == 'bob@example.com'
+        bob.biography == 'A long story'
+        !((Neo4jSession) session).isPartiallyLoaded(bob)
+    }
+
+    void "Test lazy properties are not loaded by queries"() {
+        given:
+        createPartialPeople()
+
+        when:
+        PartialPerson fred = PartialPerson.findByName('Fred')
+
+        then:
+        fred.email == 'fred@example.com'
+        fred.biography == null
+
+        when:"the instance is changed and saved"
+        fred.email = 'fred@example.org'
+        fred.save(flush: true)
+        session.clear()
+        fred = PartialPerson.get(fred.id)
+
+        then:"the properties that were not loaded are unchanged"
+        fred.email == 'fred@example.org'
+        fred.biography == 'Another long story'
+    }
+
+    void "Test the properties that were not loaded are validated with their stored values"() {
+        given:
+        createPartialPeople()
+        setupValidator(PartialPerson)
+        GormEnhancer.findValidationApi(PartialPerson).validator = null
+        PartialPerson bob = PartialPerson.list(sort: 'name', select: ['name'])[0]
+
+        when:"a partially loaded instance is changed and saved"
+        bob.name = 'Robert'
+        bob.save(flush: true)
+
+        then:"the properties that were not loaded do not fail their constraints"
+        !bob.hasErrors()
+        bob.email == 'bob@example.com'
+        !((Neo4jSession) session).isPartiallyLoaded(bob)
+
+        when:
+        session.clear()
+        bob = PartialPerson.get(bob.id)
+
+        then:
+        bob.name == 'Robert'
+        bob.email == 'bob@example.com'
+        bob.biography == 'A long story'
+    }
+
+    void "Test only simple properties can be selected"() {
+        when:
+        PartialPerson.list(select: ['missing'])
+
+        then:
+        thrown(QueryException)
+    }
+
+    void "Test projections are passed to the constructor of a class"() {
+        given:
+        createPeople()
+
+        when:
+        List<PersonSummary> summaries = new DetachedCriteria<Person>(Person).build {
+            projections {
+                property 'firstName'
+                property 'age'
+            }
+        }.listInto(PersonSummary, [sort: 'firstName'])
+
+        then:
+        summaries*.firstName == ['Bart', 'Homer', 'Maggie']
+        summaries*.age == [9, 45, 0]
+        summaries.every { it instanceof PersonSummary }
+    }
+
+    void "Test the properties declared by a class are projected"() {
+        given:
+        createPeople()
+
+        when:
+        List<PersonName> names = Person.where { firstName != 'Maggie' }.listInto(PersonName, [sort: 'firstName'])
+
+        then:
+        names*.firstName == ['Bart', 'Homer']
+        names*.lastName == ['Simpson', 'Simpson']
+        names.every { it.id != null }
+
+        when:"the same query is executed again"
+        int cached = session.mappingContext.dtoMappers.size()
+        names = Person.where { firstName != 'Maggie' }.listInto(PersonName, [sort: 'firstName'])
+
+        then:"the mapping is reused"
+        names*.firstName == ['Bart', 'Homer']
+        cached > 0
+        session.mappingContext.dtoMappers.size() == cached
+    }
+
+    void "Test the properties are passed to the constructor of a class compiled with parameter names"() {
+        given:"classes compiled with parameter names, like records compiled with -parameters"
+        createPeople()
+        CompilerConfiguration configuration = new CompilerConfiguration()
+        configuration.parameters = true
+        GroovyClassLoader classLoader = new GroovyClassLoader(getClass().classLoader, configuration)
+        Class firstNameType = classLoader.parseClass('''
+            class PersonFirstName {
+                final Long id
+                final String firstName
+
+                PersonFirstName(Long id, String firstName) {
+                    this.id = id
+                    this.firstName = firstName
+                }
+            }
+        ''')
+        Class lastNameOrAgeType = classLoader.parseClass('''
+            class PersonLastNameOrAge {
+                final String firstName
+                final String lastName
+                final Integer age
+
+                PersonLastNameOrAge(String lastName, String firstName) {
+                    this.firstName = firstName
+                    this.lastName = lastName
+                    this.age = null
+                }
+
+                PersonLastNameOrAge(Integer age, String firstName) {
+                    this.firstName = firstName
+                    this.lastName = null
+                    this.age = age
+                }
+            }
+        ''')
+
+        when:"there are no projections"
+        List names = Person.where { firstName != 'Maggie' }.listInto(firstNameType, [sort: 'firstName'])
+
+        then:"the parameters are projected by name"
+        names*.firstName == ['Bart', 'Homer']
+        names.every { it.id != null }
+
+        when:"there are several constructors for the projections"
+        List people = new DetachedCriteria<Person>(Person).build {
+            projections {
+                property 'lastName'
+                property 'firstName'
+            }
+        }.listInto(lastNameOrAgeType, [sort: 'firstName'])
+
+        then:"the constructor with the same parameter names is used"
+        people*.firstName == ['Bart', 'Homer', 'Maggie']
+        people*.lastName == ['Simpson', 'Simpson', 'Simpson']
+        people*.age == [null, null, null]
+
+        when:"the parameter names of none of the constructors match the projections"
+        new DetachedCriteria<Person>(Person).build {
+            projections {
+                property 'age'
+                property 'lastName'
+            }
+        }.listInto(lastNameOrAgeType)
+
+        then:"the constructor is ambiguous"
+        IllegalArgumentException e = thrown()
+        e.message.contains('several public constructors')
+    }
+
+    void "Test a class without matching properties is rejected"() {
+        when:
+        new DetachedCriteria<Person>(Person).listInto(Unprojected)
+
+        then:
+        thrown(QueryException)
+    }
+
+    void "Test integer values are read into a long array"() {
+        given:
+        createPeople()
+
+        when:
+        long[] ages = Person.where { lastName == 'Simpson' }.pluckLongs('age', [sort: 'age'])
+
+        then:"null values are skipped"
+        ages == [9L, 45L] as long[]
+    }
+
+    void "Test decimal values are read into a double array"() {
+        given:
+        createPeople()
+
+        when:
+        double[] ages = new DetachedCriteria<Person>(Person).pluckDoubles('age', [sort: 'age', max: 1])
+
+        then:
+        ages == [9d] as double[]
+    }
+
+    void "Test plucking publishes the query events without changing the query"() {
+        given:
+        createPeople()
+        List<AbstractQueryEvent> events = []
+        session.datastore.applicationEventPublisher.addApplicationListener({ ApplicationEvent event ->
+            if (event instanceof AbstractQueryEvent) {
+                events << (AbstractQueryEvent) event
+            }
+        } as ApplicationListener<ApplicationEvent>)
+        Neo4jQuery query = (Neo4jQuery) session.createQuery(Person)
+        query.eq('lastName', 'Simpson').order(Query.Order.asc('age')).max(2)
+
+        when:
+        long[] ages = query.pluckLongs('age')
+
+        then:
+        ages == [9L, 45L] as long[]
+        events*.class == [PreQueryEvent, PostQueryEvent]
+        ((PostQueryEvent) events[1]).results == [9L, 45L]
+        query.projections().projectionList.empty
+
+        when:"the same query is plucked again"
+        double[] decimals = query.pluckDoubles('age')
+
+        then:
+        decimals == [9d, 45d] as double[]
+        events.size() == 4
+    }
+
+    void "Test only simple properties can be plucked"() {
+        when:
+        new DetachedCriteria<Person>(Person).pluckLongs('pets')
+
+        then:
+        thrown(QueryException)
+    }
+
+    protected void createPeople() {
+        new Person(firstName: 'Homer', lastName: 'Simpson', age: 45).save()
+        new Person(firstName: 'Bart', lastName: 'Simpson', age: 9).save()
+        new Person(firstName: 'Maggie', lastName: 'Simpson', age: null).save()
+        session.flush()
+        session.clear()
+    }
+
+    protected void createPartialPeople() {
+        new PartialPerson(name: 'Bob', email: 'bob@example.com', biography: 'A long story').save()
+        new PartialPerson(name: 'Fred', email: 'fred@example.com', biography: 'Another long story').save()
+        session.flush()
+        session.clear()
+    }
+
     @Override
     List getDomainClasses() {
-        [Dog]
+        [Dog, Person, PartialPerson]
     }
 }
 
+@Entity
+class PartialPerson implements Neo4jEntity<PartialPerson> {
+    Long id
+    Long version
+    String name
+    String email
+    String biography
+
+    static mapping = {
+        biography lazy: true
+    }
+}
+
+class PersonSummary {
+    final String firstName
+    final int age
+
+    PersonSummary(String firstName, int age) {
+        this.firstName = firstName
+        this.age = age
+    }
+}
+
+class PersonName {
+    Long id
+    String firstName
+    String lastName
+}
+
+class Unprojected {
+    String title
+}
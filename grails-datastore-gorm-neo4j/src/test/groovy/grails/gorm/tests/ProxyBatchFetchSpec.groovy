@@ -0,0 +1,87 @@
+package grails.gorm.tests
+
+import grails.gorm.annotation.Entity
+import org.grails.datastore.mapping.proxy.ProxyFactory
+
+/**
+ * Tests for initializing lazy to-one proxies of several instances at once
+ */
+class ProxyBatchFetchSpec extends GormDatastoreSpec {
+
+    @Override
+    List getDomainClasses() {
+        [BatchOrder, BatchCustomer]
+    }
+
+    void "Test initializing a proxy loads the customers of other orders in the session"() {
+        given:
+        List<Long> customerIds = createOrders()
+        ProxyFactory proxyFactory = session.mappingContext.proxyFactory
+
+        when:
+        List<BatchOrder> orders = BatchOrder.list(sort: 'reference')
+
+        then:
+        orders.size() == 4
+        orders.every { !proxyFactory.isInitialized(it.customer) }
+
+        when:
+        String name = orders[0].customer.name
+
+        then:
+        name == "customer 1"
+        customerIds.every { session.getCachedInstance(BatchCustomer, it) != null }
+        orders*.customer*.name == ['customer 1', 'customer 2', 'customer 3', 'customer 4']
+    }
+
+    void "Test initializing a nullable association proxy loads other proxies of the same type"() {
+        given:
+        List<Long> customerIds = createOrders()
+
+        when:
+        List<BatchOrder> orders = BatchOrder.list(sort: 'reference')
+        String name = orders[1].referrer.name
+
+        then:
+        name == "customer 2"
+        customerIds.every { session.getCachedInstance(BatchCustomer, it) != null }
+        orders*.referrer*.name == ['customer 1', 'customer 2', 'customer 3', 'customer 4']
+    }
+
+    private List<Long> createOrders() {
+        List<BatchCustomer> customers = (1..4).collect { i ->
+            def customer = new BatchCustomer(name: "customer $i").save()
+            new BatchOrder(reference: "order $i", customer: customer, referrer: customer).save()
+            customer
+        }
+        session.flush()
+        session.clear()
+        return customers*.id
+    }
+}
+
+@Entity
+class BatchOrder {
+    Long id
+    String reference
+    BatchCustomer customer
+    BatchCustomer referrer
+
+    static mapping = {
+        customer fetch: 'lazy'
+    }
+
+    static constraints = {
+        referrer nullable: true
+    }
+}
+
+@Entity
+class BatchCustomer {
+    Long id
+    String name
+
+    static mapping = {
+        batchSize 10
+    }
+}
@@ -0,0 +1,150 @@
+package grails.gorm.tests
+
+import grails.gorm.DetachedCriteria
+import grails.gorm.annotation.Entity
+import grails.neo4j.Neo4jEntity
+import grails.validation.ValidationException
+import org.reactivestreams.Publisher
+import org.reactivestreams.Subscriber
+import org.reactivestreams.Subscription
+import spock.lang.Requires
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+
+/**
+ * Tests for the reactive API
+ */
+class ReactiveApiSpec extends GormDatastoreSpec {
+
+    @Override
+    List getDomainClasses() {
+        [ReactivePerson]
+    }
+
+    void "Test save and delete run in a transaction of their own"() {
+        when:
+        ReactivePerson saved = await(ReactivePerson.reactive.save(new ReactivePerson(name: "Fred", age: 40))).first()
+
+        then:"the instance is committed"
+        saved.id != null
+        countCommitted() == 1
+
+        when:
+        List<Void> deleted = await(ReactivePerson.reactive.delete(saved))
+
+        then:
+        deleted.isEmpty()
+        countCommitted() == 0
+    }
+
+    void "Test validation errors are published"() {
+        given:
+        setupValidator(ReactivePerson)
+
+        when:
+        await(ReactivePerson.reactive.save(new ReactivePerson(name: "", age: 40)))
+
+        then:
+        thrown(ValidationException)
+        countCommitted() == 0
+    }
+
+    void "Test the persistence operations run on a bounded executor"() {
+        given:
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) neo4jDatastore.persistenceExecutor
+
+        expect:
+        executor.maximumPoolSize == 10
+        await(ReactivePerson.reactive.save(new ReactivePerson(name: "Fred", age: 40))).size() == 1
+    }
+
+    @Requires({ instance.supportsReactiveDriver() })
+    void "Test list, get and count with the reactive driver"() {
+        given:"committed nodes, since the queries run in sessions of their own"
+        def boltSession = boltDriver.session()
+        try {
+            boltSession.run('UNWIND range(1, 10) as i CREATE (:ReactivePerson {name: "person " + i, age: i})').consume()
+        } finally {
+            boltSession.close()
+        }
+
+        when:
+        List<ReactivePerson> people = await(ReactivePerson.reactive.list(sort: 'age', new DetachedCriteria<ReactivePerson>(ReactivePerson).build {
+            gt 'age', 5
+        }))
+
+        then:
+        people*.age == [6, 7, 8, 9, 10]
+
+        when:
+        List<ReactivePerson> found = await(ReactivePerson.reactive.get(people[0].id))
+
+        then:
+        found*.name == ["person 6"]
+        await(ReactivePerson.reactive.count()) == [10]
+    }
+
+    boolean supportsReactiveDriver() {
+        def boltSession = boltDriver.session()
+        try {
+            String version = boltSession.run('CALL dbms.components() YIELD versions RETURN versions[0] as version').single().get('version').asString()
+            return Integer.parseInt(version.substring(0, version.indexOf('.'))) >= 4
+        } finally {
+            boltSession.close()
+        }
+    }
+
+    private long countCommitted() {
+        def boltSession = boltDriver.session()
+        try {
+            return boltSession.run('MATCH (n:ReactivePerson) RETURN count(n) as c').single().get('c').asLong()
+        } finally {
+            boltSession.close()
+        }
+    }
+
+    private static <T> List<T> await(Publisher<T> publisher) {
+        CompletableFuture<List<T>> result = new CompletableFuture<>()
+        List<T> values = []
+        publisher.subscribe(new Subscriber<T>() {
+            @Override
+            void onSubscribe(Subscription subscription) {
+                subscription.request(Long.MAX_VALUE)
+            }
+
+            @Override
+            void onNext(T value) {
+                values << value
+            }
+
+            @Override
+            void onError(Throwable throwable) {
+                result.completeExceptionally(throwable)
+            }
+
+            @Override
+            void onComplete() {
+                result.complete(values)
+            }
+        })
+        try {
+            return result.get(30, TimeUnit.SECONDS)
+        } catch (java.util.concurrent.ExecutionException e) {
+            throw e.cause
+        }
+    }
+}
+
+@Entity
+class ReactivePerson implements Neo4jEntity<ReactivePerson> {
+    Long id
+    Long version
+    String name
+    Integer age
+
+    static constraints = {
+        name blank: false
+    }
+}
@@ -0,0 +1,101 @@
+package grails.gorm.tests
+
+import grails.gorm.annotation.Entity
+
+/**
+ * Tests for relationship statements that are batched across parents when the session is flushed
+ */
+class RelationshipBatchSpec extends GormDatastoreSpec {
+
+    @Override
+    List getDomainClasses() {
+        [BatchParent, BatchChild]
+    }
+
+    void "Test relationships for many parents are created in a single flush"() {
+        when:
+        (1..20).each { i ->
+            def parent = new BatchParent(name: "parent $i")
+            (1..3).each { j -> parent.addToChildren(name: "child $i.$j") }
+            parent.save()
+        }
+        session.flush()
+        session.clear()
+
+        then:
+        BatchParent.cypherStatic('MATCH (p:BatchParent)-[r:CHILDREN]->(c:BatchChild) RETURN count(r) as c').single().get('c').asLong() == 60
+        BatchParent.findByName("parent 7").children*.name.sort() == ['child 7.1', 'child 7.2', 'child 7.3']
+    }
+
+    void "Test relationships removed and added across parents are applied in a single flush"() {
+        given:
+        def one = new BatchParent(name: "one")
+        one.addToChildren(name: "a")
+        one.addToChildren(name: "b")
+        one.save()
+        def two = new BatchParent(name: "two")
+        two.addToChildren(name: "c")
+        two.save(flush: true)
+        session.clear()
+
+        when:
+        one = BatchParent.findByName("one")
+        two = BatchParent.findByName("two")
+        def child = one.children.find { it.name == 'a' }
+        one.removeFromChildren(child)
+        two.addToChildren(child)
+        one.save()
+        two.save(flush: true)
+        session.clear()
+
+        then:
+        BatchParent.findByName("one").children*.name == ['b']
+        BatchParent.findByName("two").children*.name.sort() == ['a', 'c']
+        BatchParent.cypherStatic('MATCH (p:BatchParent)-[r:CHILDREN]->(c:BatchChild) RETURN count(r) as c').single().get('c').asLong() == 3
+    }
+
+    void "Test a relationship removed and added back in the same flush is kept"() {
+        given:
+        def one = new BatchParent(name: "one")
+        one.addToChildren(name: "a")
+        one.addToChildren(name: "b")
+        one.save(flush: true)
+        def two = new BatchParent(name: "two")
+        two.save(flush: true)
+        session.clear()
+
+        when:"a child is moved to another parent and back again before flushing"
+        one = BatchParent.findByName("one")
+        two = BatchParent.findByName("two")
+        def child = one.children.find { it.name == 'a' }
+        one.removeFromChildren(child)
+        two.addToChildren(child)
+        two.removeFromChildren(child)
+        one.addToChildren(child)
+        one.save()
+        two.save(flush: true)
+        session.clear()
+
+        then:
+        BatchParent.findByName("one").children*.name.sort() == ['a', 'b']
+        BatchParent.findByName("two").children.isEmpty()
+        BatchParent.cypherStatic('MATCH (p:BatchParent)-[r:CHILDREN]->(c:BatchChild) RETURN count(r) as c').single().get('c').asLong() == 2
+    }
+}
+
+@Entity
+class BatchParent {
+    Long id
+    Long version
+    String name
+    Set<BatchChild> children
+    static hasMany = [children: BatchChild]
+}
+
+@Entity
+class BatchChild {
+    Long id
+    Long version
+    String name
+    static belongsTo = [parent: BatchParent]
+}
@@ -1,5 +1,6 @@
 package grails.gorm.tests
 
+import org.grails.datastore.gorm.neo4j.engine.Neo4jEntityPersister
 import org.grails.datastore.gorm.neo4j.util.IteratorUtil
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
@@ -315,11 +316,47 @@ class SchemalessSpec extends GormDatastoreSpec {
         Pet.findByName("Cosima").friends*.name.sort() == ["Bob","Lara"]
     }
 
-}
+    def "dynamic associations are loaded for all the instances of a result list"() {
+        given:
+        (1..4).each { int i ->
+            def pet = new Pet(name: "Pet $i")
+            pet.buddy = new Pet(name: "Buddy $i")
+            pet.save()
+        }
+        session.flush()
+        session.clear()
 
+        when:
+        List<Pet> pets = Pet.findAllByNameLike('Pet%', [sort: 'name'])
+
+        then:
+        pets.every { session.getAttribute(it, Neo4jEntityPersister.DYNAMIC_ASSOCIATION_PARAM) == null }
 
+        when:"the dynamic association of one instance is accessed"
+        def buddy = pets[0].buddy
 
+        then:"the dynamic associations of the other instances are loaded too"
+        buddy.name == "Buddy 1"
+        pets.every { session.getAttribute(it, Neo4jEntityPersister.DYNAMIC_ASSOCIATION_PARAM) != null }
+        pets[2].attributes().buddy.name == "Buddy 3"
+        pets[3].buddy.name == "Buddy 4"
+    }
 
+    def "instances without dynamic associations are marked as loaded"() {
+        given:
+        new Pet(name: "Pet 1").save()
+        def pet = new Pet(name: "Pet 2")
+        pet.buddy = new Pet(name: "Buddy")
+        pet.save(flush: true)
+        session.clear()
 
+        when:
+        List<Pet> pets = Pet.findAllByNameLike('Pet%', [sort: 'name'])
 
+        then:
+        pets[1].buddy.name == "Buddy"
+        pets[0].buddy == null
+        session.getAttribute(pets[0], Neo4jEntityPersister.DYNAMIC_ASSOCIATION_PARAM) != null
+    }
 
+}
@@ -0,0 +1,81 @@
+package grails.gorm.tests
+
+import grails.gorm.annotation.Entity
+import grails.neo4j.Neo4jEntity
+import org.grails.datastore.gorm.neo4j.Neo4jSession
+import org.grails.datastore.mapping.core.impl.PendingInsertAdapter
+import org.grails.datastore.mapping.model.PersistentEntity
+import org.neo4j.driver.TransactionWork
+
+/**
+ * Tests for reading with a stateless session
+ */
+class StatelessSessionSpec extends GormDatastoreSpec {
+
+    @Override
+    List getDomainClasses() {
+        [StatelessPlanet]
+    }
+
+    void setup() {
+        def boltSession = boltDriver.session()
+        try {
+            boltSession.writeTransaction({ tx ->
+                tx.run('UNWIND range(1, 5) as i CREATE (:StatelessPlanet {name: "planet " + i, moons: i})').consume()
+            } as TransactionWork)
+        } finally {
+            boltSession.close()
+        }
+    }
+
+    void "Test instances read with a stateless session are not cached"() {
+        when:
+        Map result = StatelessPlanet.withStatelessSession { statelessSession ->
+            List<StatelessPlanet> planets = StatelessPlanet.list(sort: 'moons')
+            StatelessPlanet first = StatelessPlanet.get(planets[0].id)
+            [planets: planets, first: first, cached: statelessSession.contains(first), stateless: statelessSession.isStateless()]
+        }
+
+        then:"each read creates new instances"
+        result.stateless
+        result.planets.size() == 5
+        result.first.name == 'planet 1'
+        !result.first.is(result.planets[0])
+        !result.cached
+    }
+
+    void "Test a stateless session never flushes pending operations"() {
+        when:"an insert is pending when the stateless session is flushed"
+        StatelessPlanet.withStatelessSession { Neo4jSession statelessSession ->
+            StatelessPlanet planet = new StatelessPlanet(name: 'planet 6', moons: 6)
+            PersistentEntity entity = statelessSession.mappingContext.getPersistentEntity(StatelessPlanet.name)
+            statelessSession.addPendingInsert(new PendingInsertAdapter<Object, Serializable>(entity, null, planet, statelessSession.createEntityAccess(entity, planet)) {
+                @Override
+                void run() {
+                }
+            })
+            statelessSession.flush()
+        }
+
+        then:"the insert is not executed"
+        StatelessPlanet.countByName('planet 6') == 0
+        StatelessPlanet.count() == 5
+    }
+
+    void "Test instances cannot be saved with a stateless session"() {
+        when:
+        StatelessPlanet.withStatelessSession {
+            new StatelessPlanet(name: 'planet 6', moons: 6).save()
+        }
+
+        then:
+        thrown(UnsupportedOperationException)
+    }
+}
+
+@Entity
+class StatelessPlanet implements Neo4jEntity<StatelessPlanet> {
+    Long id
+    String name
+    Integer moons
+}
@@ -29,4 +29,39 @@ class Neo4jConnectionSourceSettingsSpec extends Specification {
         settings.embedded.options == [foo: 'bar']
 
     }
+
+    void "test neo4j batch settings"() {
+        when:"A connection source settings is built without batch settings"
+        Neo4jConnectionSourceSettings settings = new Neo4jConnectionSourceSettingsBuilder(DatastoreUtils.createPropertyResolver([:])).build()
+
+        then:"The defaults are used"
+        settings.batch.size == 5000
+        settings.batch.autoFlush
+        settings.batch.bulkChunkSize == 0
+        !settings.batch.pipelined
+
+        when:"A connection source settings is built with batch settings"
+        settings = new Neo4jConnectionSourceSettingsBuilder(DatastoreUtils.createPropertyResolver(
+                (Settings.SETTING_NEO4J_BATCH_SIZE): 100,
+                (Settings.SETTING_NEO4J_BATCH_AUTO_FLUSH): false,
+                (Settings.SETTING_NEO4J_BATCH_BULK_CHUNK_SIZE): 1000,
+                (Settings.SETTING_NEO4J_BATCH_PIPELINED): true
+        )).build()
+
+        then:"The settings are correct"
+        settings.batch.size == 100
+        !settings.batch.autoFlush
+        settings.batch.bulkChunkSize == 1000
+        settings.batch.pipelined
+    }
+
+    void "test neo4j reactive settings"() {
+        expect:"The default number of persistence threads is used"
+        new Neo4jConnectionSourceSettingsBuilder(DatastoreUtils.createPropertyResolver([:])).build().reactive.persistenceThreads == 10
+
+        and:"The number of persistence threads can be configured"
+        new Neo4jConnectionSourceSettingsBuilder(DatastoreUtils.createPropertyResolver(
+                (Settings.SETTING_NEO4J_REACTIVE_PERSISTENCE_THREADS): 4
+        )).build().reactive.persistenceThreads == 4
+    }
 }
@@ -0,0 +1,180 @@
+package org.grails.datastore.gorm.neo4j.engine
+
+import org.neo4j.driver.Driver
+import org.neo4j.driver.Record
+import org.neo4j.driver.Values
+import org.neo4j.driver.reactive.RxSession
+import org.reactivestreams.Publisher
+import org.reactivestreams.Subscriber
+import org.reactivestreams.Subscription
+import spock.lang.Specification
+
+import java.util.function.Function
+
+/**
+ * Tests for {@link ReactiveResultPublisher} against a stubbed reactive session, so that they run with any server version
+ */
+class ReactiveResultPublisherSpec extends Specification {
+
+    RecordPublisher records = new RecordPublisher(['Fred', 'Bob', 'Joe'].collect { String name ->
+        Stub(Record) { get('name') >> Values.value(name) }
+    })
+    List<String> events = []
+    RxSession rxSession = Stub(RxSession) {
+        readTransaction(_) >> records
+        close() >> new ClosePublisher(events)
+    }
+    Driver driver = Stub(Driver) {
+        rxSession(_) >> rxSession
+    }
+
+    void "Test only the requested records are decoded"() {
+        given:
+        TestSubscriber subscriber = subscribe({ Record record -> record.get('name').asString() })
+
+        when:
+        subscriber.subscription.request(2)
+
+        then:
+        records.requested == 2
+        subscriber.values == ['Fred', 'Bob']
+        !subscriber.completed
+
+        when:
+        subscriber.subscription.request(2)
+
+        then:"the session is closed and terminated before completion is signalled"
+        subscriber.values == ['Fred', 'Bob', 'Joe']
+        subscriber.completed
+        events == ['closed', 'terminated', 'completed']
+    }
+
+    void "Test a failure to decode cancels the query and is published"() {
+        given:
+        TestSubscriber subscriber = subscribe({ Record record -> throw new IllegalStateException('bad record') })
+
+        when:
+        subscriber.subscription.request(Long.MAX_VALUE)
+
+        then:
+        records.cancelled
+        subscriber.values.isEmpty()
+        subscriber.error instanceof IllegalStateException
+        events == ['closed', 'terminated', 'failed']
+    }
+
+    void "Test cancelling closes the session without signalling completion"() {
+        given:
+        TestSubscriber subscriber = subscribe({ Record record -> record.get('name').asString() })
+
+        when:
+        subscriber.subscription.request(1)
+        subscriber.subscription.cancel()
+
+        then:
+        records.cancelled
+        subscriber.values == ['Fred']
+        !subscriber.completed
+        subscriber.error == null
+        events == ['closed', 'terminated']
+    }
+
+    private TestSubscriber subscribe(Function<Record, String> decoder) {
+        ReactiveResultPublisher<String> publisher = new ReactiveResultPublisher<>(driver, 'MATCH (n) RETURN n', [:], decoder, { events << 'terminated' })
+        TestSubscriber subscriber = new TestSubscriber(events)
+        publisher.subscribe(subscriber)
+        return subscriber
+    }
+
+    /**
+     * Publishes the records as they are requested
+     */
+    static class RecordPublisher implements Publisher<Record> {
+        final List<Record> records
+        long requested
+        boolean cancelled
+        int index
+
+        RecordPublisher(List<Record> records) {
+            this.records = records
+        }
+
+        @Override
+        void subscribe(Subscriber<? super Record> subscriber) {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                void request(long n) {
+                    requested = Math.min(Long.MAX_VALUE - n, requested) + n
+                    while (!cancelled && index < Math.min(requested, (long) records.size())) {
+                        subscriber.onNext(records[index++])
+                    }
+                    if (!cancelled && index == records.size()) {
+                        subscriber.onComplete()
+                    }
+                }
+
+                @Override
+                void cancel() {
+                    cancelled = true
+                }
+            })
+        }
+    }
+
+    static class ClosePublisher implements Publisher<Void> {
+        final List<String> events
+
+        ClosePublisher(List<String> events) {
+            this.events = events
+        }
+
+        @Override
+        void subscribe(Subscriber<? super Void> subscriber) {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                void request(long n) {
+                    events << 'closed'
+                    subscriber.onComplete()
+                }
+
+                @Override
+                void cancel() {
+                }
+            })
+        }
+    }
+
+    static class TestSubscriber implements Subscriber<String> {
+        final List<String> events
+        final List<String> values = []
+        Subscription subscription
+        boolean completed
+        Throwable error
+
+        TestSubscriber(List<String> events) {
+            this.events = events
+        }
+
+        @Override
+        void onSubscribe(Subscription subscription) {
+            this.subscription = subscription
+        }
+
+        @Override
+        void onNext(String value) {
+            values << value
+        }
+
+        @Override
+        void onError(Throwable throwable) {
+            error = throwable
+            events << 'failed'
+        }
+
+        @Override
+        void onComplete() {
+            completed = true
+            events << 'completed'
+        }
+    }
+}